@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import java.util.Arrays;
+
+/**
+ * <p>Packs several values with limited sizes (fields) into one long value. Fields are specified
+ * in priority order and are placed starting from the high bits of the long value:
+ * <pre>
+ * {@code
+ *  64                                                      0
+ *  +-----------+-----------+-----------+-----+-------------+
+ *  |  unused   |  field 0  |  field 1  | ... | field N - 1 |
+ *  +-----------+-----------+-----------+-----+-------------+
+ * }
+ * </pre>
+ * Fields are right-aligned, unused high bits are zero. Signed fields are stored with
+ * {@code 2^(bits - 1)} bias and sign bit of the packed value is flipped if all {@code 64} bits are used,
+ * so packed values sorted with {@link OffHeapLongSorter#sort(OffHeapLongAddressable)} (signed natural order)
+ * are ordered by field 0, then by field 1 etc. This allows to replace comparator sorts on
+ * multi-field keys with primitive sort.
+ *
+ * <p>Fields values ranges are checked using {@code assert} keyword, java must be run with {@code -ea} switch
+ * to enable them. Instances are immutable and thread-safe.
+ * This class doesn't use {@code sun.misc.Unsafe}
+ *
+ * @see LongPacker
+ */
+public class LongFieldPacker {
+    private final int[] widths;
+    private final boolean[] signed;
+    private final int[] shifts;
+    private final long[] masks;
+    private final long[] biases;
+    private final int totalBits;
+    private final long flip;
+
+    /**
+     * Constructor for unsigned fields
+     *
+     * @param widths fields widths in bits in priority order, sum must not exceed {@code 64}
+     */
+    public LongFieldPacker(int... widths) {
+        this(widths, new boolean[widths.length]);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param widths fields widths in bits in priority order, sum must not exceed {@code 64}
+     * @param signed whether corresponding field contains signed values
+     */
+    public LongFieldPacker(int[] widths, boolean[] signed) {
+        if (0 == widths.length) throw new IllegalArgumentException("No fields specified");
+        if (widths.length != signed.length) throw new IllegalArgumentException(
+                "Widths count: [" + widths.length + "] differs from signed flags count: [" + signed.length + "]");
+        int total = 0;
+        for (int wi : widths) {
+            if (wi < 1 || wi > 64) throw new IllegalArgumentException(
+                    "Invalid field width: [" + wi + "], widths: " + Arrays.toString(widths));
+            total += wi;
+        }
+        if (total > 64) throw new IllegalArgumentException(
+                "Fields don't fit into 64 bits, widths: " + Arrays.toString(widths));
+        this.widths = widths.clone();
+        this.signed = signed.clone();
+        this.totalBits = total;
+        this.flip = 64 == total ? Long.MIN_VALUE : 0;
+        this.shifts = new int[widths.length];
+        this.masks = new long[widths.length];
+        this.biases = new long[widths.length];
+        int shift = total;
+        for (int i = 0; i < widths.length; i++) {
+            shift -= widths[i];
+            shifts[i] = shift;
+            masks[i] = 64 == widths[i] ? -1L : (1L << widths[i]) - 1;
+            biases[i] = signed[i] ? 1L << (widths[i] - 1) : 0;
+        }
+    }
+
+    /**
+     * Returns number of fields
+     *
+     * @return number of fields
+     */
+    public int fieldsCount() {
+        return widths.length;
+    }
+
+    /**
+     * Returns width of the field
+     *
+     * @param field field index
+     * @return field width in bits
+     */
+    public int width(int field) {
+        return widths[field];
+    }
+
+    /**
+     * Returns sum of all fields widths
+     *
+     * @return number of used bits
+     */
+    public int totalBits() {
+        return totalBits;
+    }
+
+    /**
+     * Packs fields values into one long value
+     *
+     * @param values fields values in priority order
+     * @return packed value
+     */
+    public long pack(long... values) {
+        if (values.length != widths.length) throw new IllegalArgumentException(
+                "Values count: [" + values.length + "] differs from fields count: [" + widths.length + "]");
+        long res = 0;
+        for (int i = 0; i < widths.length; i++) {
+            res |= encode(i, values[i]);
+        }
+        return res ^ flip;
+    }
+
+    /**
+     * Reads field value from packed long
+     *
+     * @param packed packed long
+     * @param field field index
+     * @return field value
+     */
+    public long unpack(long packed, int field) {
+        long raw = ((packed ^ flip) >>> shifts[field]) & masks[field];
+        return raw - biases[field];
+    }
+
+    /**
+     * Reads all fields values from packed long
+     *
+     * @param packed packed long
+     * @param out array for fields values, must have length not less than number of fields
+     */
+    public void unpack(long packed, long[] out) {
+        for (int i = 0; i < widths.length; i++) {
+            out[i] = unpack(packed, i);
+        }
+    }
+
+    /**
+     * Packs ranges of fields collections into destination collection
+     *
+     * @param fields collections with fields values, one for each field in priority order
+     * @param fromIndex start index in fields collections, inclusive
+     * @param toIndex end index in fields collections, exclusive
+     * @param dest destination collection
+     * @param destIndex start index in destination collection
+     */
+    public void pack(OffHeapLongAddressable[] fields, long fromIndex, long toIndex, OffHeapLongAddressable dest,
+                     long destIndex) {
+        if (fields.length != widths.length) throw new IllegalArgumentException(
+                "Collections count: [" + fields.length + "] differs from fields count: [" + widths.length + "]");
+        checkRange(fromIndex, toIndex, destIndex, dest);
+        for (OffHeapLongAddressable fi : fields) {
+            if (toIndex > fi.size()) throw new IllegalArgumentException("Illegal input, collection size: [" +
+                    fi.size() + "], fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "]");
+        }
+        for (long i = fromIndex; i < toIndex; i++) {
+            long res = 0;
+            for (int f = 0; f < fields.length; f++) {
+                res |= encode(f, fields[f].get(i));
+            }
+            dest.set(destIndex + i - fromIndex, res ^ flip);
+        }
+    }
+
+    /**
+     * Unpacks range of packed collection into fields collections
+     *
+     * @param src collection with packed values
+     * @param fromIndex start index in packed collection, inclusive
+     * @param toIndex end index in packed collection, exclusive
+     * @param fields destination collections, one for each field in priority order,
+     *               {@code null} elements may be used to skip fields
+     * @param destIndex start index in fields collections
+     */
+    public void unpack(OffHeapLongAddressable src, long fromIndex, long toIndex, OffHeapLongAddressable[] fields,
+                       long destIndex) {
+        if (fields.length != widths.length) throw new IllegalArgumentException(
+                "Collections count: [" + fields.length + "] differs from fields count: [" + widths.length + "]");
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > src.size()) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + src.size() + "], " +
+                    "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "]");
+        }
+        for (OffHeapLongAddressable fi : fields) {
+            if (null != fi) checkRange(fromIndex, toIndex, destIndex, fi);
+        }
+        for (long i = fromIndex; i < toIndex; i++) {
+            long packed = src.get(i);
+            for (int f = 0; f < fields.length; f++) {
+                if (null != fields[f]) fields[f].set(destIndex + i - fromIndex, unpack(packed, f));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("LongFieldPacker");
+        sb.append("{widths=").append(Arrays.toString(widths));
+        sb.append(", signed=").append(Arrays.toString(signed));
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Encodes field value into its position
+     *
+     * @param field field index
+     * @param value field value
+     * @return shifted field bits
+     */
+    private long encode(int field, long value) {
+        long raw = value + biases[field];
+        assert 64 == widths[field] || (raw >>> widths[field]) == 0 : value;
+        return (raw & masks[field]) << shifts[field];
+    }
+
+    /**
+     * Checks destination range
+     *
+     * @param fromIndex source start index
+     * @param toIndex source end index
+     * @param destIndex destination start index
+     * @param dest destination collection
+     */
+    private static void checkRange(long fromIndex, long toIndex, long destIndex, OffHeapLongAddressable dest) {
+        if (fromIndex < 0 || fromIndex > toIndex || destIndex < 0 || destIndex + toIndex - fromIndex > dest.size()) {
+            throw new IllegalArgumentException("Illegal input, destination size: [" + dest.size() + "], " +
+                    "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "], destIndex: [" + destIndex + "]");
+        }
+    }
+}
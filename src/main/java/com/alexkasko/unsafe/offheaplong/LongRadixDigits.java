@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+/**
+ * Contains static methods for LSD radix sorting of unsigned long keys: digit extraction,
+ * histograms collection and conversion of histograms into start offsets with detection
+ * of the passes those may be skipped. Keys are split into 11-bit digits. Used by radix sorters
+ * of long and struct collections, does not depend on the type of sorted elements.
+ */
+public class LongRadixDigits {
+    /**
+     * Number of bits in one digit
+     */
+    public static final int DIGIT_BITS = 11;
+    /**
+     * Number of possible digit values
+     */
+    public static final int RADIX = 1 << DIGIT_BITS;
+    private static final int DIGIT_MASK = RADIX - 1;
+
+    /**
+     * Private constructor
+     */
+    private LongRadixDigits() {
+    }
+
+    /**
+     * Returns number of passes required to sort keys with the specified number of significant bits
+     *
+     * @param bits number of significant key bits
+     * @return number of passes
+     */
+    public static int passes(int bits) {
+        return (bits + DIGIT_BITS - 1) / DIGIT_BITS;
+    }
+
+    /**
+     * Returns digit of the key for the specified pass
+     *
+     * @param key unsigned key
+     * @param pass pass number, the least significant digit is taken on the first pass
+     * @return digit value
+     */
+    public static int digit(long key, int pass) {
+        return (int) ((key >>> (pass * DIGIT_BITS)) & DIGIT_MASK);
+    }
+
+    /**
+     * Creates empty histograms
+     *
+     * @param passes number of passes
+     * @return digit counts for each pass
+     */
+    public static long[][] histograms(int passes) {
+        return new long[passes][RADIX];
+    }
+
+    /**
+     * Adds all the digits of the key to histograms
+     *
+     * @param counts digit counts for each pass
+     * @param key unsigned key
+     */
+    public static void count(long[][] counts, long key) {
+        for (int p = 0; p < counts.length; p++) {
+            counts[p][digit(key, p)] += 1;
+        }
+    }
+
+    /**
+     * Converts digit counts of all the passes into start offsets in place.
+     * Pass may be skipped if all the keys have the same digit value on it.
+     *
+     * @param counts digit counts for each pass
+     * @param len number of keys
+     * @return flags of the passes to be skipped, {@code null} if all the passes may be skipped
+     */
+    public static boolean[] toOffsets(long[][] counts, long len) {
+        boolean[] skip = new boolean[counts.length];
+        boolean anyPass = false;
+        for (int p = 0; p < counts.length; p++) {
+            long[] pc = counts[p];
+            long sum = 0;
+            for (int d = 0; d < RADIX; d++) {
+                long co = pc[d];
+                if (co == len) skip[p] = true;
+                pc[d] = sum;
+                sum += co;
+            }
+            anyPass |= !skip[p];
+        }
+        return anyPass ? skip : null;
+    }
+}
@@ -0,0 +1,685 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import com.alexkasko.unsafe.offheap.OffHeapMemory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Aggregate operations over off-heap long collections: sum, min, max, count with predicate,
+ * histogram and prefix sums. Sum, min, max and count over {@link OffHeapLongArray} read its memory
+ * directly by byte offsets in loops unrolled by eight elements with independent accumulators,
+ * other collections are read through {@link OffHeapLongAddressable#get(long)} in loops
+ * unrolled by four elements. Parallel versions
+ * split collection into equal parts, process them as separate tasks on the specified executor
+ * and combine partial results.
+ *
+ * <p>Sums are computed using long arithmetic and silently overflow as in java.
+ */
+public class OffHeapLongAggregates {
+    /**
+     * Collections shorter than this are processed sequentially by parallel methods
+     */
+    private static final long PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * Computes sum of all the elements
+     *
+     * @param a the off-heap collection
+     * @return sum of the elements
+     */
+    public static long sum(OffHeapLongAddressable a) {
+        return sum(a, 0, a.size());
+    }
+
+    /**
+     * Computes sum of the elements in the specified range
+     *
+     * @param a the off-heap collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return sum of the elements, {@code 0} for empty range
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static long sum(OffHeapLongAddressable a, long fromIndex, long toIndex) {
+        checkRange(a, fromIndex, toIndex);
+        if (a instanceof OffHeapLongArray) return sum(((OffHeapLongArray) a).memory(), fromIndex << 3, toIndex << 3);
+        long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        long i = fromIndex;
+        for (long end = toIndex - 3; i < end; i += 4) {
+            s0 += a.get(i);
+            s1 += a.get(i + 1);
+            s2 += a.get(i + 2);
+            s3 += a.get(i + 3);
+        }
+        for (; i < toIndex; i++) {
+            s0 += a.get(i);
+        }
+        return s0 + s1 + s2 + s3;
+    }
+
+    /**
+     * Finds minimal element
+     *
+     * @param a the off-heap collection
+     * @return minimal element, {@code Long.MAX_VALUE} for empty collection
+     */
+    public static long min(OffHeapLongAddressable a) {
+        return min(a, 0, a.size());
+    }
+
+    /**
+     * Finds minimal element in the specified range
+     *
+     * @param a the off-heap collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return minimal element, {@code Long.MAX_VALUE} for empty range
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static long min(OffHeapLongAddressable a, long fromIndex, long toIndex) {
+        checkRange(a, fromIndex, toIndex);
+        if (a instanceof OffHeapLongArray) return min(((OffHeapLongArray) a).memory(), fromIndex << 3, toIndex << 3);
+        long m0 = Long.MAX_VALUE, m1 = Long.MAX_VALUE, m2 = Long.MAX_VALUE, m3 = Long.MAX_VALUE;
+        long i = fromIndex;
+        for (long end = toIndex - 3; i < end; i += 4) {
+            m0 = Math.min(m0, a.get(i));
+            m1 = Math.min(m1, a.get(i + 1));
+            m2 = Math.min(m2, a.get(i + 2));
+            m3 = Math.min(m3, a.get(i + 3));
+        }
+        for (; i < toIndex; i++) {
+            m0 = Math.min(m0, a.get(i));
+        }
+        return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+    }
+
+    /**
+     * Finds maximal element
+     *
+     * @param a the off-heap collection
+     * @return maximal element, {@code Long.MIN_VALUE} for empty collection
+     */
+    public static long max(OffHeapLongAddressable a) {
+        return max(a, 0, a.size());
+    }
+
+    /**
+     * Finds maximal element in the specified range
+     *
+     * @param a the off-heap collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return maximal element, {@code Long.MIN_VALUE} for empty range
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static long max(OffHeapLongAddressable a, long fromIndex, long toIndex) {
+        checkRange(a, fromIndex, toIndex);
+        if (a instanceof OffHeapLongArray) return max(((OffHeapLongArray) a).memory(), fromIndex << 3, toIndex << 3);
+        long m0 = Long.MIN_VALUE, m1 = Long.MIN_VALUE, m2 = Long.MIN_VALUE, m3 = Long.MIN_VALUE;
+        long i = fromIndex;
+        for (long end = toIndex - 3; i < end; i += 4) {
+            m0 = Math.max(m0, a.get(i));
+            m1 = Math.max(m1, a.get(i + 1));
+            m2 = Math.max(m2, a.get(i + 2));
+            m3 = Math.max(m3, a.get(i + 3));
+        }
+        for (; i < toIndex; i++) {
+            m0 = Math.max(m0, a.get(i));
+        }
+        return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+    }
+
+    /**
+     * Counts elements matching the predicate
+     *
+     * @param a the off-heap collection
+     * @param predicate predicate to check elements with
+     * @return number of matching elements
+     */
+    public static long countIf(OffHeapLongAddressable a, OffHeapLongPredicate predicate) {
+        return countIf(a, 0, a.size(), predicate);
+    }
+
+    /**
+     * Counts elements in the specified range matching the predicate
+     *
+     * @param a the off-heap collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @param predicate predicate to check elements with
+     * @return number of matching elements
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static long countIf(OffHeapLongAddressable a, long fromIndex, long toIndex, OffHeapLongPredicate predicate) {
+        checkRange(a, fromIndex, toIndex);
+        if (a instanceof OffHeapLongArray) {
+            return countIf(((OffHeapLongArray) a).memory(), fromIndex << 3, toIndex << 3, predicate);
+        }
+        long c0 = 0, c1 = 0, c2 = 0, c3 = 0;
+        long i = fromIndex;
+        for (long end = toIndex - 3; i < end; i += 4) {
+            c0 += predicate.apply(a.get(i)) ? 1 : 0;
+            c1 += predicate.apply(a.get(i + 1)) ? 1 : 0;
+            c2 += predicate.apply(a.get(i + 2)) ? 1 : 0;
+            c3 += predicate.apply(a.get(i + 3)) ? 1 : 0;
+        }
+        for (; i < toIndex; i++) {
+            c0 += predicate.apply(a.get(i)) ? 1 : 0;
+        }
+        return c0 + c1 + c2 + c3;
+    }
+
+    /**
+     * Builds histogram of the elements with equal width buckets. Bucket {@code i} counts elements in
+     * {@code [min + i * bucketWidth, min + (i + 1) * bucketWidth)}, elements less than {@code min} are
+     * counted in the first bucket and elements out of the last bucket are counted in the last bucket.
+     *
+     * @param a the off-heap collection
+     * @param min lower bound of the first bucket
+     * @param bucketWidth width of the bucket
+     * @param buckets number of buckets
+     * @return counts of elements for each bucket
+     */
+    public static long[] histogram(OffHeapLongAddressable a, long min, long bucketWidth, int buckets) {
+        return histogram(a, 0, a.size(), min, bucketWidth, buckets);
+    }
+
+    /**
+     * Builds histogram of the elements in the specified range with equal width buckets.
+     * Bucket {@code i} counts elements in {@code [min + i * bucketWidth, min + (i + 1) * bucketWidth)},
+     * elements less than {@code min} are counted in the first bucket and elements out of the last bucket
+     * are counted in the last bucket.
+     *
+     * @param a the off-heap collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @param min lower bound of the first bucket
+     * @param bucketWidth width of the bucket
+     * @param buckets number of buckets
+     * @return counts of elements for each bucket
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     *         or on non-positive bucket width or buckets number
+     */
+    public static long[] histogram(OffHeapLongAddressable a, long fromIndex, long toIndex, long min, long bucketWidth,
+                                   int buckets) {
+        checkRange(a, fromIndex, toIndex);
+        checkHistogram(bucketWidth, buckets);
+        long[] res = new long[buckets];
+        int last = buckets - 1;
+        for (long i = fromIndex; i < toIndex; i++) {
+            long val = a.get(i);
+            // negative difference for values greater than min means overflow
+            long diff = val - min;
+            long bucket = val < min ? 0 : (diff >= 0 ? diff / bucketWidth : last);
+            res[bucket > last ? last : (int) bucket] += 1;
+        }
+        return res;
+    }
+
+    /**
+     * Computes prefix sums of the source collection and writes them into destination collection.
+     * Destination may be the same collection as source.
+     *
+     * @param src source collection
+     * @param dest destination collection, must have size not less than source one
+     * @param inclusive if {@code true}, element {@code i} of destination is a sum of source
+     *                  elements {@code [0, i]}, otherwise it is a sum of elements {@code [0, i)}
+     * @return sum of all source elements
+     */
+    public static long prefixSum(OffHeapLongAddressable src, OffHeapLongAddressable dest, boolean inclusive) {
+        checkPrefixSum(src, dest);
+        return prefixSum(src, 0, src.size(), dest, 0, inclusive);
+    }
+
+    /**
+     * Computes sum of all the elements in parallel
+     *
+     * @param executor executor to run tasks
+     * @param threads number of parallel tasks
+     * @param a the off-heap collection
+     * @return sum of the elements
+     * @throws RuntimeException on task error
+     */
+    public static long sumParallel(ExecutorService executor, int threads, final OffHeapLongAddressable a) {
+        long res = 0;
+        for (long[] pa : invoke(executor, threads, a.size(), new RangeFunction() {
+            @Override
+            public long[] apply(long from, long to) {
+                return new long[]{sum(a, from, to)};
+            }
+        })) {
+            res += pa[0];
+        }
+        return res;
+    }
+
+    /**
+     * Finds minimal element in parallel
+     *
+     * @param executor executor to run tasks
+     * @param threads number of parallel tasks
+     * @param a the off-heap collection
+     * @return minimal element, {@code Long.MAX_VALUE} for empty collection
+     * @throws RuntimeException on task error
+     */
+    public static long minParallel(ExecutorService executor, int threads, final OffHeapLongAddressable a) {
+        long res = Long.MAX_VALUE;
+        for (long[] pa : invoke(executor, threads, a.size(), new RangeFunction() {
+            @Override
+            public long[] apply(long from, long to) {
+                return new long[]{min(a, from, to)};
+            }
+        })) {
+            res = Math.min(res, pa[0]);
+        }
+        return res;
+    }
+
+    /**
+     * Finds maximal element in parallel
+     *
+     * @param executor executor to run tasks
+     * @param threads number of parallel tasks
+     * @param a the off-heap collection
+     * @return maximal element, {@code Long.MIN_VALUE} for empty collection
+     * @throws RuntimeException on task error
+     */
+    public static long maxParallel(ExecutorService executor, int threads, final OffHeapLongAddressable a) {
+        long res = Long.MIN_VALUE;
+        for (long[] pa : invoke(executor, threads, a.size(), new RangeFunction() {
+            @Override
+            public long[] apply(long from, long to) {
+                return new long[]{max(a, from, to)};
+            }
+        })) {
+            res = Math.max(res, pa[0]);
+        }
+        return res;
+    }
+
+    /**
+     * Counts elements matching the predicate in parallel
+     *
+     * @param executor executor to run tasks
+     * @param threads number of parallel tasks
+     * @param a the off-heap collection
+     * @param predicate thread-safe predicate to check elements with
+     * @return number of matching elements
+     * @throws RuntimeException on task error
+     */
+    public static long countIfParallel(ExecutorService executor, int threads, final OffHeapLongAddressable a,
+                                       final OffHeapLongPredicate predicate) {
+        long res = 0;
+        for (long[] pa : invoke(executor, threads, a.size(), new RangeFunction() {
+            @Override
+            public long[] apply(long from, long to) {
+                return new long[]{countIf(a, from, to, predicate)};
+            }
+        })) {
+            res += pa[0];
+        }
+        return res;
+    }
+
+    /**
+     * Builds histogram of the elements in parallel,
+     * see {@link #histogram(OffHeapLongAddressable, long, long, int)}
+     *
+     * @param executor executor to run tasks
+     * @param threads number of parallel tasks
+     * @param a the off-heap collection
+     * @param min lower bound of the first bucket
+     * @param bucketWidth width of the bucket
+     * @param buckets number of buckets
+     * @return counts of elements for each bucket
+     * @throws RuntimeException on task error
+     */
+    public static long[] histogramParallel(ExecutorService executor, int threads, final OffHeapLongAddressable a,
+                                           final long min, final long bucketWidth, final int buckets) {
+        checkHistogram(bucketWidth, buckets);
+        long[] res = new long[buckets];
+        for (long[] pa : invoke(executor, threads, a.size(), new RangeFunction() {
+            @Override
+            public long[] apply(long from, long to) {
+                return histogram(a, from, to, min, bucketWidth, buckets);
+            }
+        })) {
+            for (int i = 0; i < buckets; i++) {
+                res[i] += pa[i];
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Computes prefix sums of the source collection in parallel and writes them into destination collection.
+     * Sums of the parts are computed in the first pass, then parts are scanned
+     * in the second pass starting with sums of preceding parts.
+     * Destination may be the same collection as source.
+     *
+     * @param executor executor to run tasks
+     * @param threads number of parallel tasks
+     * @param src source collection
+     * @param dest destination collection, must have size not less than source one
+     * @param inclusive if {@code true}, element {@code i} of destination is a sum of source
+     *                  elements {@code [0, i]}, otherwise it is a sum of elements {@code [0, i)}
+     * @return sum of all source elements
+     * @throws RuntimeException on task error
+     */
+    public static long prefixSumParallel(ExecutorService executor, int threads, final OffHeapLongAddressable src,
+                                         final OffHeapLongAddressable dest, final boolean inclusive) {
+        checkPrefixSum(src, dest);
+        final List<long[]> sums = invoke(executor, threads, src.size(), new RangeFunction() {
+            @Override
+            public long[] apply(long from, long to) {
+                return new long[]{from, to, sum(src, from, to)};
+            }
+        });
+        if (1 == sums.size()) return prefixSum(src, 0, src.size(), dest, 0, inclusive);
+        final long[] offsets = new long[sums.size() + 1];
+        for (int i = 0; i < sums.size(); i++) {
+            offsets[i + 1] = offsets[i] + sums.get(i)[2];
+        }
+        List<Callable<long[]>> tasks = new ArrayList<Callable<long[]>>(sums.size());
+        for (int i = 0; i < sums.size(); i++) {
+            final long[] part = sums.get(i);
+            final long offset = offsets[i];
+            tasks.add(new Callable<long[]>() {
+                @Override
+                public long[] call() throws Exception {
+                    prefixSum(src, part[0], part[1], dest, offset, inclusive);
+                    return part;
+                }
+            });
+        }
+        invokeAll(executor, tasks);
+        return offsets[sums.size()];
+    }
+
+    /**
+     * Computes sum of the memory longs, does no range checking
+     *
+     * @param mem memory area
+     * @param from offset of the first long, inclusive
+     * @param to offset after the last long, exclusive
+     * @return sum of the longs
+     */
+    private static long sum(OffHeapMemory mem, long from, long to) {
+        long s0 = 0, s1 = 0, s2 = 0, s3 = 0, s4 = 0, s5 = 0, s6 = 0, s7 = 0;
+        long off = from;
+        for (long end = to - 56; off < end; off += 64) {
+            s0 += mem.getLong(off);
+            s1 += mem.getLong(off + 8);
+            s2 += mem.getLong(off + 16);
+            s3 += mem.getLong(off + 24);
+            s4 += mem.getLong(off + 32);
+            s5 += mem.getLong(off + 40);
+            s6 += mem.getLong(off + 48);
+            s7 += mem.getLong(off + 56);
+        }
+        for (; off < to; off += 8) {
+            s0 += mem.getLong(off);
+        }
+        return (s0 + s1) + (s2 + s3) + (s4 + s5) + (s6 + s7);
+    }
+
+    /**
+     * Finds minimal memory long, does no range checking
+     *
+     * @param mem memory area
+     * @param from offset of the first long, inclusive
+     * @param to offset after the last long, exclusive
+     * @return minimal long, {@code Long.MAX_VALUE} for empty range
+     */
+    private static long min(OffHeapMemory mem, long from, long to) {
+        long m0 = Long.MAX_VALUE, m1 = Long.MAX_VALUE, m2 = Long.MAX_VALUE, m3 = Long.MAX_VALUE;
+        long m4 = Long.MAX_VALUE, m5 = Long.MAX_VALUE, m6 = Long.MAX_VALUE, m7 = Long.MAX_VALUE;
+        long off = from;
+        for (long end = to - 56; off < end; off += 64) {
+            m0 = Math.min(m0, mem.getLong(off));
+            m1 = Math.min(m1, mem.getLong(off + 8));
+            m2 = Math.min(m2, mem.getLong(off + 16));
+            m3 = Math.min(m3, mem.getLong(off + 24));
+            m4 = Math.min(m4, mem.getLong(off + 32));
+            m5 = Math.min(m5, mem.getLong(off + 40));
+            m6 = Math.min(m6, mem.getLong(off + 48));
+            m7 = Math.min(m7, mem.getLong(off + 56));
+        }
+        for (; off < to; off += 8) {
+            m0 = Math.min(m0, mem.getLong(off));
+        }
+        return Math.min(Math.min(Math.min(m0, m1), Math.min(m2, m3)), Math.min(Math.min(m4, m5), Math.min(m6, m7)));
+    }
+
+    /**
+     * Finds maximal memory long, does no range checking
+     *
+     * @param mem memory area
+     * @param from offset of the first long, inclusive
+     * @param to offset after the last long, exclusive
+     * @return maximal long, {@code Long.MIN_VALUE} for empty range
+     */
+    private static long max(OffHeapMemory mem, long from, long to) {
+        long m0 = Long.MIN_VALUE, m1 = Long.MIN_VALUE, m2 = Long.MIN_VALUE, m3 = Long.MIN_VALUE;
+        long m4 = Long.MIN_VALUE, m5 = Long.MIN_VALUE, m6 = Long.MIN_VALUE, m7 = Long.MIN_VALUE;
+        long off = from;
+        for (long end = to - 56; off < end; off += 64) {
+            m0 = Math.max(m0, mem.getLong(off));
+            m1 = Math.max(m1, mem.getLong(off + 8));
+            m2 = Math.max(m2, mem.getLong(off + 16));
+            m3 = Math.max(m3, mem.getLong(off + 24));
+            m4 = Math.max(m4, mem.getLong(off + 32));
+            m5 = Math.max(m5, mem.getLong(off + 40));
+            m6 = Math.max(m6, mem.getLong(off + 48));
+            m7 = Math.max(m7, mem.getLong(off + 56));
+        }
+        for (; off < to; off += 8) {
+            m0 = Math.max(m0, mem.getLong(off));
+        }
+        return Math.max(Math.max(Math.max(m0, m1), Math.max(m2, m3)), Math.max(Math.max(m4, m5), Math.max(m6, m7)));
+    }
+
+    /**
+     * Counts memory longs matching the predicate, does no range checking
+     *
+     * @param mem memory area
+     * @param from offset of the first long, inclusive
+     * @param to offset after the last long, exclusive
+     * @param predicate predicate to check longs with
+     * @return number of matching longs
+     */
+    private static long countIf(OffHeapMemory mem, long from, long to, OffHeapLongPredicate predicate) {
+        long c0 = 0, c1 = 0, c2 = 0, c3 = 0, c4 = 0, c5 = 0, c6 = 0, c7 = 0;
+        long off = from;
+        for (long end = to - 56; off < end; off += 64) {
+            c0 += predicate.apply(mem.getLong(off)) ? 1 : 0;
+            c1 += predicate.apply(mem.getLong(off + 8)) ? 1 : 0;
+            c2 += predicate.apply(mem.getLong(off + 16)) ? 1 : 0;
+            c3 += predicate.apply(mem.getLong(off + 24)) ? 1 : 0;
+            c4 += predicate.apply(mem.getLong(off + 32)) ? 1 : 0;
+            c5 += predicate.apply(mem.getLong(off + 40)) ? 1 : 0;
+            c6 += predicate.apply(mem.getLong(off + 48)) ? 1 : 0;
+            c7 += predicate.apply(mem.getLong(off + 56)) ? 1 : 0;
+        }
+        for (; off < to; off += 8) {
+            c0 += predicate.apply(mem.getLong(off)) ? 1 : 0;
+        }
+        return (c0 + c1) + (c2 + c3) + (c4 + c5) + (c6 + c7);
+    }
+
+    /**
+     * Computes prefix sums for the range, does no range checking
+     *
+     * @param src source collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @param dest destination collection
+     * @param initial sum of elements preceding the range
+     * @param inclusive whether to include current element into the sum
+     * @return sum of elements preceding the range plus sum of the range elements
+     */
+    private static long prefixSum(OffHeapLongAddressable src, long fromIndex, long toIndex, OffHeapLongAddressable dest,
+                                  long initial, boolean inclusive) {
+        long acc = initial;
+        long i = fromIndex;
+        if (inclusive) {
+            for (long end = toIndex - 3; i < end; i += 4) {
+                long v0 = src.get(i), v1 = src.get(i + 1), v2 = src.get(i + 2), v3 = src.get(i + 3);
+                dest.set(i, acc += v0);
+                dest.set(i + 1, acc += v1);
+                dest.set(i + 2, acc += v2);
+                dest.set(i + 3, acc += v3);
+            }
+            for (; i < toIndex; i++) {
+                dest.set(i, acc += src.get(i));
+            }
+        } else {
+            for (long end = toIndex - 3; i < end; i += 4) {
+                long v0 = src.get(i), v1 = src.get(i + 1), v2 = src.get(i + 2), v3 = src.get(i + 3);
+                dest.set(i, acc);
+                dest.set(i + 1, acc += v0);
+                dest.set(i + 2, acc += v1);
+                dest.set(i + 3, acc += v2);
+                acc += v3;
+            }
+            for (; i < toIndex; i++) {
+                long val = src.get(i);
+                dest.set(i, acc);
+                acc += val;
+            }
+        }
+        return acc;
+    }
+
+    /**
+     * Splits {@code [0, size)} range into parts and applies function to each part in parallel
+     *
+     * @param executor executor to run tasks
+     * @param threads number of parallel tasks
+     * @param size collection size
+     * @param fun function to apply
+     * @return results for parts in order
+     */
+    private static List<long[]> invoke(ExecutorService executor, int threads, long size, final RangeFunction fun) {
+        if (null == executor) throw new NullPointerException("executor");
+        if (threads <= 0) throw new IllegalArgumentException("threads: [" + threads + "] must be positive");
+        List<Callable<long[]>> tasks = new ArrayList<Callable<long[]>>(threads);
+        long parts = size < PARALLEL_THRESHOLD ? 1 : threads;
+        long step = size / parts;
+        for (long i = 0; i < parts; i++) {
+            final long from = i * step;
+            final long to = i == parts - 1 ? size : from + step;
+            tasks.add(new Callable<long[]>() {
+                @Override
+                public long[] call() throws Exception {
+                    return fun.apply(from, to);
+                }
+            });
+        }
+        if (1 == tasks.size()) return invokeAll(null, tasks);
+        return invokeAll(executor, tasks);
+    }
+
+    /**
+     * Invokes tasks and waits for results
+     *
+     * @param executor executor to run tasks, tasks are run in the current thread if {@code null}
+     * @param tasks tasks to invoke
+     * @return tasks results in order
+     */
+    private static List<long[]> invokeAll(ExecutorService executor, List<Callable<long[]>> tasks) {
+        List<long[]> res = new ArrayList<long[]>(tasks.size());
+        try {
+            if (null == executor) {
+                for (Callable<long[]> ta : tasks) {
+                    res.add(ta.call());
+                }
+            } else {
+                List<Future<long[]>> futures = executor.invokeAll(tasks);
+                for (Future<long[]> fu : futures) {
+                    res.add(fu.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return res;
+    }
+
+    /**
+     * Checks range bounds
+     *
+     * @param a the off-heap collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     */
+    private static void checkRange(OffHeapLongAddressable a, long fromIndex, long toIndex) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size()) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + a.size() + "], " +
+                    "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "]");
+        }
+    }
+
+    /**
+     * Checks histogram parameters
+     *
+     * @param bucketWidth width of the bucket
+     * @param buckets number of buckets
+     */
+    private static void checkHistogram(long bucketWidth, int buckets) {
+        if (bucketWidth <= 0 || buckets <= 0) throw new IllegalArgumentException(
+                "Illegal input, bucketWidth: [" + bucketWidth + "], buckets: [" + buckets + "]");
+    }
+
+    /**
+     * Checks prefix sum destination size
+     *
+     * @param src source collection
+     * @param dest destination collection
+     */
+    private static void checkPrefixSum(OffHeapLongAddressable src, OffHeapLongAddressable dest) {
+        if (dest.size() < src.size()) throw new IllegalArgumentException(
+                "Destination size: [" + dest.size() + "] is less than source size: [" + src.size() + "]");
+    }
+
+    /**
+     * Function applied to the range of collection
+     */
+    private interface RangeFunction {
+        /**
+         * Applies function to the range
+         *
+         * @param from the index of the first element, inclusive
+         * @param to the index of the last element, exclusive
+         * @return function result
+         */
+        long[] apply(long from, long to);
+    }
+}
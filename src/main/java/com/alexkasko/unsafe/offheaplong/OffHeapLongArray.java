@@ -109,6 +109,16 @@ public class OffHeapLongArray implements OffHeapLongAddressable, OffHeapDisposab
         ohm.free();
     }
 
+    /**
+     * Returns underlying memory area, used by bulk operations to read elements
+     * directly by byte offsets
+     *
+     * @return underlying memory area
+     */
+    OffHeapMemory memory() {
+        return ohm;
+    }
+
     /**
      * {@inheritDoc}
      */
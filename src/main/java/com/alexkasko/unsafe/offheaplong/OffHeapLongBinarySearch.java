@@ -29,6 +29,11 @@ import java.io.Serializable;
  * @see com.alexkasko.unsafe.offheaplong.OffHeapLongSorter
  */
 public class OffHeapLongBinarySearch {
+    /**
+     * Number of searches interleaved in batch search
+     */
+    private static final int BATCH_GROUP_SIZE = 16;
+
     /**
      * Performs a binary search for {@code value} in the ascending sorted off-heap collection.
      * Searching in an unsorted collection has an undefined result. It's also undefined which element
@@ -121,6 +126,75 @@ public class OffHeapLongBinarySearch {
         out.set(from, to);
     }
 
+    /**
+     * Performs binary searches for all the {@code values} in the ascending sorted off-heap collection.
+     * Searches are done in groups, searches of one group are interleaved so memory loads
+     * for different values are independent and may be processed by CPU in parallel.
+     * Searching in an unsorted collection has an undefined result. Unlike {@link #binarySearch(OffHeapAddressable, long)},
+     * the index of the first occurrence is returned if there are multiple occurrences of the same element.
+     *
+     * @param collection the sorted collection to search.
+     * @param values the elements to find, don't need to be sorted
+     * @param results array for search results, for each value contains non-negative index of the element,
+     *                or a negative index which is {@code -index - 1} where the element would be inserted.
+     * @throws IllegalArgumentException if results array is shorter than values array
+     */
+    public static void binarySearchBatch(OffHeapAddressable collection, long[] values, long[] results) {
+        binarySearchBatch(collection, 0, collection.size(), values, results);
+    }
+
+    /**
+     * Performs binary searches for all the {@code values} in the ascending sorted off-heap collection,
+     * in the range specified by fromIndex (inclusive) and toIndex (exclusive).
+     * Searches are done in groups, searches of one group are interleaved so memory loads
+     * for different values are independent and may be processed by CPU in parallel.
+     * Searching in an unsorted collection has an undefined result. Unlike {@link #binarySearch(OffHeapAddressable, long)},
+     * the index of the first occurrence is returned if there are multiple occurrences of the same element.
+     *
+     * @param collection the sorted collection to search.
+     * @param startIndex the inclusive start index.
+     * @param endIndex   the exclusive end index.
+     * @param values the elements to find, don't need to be sorted
+     * @param results array for search results, for each value contains non-negative index of the element,
+     *                or a negative index which is {@code -index - 1} where the element would be inserted.
+     * @throws IllegalArgumentException {@code if (startIndex < 0 || startIndex > endIndex || endIndex > collection.size()}
+     *         or if results array is shorter than values array
+     */
+    public static void binarySearchBatch(OffHeapAddressable collection, long startIndex, long endIndex,
+                                         long[] values, long[] results) {
+        if (startIndex < 0 || startIndex > endIndex || endIndex > collection.size()) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + collection.size() + "], " +
+                    "startIndex: [" + startIndex + "], endIndex: [" + endIndex + "]");
+        }
+        if (results.length < values.length) throw new IllegalArgumentException(
+                "Illegal input, values length: [" + values.length + "], results length: [" + results.length + "]");
+        long[] base = new long[BATCH_GROUP_SIZE];
+        for (int from = 0; from < values.length; from += BATCH_GROUP_SIZE) {
+            int to = Math.min(from + BATCH_GROUP_SIZE, values.length);
+            if (startIndex == endIndex) {
+                for (int i = from; i < to; i++) results[i] = ~startIndex;
+                continue;
+            }
+            for (int i = from; i < to; i++) base[i - from] = startIndex;
+            // all searches in group do the same number of steps
+            long len = endIndex - startIndex;
+            while (len > 1) {
+                long half = len >>> 1;
+                for (int i = from; i < to; i++) {
+                    long b = base[i - from];
+                    base[i - from] = collection.get(b + half - 1) < values[i] ? b + half : b;
+                }
+                len -= half;
+            }
+            for (int i = from; i < to; i++) {
+                long b = base[i - from];
+                long val = collection.get(b);
+                if (val == values[i]) results[i] = b;
+                else results[i] = val < values[i] ? ~(b + 1) : ~b;
+            }
+        }
+    }
+
     /**
      * {@link OffHeapAddressable} index range representation.
      * Was made mutable to prevent new object instantiation for each search.
@@ -146,7 +220,7 @@ public class OffHeapLongBinarySearch {
          *
          * @param value negative value for empty range returned by search
          */
-        private void setEmpty(long value) {
+        void setEmpty(long value) {
             this.empty = true;
             this.fromIndex = value;
             this.toIndex = value;
@@ -158,7 +232,7 @@ public class OffHeapLongBinarySearch {
          * @param from start index
          * @param to end index
          */
-        private void set(long from, long to) {
+        void set(long from, long to) {
             this.empty = false;
             this.fromIndex = from;
             this.toIndex = to;
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+/**
+ * Introsort implementation for the collection of keys, that applies the same swaps to the
+ * parallel payload collections. All the element moves are done with swaps, median-of-three
+ * quicksort with Hoare partitioning falls back to heapsort on too deep recursion.
+ *
+ * @see OffHeapLongSorter#sort(OffHeapLongAddressable, OffHeapLongAddressable...)
+ */
+class OffHeapLongCoSorter {
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private final OffHeapLongAddressable keys;
+    private final OffHeapLongAddressable[] payloads;
+
+    /**
+     * Constructor
+     *
+     * @param keys keys collection
+     * @param payloads payload collections
+     */
+    OffHeapLongCoSorter(OffHeapLongAddressable keys, OffHeapLongAddressable[] payloads) {
+        this.keys = keys;
+        this.payloads = payloads;
+    }
+
+    /**
+     * Sorts specified range of keys and payloads
+     *
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     */
+    void sort(long fromIndex, long toIndex) {
+        if (toIndex - fromIndex < 2) return;
+        int depthLimit = 2 * (64 - Long.numberOfLeadingZeros(toIndex - fromIndex));
+        introSort(fromIndex, toIndex - 1, depthLimit);
+    }
+
+    /**
+     * Sorts range recursing into the smaller part and looping over the larger one
+     *
+     * @param left the index of the first element, inclusive
+     * @param right the index of the last element, inclusive
+     * @param depthLimit remaining recursion depth before falling back to heapsort
+     */
+    private void introSort(long left, long right, int depthLimit) {
+        while (right - left + 1 >= INSERTION_SORT_THRESHOLD) {
+            if (0 == depthLimit) {
+                heapSort(left, right);
+                return;
+            }
+            depthLimit -= 1;
+            long split = partition(left, right);
+            if (split - left < right - split) {
+                introSort(left, split, depthLimit);
+                left = split + 1;
+            } else {
+                introSort(split + 1, right, depthLimit);
+                right = split;
+            }
+        }
+        insertionSort(left, right);
+    }
+
+    /**
+     * Hoare partitioning with median-of-three pivot
+     *
+     * @param left the index of the first element, inclusive
+     * @param right the index of the last element, inclusive
+     * @return split index, all elements in {@code [left, split]} are less or equal
+     *         to all elements in {@code [split + 1, right]}
+     */
+    private long partition(long left, long right) {
+        long mid = (left + right) >>> 1;
+        if (keys.get(mid) < keys.get(left)) swap(mid, left);
+        if (keys.get(right) < keys.get(left)) swap(right, left);
+        if (keys.get(right) < keys.get(mid)) swap(right, mid);
+        long pivot = keys.get(mid);
+        long i = left - 1;
+        long j = right + 1;
+        for (;;) {
+            do i++; while (keys.get(i) < pivot);
+            do j--; while (keys.get(j) > pivot);
+            if (i >= j) return j;
+            swap(i, j);
+        }
+    }
+
+    /**
+     * Insertion sort using swaps
+     *
+     * @param left the index of the first element, inclusive
+     * @param right the index of the last element, inclusive
+     */
+    private void insertionSort(long left, long right) {
+        for (long i = left + 1; i <= right; i++) {
+            long ki = keys.get(i);
+            for (long j = i - 1; j >= left && ki < keys.get(j); j--) {
+                swap(j, j + 1);
+            }
+        }
+    }
+
+    /**
+     * Heapsort using swaps
+     *
+     * @param left the index of the first element, inclusive
+     * @param right the index of the last element, inclusive
+     */
+    private void heapSort(long left, long right) {
+        long size = right - left + 1;
+        for (long i = size / 2 - 1; i >= 0; i--) {
+            siftDown(left, i, size);
+        }
+        for (long end = size - 1; end > 0; end--) {
+            swap(left, left + end);
+            siftDown(left, 0, end);
+        }
+    }
+
+    /**
+     * Restores max-heap property for heap located at {@code base}
+     *
+     * @param base heap start index
+     * @param index heap node to sift down
+     * @param size heap size
+     */
+    private void siftDown(long base, long index, long size) {
+        for (;;) {
+            long child = 2 * index + 1;
+            if (child >= size) return;
+            if (child + 1 < size && keys.get(base + child + 1) > keys.get(base + child)) child += 1;
+            if (keys.get(base + index) >= keys.get(base + child)) return;
+            swap(base + index, base + child);
+            index = child;
+        }
+    }
+
+    /**
+     * Swaps keys and all payloads on specified indices
+     *
+     * @param i first index
+     * @param j second index
+     */
+    private void swap(long i, long j) {
+        long k = keys.get(i);
+        keys.set(i, keys.get(j));
+        keys.set(j, k);
+        for (OffHeapLongAddressable pl : payloads) {
+            long p = pl.get(i);
+            pl.set(i, pl.get(j));
+            pl.set(j, p);
+        }
+    }
+}
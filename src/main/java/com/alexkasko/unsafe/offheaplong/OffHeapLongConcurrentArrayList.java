@@ -0,0 +1,322 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import com.alexkasko.unsafe.offheap.OffHeapDisposable;
+import com.alexkasko.unsafe.offheap.OffHeapDisposableIterator;
+import com.alexkasko.unsafe.offheap.OffHeapMemory;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>Append-only array-list of long that supports concurrent adding from multiple threads without locks.
+ * Positions for added elements are reserved using atomic counter, elements are stored in segments
+ * of {@link com.alexkasko.unsafe.offheap.OffHeapMemory}, new segment is allocated on growth and
+ * existing segments are never moved or copied. First segment has size {@code 2^initialShift}
+ * and each next segment is twice as large as previous one, so the segment directory has fixed length
+ * and index-to-address computation takes a few bit operations.
+ *
+ * <p>Added elements are published in reservation order: {@link #size()} is increased only after all elements
+ * with lower indices are written, so readers may safely access (and iterate over) elements from {@code 0}
+ * to {@code size-1} while adding is in progress. {@link #get(long)} and {@link #set(long, long)}
+ * indexes are checked using {@code assert} keyword (unpublished indexes will be rejected).
+ * If adding fails (on list capacity exceeded error positions are not reserved, but on memory allocation error
+ * they are), list becomes broken and all the further and waiting additions fail with {@link IllegalStateException}
+ * instead of waiting for the unpublished positions.
+ *
+ * <p>Allocated memory may be freed manually using {@link #free()} after all the adding threads are finished
+ * or it will be freed after list will be garbage collected.
+ *
+ * <p>Note: while class implements Iterable, iterator will create new autoboxed Long object
+ * <b>on every</b> {@code next()} call, this behaviour is inevitable with iterators in java 6/7.
+ */
+public class OffHeapLongConcurrentArrayList implements OffHeapLongAddressable, OffHeapDisposable, Iterable<Long> {
+    private static final int DEFAULT_INITIAL_SHIFT = 12;
+    private static final int SPINS_BEFORE_YIELD = 100;
+    private static final int ELEMENT_LENGTH = 8;
+
+    private final int initialShift;
+    private final AtomicReferenceArray<OffHeapMemory> segments;
+    private final long maxCapacity;
+    // next index to reserve
+    private final PaddedAtomicLong reserved = new PaddedAtomicLong(0);
+    // number of elements available to readers
+    private final PaddedAtomicLong published = new PaddedAtomicLong(0);
+    // set when reserved positions cannot be written
+    private volatile boolean broken = false;
+
+    /**
+     * Constructor, {@code 4096} is used as first segment size
+     */
+    public OffHeapLongConcurrentArrayList() {
+        this(DEFAULT_INITIAL_SHIFT);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param initialShift first segment will contain {@code 2^initialShift} elements
+     */
+    public OffHeapLongConcurrentArrayList(int initialShift) {
+        // last segment will contain 2^60 elements
+        this(initialShift, 61 - initialShift);
+    }
+
+    /**
+     * Constructor with limited number of segments
+     *
+     * @param initialShift first segment will contain {@code 2^initialShift} elements
+     * @param segmentsCount max number of segments
+     */
+    OffHeapLongConcurrentArrayList(int initialShift, int segmentsCount) {
+        if (initialShift < 0 || initialShift > 30) throw new IllegalArgumentException(
+                "Invalid initialShift: [" + initialShift + "]");
+        if (segmentsCount < 1 || segmentsCount > 61 - initialShift) throw new IllegalArgumentException(
+                "Invalid segmentsCount: [" + segmentsCount + "], initialShift: [" + initialShift + "]");
+        this.initialShift = initialShift;
+        this.segments = new AtomicReferenceArray<OffHeapMemory>(segmentsCount);
+        this.maxCapacity = (1L << (segmentsCount + initialShift)) - (1L << initialShift);
+        segments.set(0, OffHeapMemory.allocateMemory((1L << initialShift) * ELEMENT_LENGTH));
+    }
+
+    /**
+     * Adds element to the end of this list, may be called from multiple threads.
+     * Returns after the element and all the elements added before it become visible to readers.
+     *
+     * @param value value to add
+     * @return index of added element
+     * @throws IllegalStateException on list capacity exceeded or if list is broken by failed addition
+     */
+    public long add(long value) {
+        long index = reserve(1);
+        boolean written = false;
+        try {
+            write(index, value);
+            written = true;
+        } finally {
+            if (!written) broken = true;
+        }
+        publish(index, 1);
+        return index;
+    }
+
+    /**
+     * Adds elements to the end of this list as a contiguous block, may be called from multiple threads.
+     * Returns after the elements and all the elements added before them become visible to readers.
+     *
+     * @param src source array
+     * @param offset start position in source array
+     * @param length number of elements to add
+     * @return index of the first added element
+     * @throws IllegalStateException on list capacity exceeded or if list is broken by failed addition
+     */
+    public long addAll(long[] src, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > src.length) throw new IllegalArgumentException(
+                "Illegal input, array length: [" + src.length + "], offset: [" + offset + "], length: [" + length + "]");
+        long start = reserve(length);
+        boolean written = false;
+        try {
+            for (int i = 0; i < length; i++) {
+                write(start + i, src[offset + i]);
+            }
+            written = true;
+        } finally {
+            if (!written) broken = true;
+        }
+        publish(start, length);
+        return start;
+    }
+
+    /**
+     * Whether unsafe implementation of {@link OffHeapMemory} is used
+     *
+     * @return whether unsafe implementation of {@link OffHeapMemory} is used
+     */
+    public boolean isUnsafe() {
+        return segments.get(0).isUnsafe();
+    }
+
+    /**
+     * Gets the element at position {@code index} from {@code 0} to {@code size-1}
+     *
+     * @param index list index
+     * @return long value
+     */
+    @Override
+    public long get(long index) {
+        assert index >= 0 && index < published.get() : index;
+        long pos = index + (1L << initialShift);
+        int seg = segment(pos);
+        return segments.get(seg).getLong((pos - (1L << (seg + initialShift))) * ELEMENT_LENGTH);
+    }
+
+    /**
+     * Sets the element at position {@code index} (from {@code 0} to {@code size-1}) to the given value
+     *
+     * @param index list index
+     * @param value long value
+     */
+    @Override
+    public void set(long index, long value) {
+        assert index >= 0 && index < published.get() : index;
+        long pos = index + (1L << initialShift);
+        int seg = segment(pos);
+        segments.get(seg).putLong((pos - (1L << (seg + initialShift))) * ELEMENT_LENGTH, value);
+    }
+
+    /**
+     * Returns number of published elements in list
+     *
+     * @return number of published elements in list
+     */
+    @Override
+    public long size() {
+        return published.get();
+    }
+
+    /**
+     * Returns number of elements in allocated segments. Segments may be allocated out of order
+     * (concurrent block additions may skip segments), so all the segments are checked.
+     *
+     * @return number of elements in allocated segments
+     */
+    public long capacity() {
+        long res = 0;
+        for (int i = 0; i < segments.length(); i++) {
+            if (null == segments.get(i)) continue;
+            res += 1L << (i + initialShift);
+        }
+        return res;
+    }
+
+    /**
+     * Frees allocated memory of all the segments, must not be called while adding is in progress
+     */
+    @Override
+    public void free() {
+        for (int i = 0; i < segments.length(); i++) {
+            OffHeapMemory ohm = segments.get(i);
+            if (null == ohm) continue;
+            ohm.free();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OffHeapDisposableIterator<Long> iterator() {
+        return new OffHeapLongIterator(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("OffHeapLongConcurrentArrayList");
+        sb.append("{size=").append(size());
+        sb.append(", capacity=").append(capacity());
+        sb.append(", unsafe=").append(isUnsafe());
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Returns segment number for shifted index
+     *
+     * @param pos index increased by first segment size
+     * @return segment number
+     */
+    private int segment(long pos) {
+        return 63 - Long.numberOfLeadingZeros(pos) - initialShift;
+    }
+
+    /**
+     * Reserves positions for added elements, nothing is reserved if capacity is exceeded
+     *
+     * @param count number of positions to reserve
+     * @return first reserved index
+     * @throws IllegalStateException on list capacity exceeded or if list is broken
+     */
+    private long reserve(int count) {
+        for (;;) {
+            checkNotBroken();
+            long start = reserved.get();
+            if (start + count > maxCapacity) throw new IllegalStateException(
+                    "List capacity exceeded, capacity: [" + maxCapacity + "], reserved: [" + start + "], " +
+                    "requested: [" + count + "]");
+            if (reserved.compareAndSet(start, start + count)) return start;
+        }
+    }
+
+    /**
+     * Checks that all the reserved positions may be published
+     *
+     * @throws IllegalStateException if some addition has failed after reserving positions
+     */
+    private void checkNotBroken() {
+        if (broken) throw new IllegalStateException("List is broken by failed addition, size: [" + published.get() + "]");
+    }
+
+    /**
+     * Writes value into reserved position, allocates segment if necessary
+     *
+     * @param index reserved index
+     * @param value value to write
+     */
+    void write(long index, long value) {
+        long pos = index + (1L << initialShift);
+        int seg = segment(pos);
+        OffHeapMemory ohm = segments.get(seg);
+        if (null == ohm) ohm = allocateSegment(seg);
+        ohm.putLong((pos - (1L << (seg + initialShift))) * ELEMENT_LENGTH, value);
+    }
+
+    /**
+     * Allocates segment, if multiple threads try to allocate the same segment
+     * only one allocation wins and others are freed
+     *
+     * @param seg segment number
+     * @return allocated segment
+     */
+    private OffHeapMemory allocateSegment(int seg) {
+        if (seg >= segments.length()) throw new IllegalStateException(
+                "List capacity exceeded, segment: [" + seg + "]");
+        OffHeapMemory created = OffHeapMemory.allocateMemory((1L << (seg + initialShift)) * ELEMENT_LENGTH);
+        if (segments.compareAndSet(seg, null, created)) return created;
+        created.free();
+        return segments.get(seg);
+    }
+
+    /**
+     * Waits for preceding reservations to be published and publishes written elements
+     *
+     * @param start first reserved index
+     * @param count number of reserved elements
+     * @throws IllegalStateException if preceding reservation won't be published because of failed addition
+     */
+    private void publish(long start, int count) {
+        int spins = 0;
+        while (published.get() != start) {
+            checkNotBroken();
+            if (++spins > SPINS_BEFORE_YIELD) Thread.yield();
+        }
+        published.lazySet(start + count);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import com.alexkasko.unsafe.offheap.OffHeapDisposable;
+
+/**
+ * Forward-only cursor over the sequence of long values. Unlike {@link java.util.Iterator}
+ * returns primitive values and doesn't cause autoboxing.
+ */
+public interface OffHeapLongCursor extends OffHeapDisposable {
+    /**
+     * Whether cursor has more elements
+     *
+     * @return {@code true} if cursor has more elements
+     */
+    boolean hasNext();
+
+    /**
+     * Returns the next element
+     *
+     * @return the next element
+     * @throws IllegalStateException if cursor has no more elements
+     */
+    long next();
+}
@@ -0,0 +1,379 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import com.alexkasko.unsafe.offheap.OffHeapAddressable;
+import com.alexkasko.unsafe.offheap.OffHeapDisposable;
+import com.alexkasko.unsafe.offheap.OffHeapMemory;
+
+/**
+ * <p>Immutable compressed representation of the ascending sorted collection of longs using
+ * Elias-Fano encoding. Each value (minus the first value of collection) is split into {@code l} low bits, stored
+ * as is in the packed array, and high bits, stored in unary code in the bit vector with {@code n + (u >> l) + 1} bits,
+ * where {@code n} is a number of elements, {@code u} is a difference between the last and the first
+ * values and {@code l = floor(log2(u / n))}. Representation takes less than {@code 2 + log2(u / n)}
+ * bits per element plus small select index.
+ *
+ * <p>Positions of each {@code 256}-th one and zero bits in the high bits vector are sampled, so
+ * {@link #get(long)} and {@link #nextGEQ(long)} operations require constant time on average.
+ * Sequential access should be done using {@link #cursor()}.
+ *
+ * <p>Allocated memory may be freed manually using {@link #free()} (thread-safe and may be called multiple times)
+ * or it will be freed after {@link OffHeapLongEliasFano} will be garbage collected.
+ */
+public class OffHeapLongEliasFano implements OffHeapDisposable {
+    private static final int SAMPLE_BITS = 8;
+    private static final int SAMPLE_MASK = (1 << SAMPLE_BITS) - 1;
+
+    private final long size;
+    private final long base;
+    private final long last;
+    private final int lowBits;
+    private final long lowMask;
+    private final long upperLength;
+    private final OffHeapMemory lower;
+    private final OffHeapMemory upper;
+    private final OffHeapMemory onesSamples;
+    private final OffHeapMemory zerosSamples;
+
+    /**
+     * Constructor, encodes the ascending sorted off-heap collection
+     *
+     * @param sorted ascending sorted collection, contents won't be changed
+     * @throws IllegalArgumentException if collection is not sorted or difference between
+     *         the last and the first values doesn't fit into signed long
+     */
+    public OffHeapLongEliasFano(OffHeapAddressable sorted) {
+        this.size = sorted.size();
+        this.base = size > 0 ? sorted.get(0) : 0;
+        this.last = size > 0 ? sorted.get(size - 1) : 0;
+        long universe = last - base;
+        if (universe < 0) throw new IllegalArgumentException(
+                "Values range is too wide, first: [" + base + "], last: [" + last + "]");
+        int lb = 0;
+        if (size > 0 && universe / size > 0) {
+            lb = 63 - Long.numberOfLeadingZeros(universe / size);
+        }
+        this.lowBits = lb;
+        this.lowMask = (1L << lb) - 1;
+        this.upperLength = size + (universe >>> lb) + 1;
+        // additional word allows reading two words for each low bits value
+        this.lower = OffHeapMemory.allocateMemory((words(size * lb) + 1) * 8);
+        this.upper = OffHeapMemory.allocateMemory((words(upperLength) + 1) * 8);
+        for (long i = 0; i < lower.length(); i += 8) lower.putLong(i, 0);
+        for (long i = 0; i < upper.length(); i += 8) upper.putLong(i, 0);
+        long prev = base;
+        for (long i = 0; i < size; i++) {
+            long val = sorted.get(i);
+            if (val < prev) throw new IllegalArgumentException(
+                    "Collection is not sorted, index: [" + i + "], value: [" + val + "], previous: [" + prev + "]");
+            prev = val;
+            long rel = val - base;
+            writeLow(i, rel & lowMask);
+            long pos = (rel >>> lb) + i;
+            setWord(upper, pos >>> 6, getWord(upper, pos >>> 6) | (1L << (pos & 63)));
+        }
+        long zeros = upperLength - size;
+        this.onesSamples = OffHeapMemory.allocateMemory(Math.max(((size + SAMPLE_MASK) >>> SAMPLE_BITS) * 8, 8));
+        this.zerosSamples = OffHeapMemory.allocateMemory(Math.max(((zeros + SAMPLE_MASK) >>> SAMPLE_BITS) * 8, 8));
+        buildSamples();
+    }
+
+    /**
+     * Returns number of elements
+     *
+     * @return number of elements
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the element at position {@code index}
+     *
+     * @param index element index
+     * @return element value
+     */
+    public long get(long index) {
+        assert index >= 0 && index < size : index;
+        long high = select1(index) - index;
+        return base + ((high << lowBits) | readLow(index));
+    }
+
+    /**
+     * Finds index of the first element that is greater or equal to {@code value}
+     *
+     * @param value value to search for
+     * @return index of the first element that is greater or equal to {@code value}
+     *         or {@code size} if all elements are less than value
+     */
+    public long nextGEQ(long value) {
+        if (0 == size || value <= base) return 0;
+        if (value > last) return size;
+        long rel = value - base;
+        long high = rel >>> lowBits;
+        // elements with high part >= high are located after the high-th zero
+        long pos = 0 == high ? 0 : select0(high - 1) + 1;
+        long index = pos - high;
+        long word = pos >>> 6;
+        long bits = getWord(upper, word) & (-1L << (pos & 63));
+        for (;;) {
+            while (0 == bits) bits = getWord(upper, ++word);
+            long one = (word << 6) + Long.numberOfTrailingZeros(bits);
+            long cur = ((one - index) << lowBits) | readLow(index);
+            if (cur >= rel) return index;
+            bits &= bits - 1;
+            index += 1;
+        }
+    }
+
+    /**
+     * Returns cursor over all the elements
+     *
+     * @return cursor over all the elements, cursor doesn't own this instance
+     */
+    public OffHeapLongCursor cursor() {
+        return cursor(0);
+    }
+
+    /**
+     * Returns cursor over the elements starting from the specified index
+     *
+     * @param fromIndex index of the first element to return
+     * @return cursor over the elements, cursor doesn't own this instance
+     */
+    public OffHeapLongCursor cursor(long fromIndex) {
+        if (fromIndex < 0 || fromIndex > size) throw new IllegalArgumentException(
+                "Illegal input, size: [" + size + "], fromIndex: [" + fromIndex + "]");
+        return new Cursor(fromIndex);
+    }
+
+    /**
+     * Frees allocated memory, may be called multiple times from any thread
+     */
+    @Override
+    public void free() {
+        lower.free();
+        upper.free();
+        onesSamples.free();
+        zerosSamples.free();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("OffHeapLongEliasFano");
+        sb.append("{size=").append(size);
+        sb.append(", lowBits=").append(lowBits);
+        sb.append(", upperLength=").append(upperLength);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Finds position of the one bit with specified rank in the upper bits vector
+     *
+     * @param rank zero-based rank of the one bit
+     * @return position of the bit
+     */
+    private long select1(long rank) {
+        long pos = onesSamples.getLong((rank >>> SAMPLE_BITS) * 8);
+        long remaining = rank & SAMPLE_MASK;
+        long word = pos >>> 6;
+        long bits = getWord(upper, word) & (-1L << (pos & 63));
+        int count = Long.bitCount(bits);
+        while (remaining >= count) {
+            remaining -= count;
+            bits = getWord(upper, ++word);
+            count = Long.bitCount(bits);
+        }
+        return (word << 6) + selectInWord(bits, (int) remaining);
+    }
+
+    /**
+     * Finds position of the zero bit with specified rank in the upper bits vector
+     *
+     * @param rank zero-based rank of the zero bit
+     * @return position of the bit
+     */
+    private long select0(long rank) {
+        long pos = zerosSamples.getLong((rank >>> SAMPLE_BITS) * 8);
+        long remaining = rank & SAMPLE_MASK;
+        long word = pos >>> 6;
+        long bits = ~getWord(upper, word) & (-1L << (pos & 63));
+        int count = Long.bitCount(bits);
+        while (remaining >= count) {
+            remaining -= count;
+            bits = ~getWord(upper, ++word);
+            count = Long.bitCount(bits);
+        }
+        return (word << 6) + selectInWord(bits, (int) remaining);
+    }
+
+    /**
+     * Finds position of the one bit with specified rank in word
+     *
+     * @param bits word
+     * @param rank zero-based rank of the one bit, must be less than number of ones
+     * @return position of the bit
+     */
+    private static int selectInWord(long bits, int rank) {
+        long b = bits;
+        for (int i = 0; i < rank; i++) {
+            b &= b - 1;
+        }
+        return Long.numberOfTrailingZeros(b);
+    }
+
+    /**
+     * Samples positions of each 256-th one and zero bits of the upper bits vector
+     */
+    private void buildSamples() {
+        long ones = 0;
+        long zeros = 0;
+        for (long pos = 0; pos < upperLength; pos++) {
+            boolean one = 0 != (getWord(upper, pos >>> 6) & (1L << (pos & 63)));
+            if (one) {
+                if (0 == (ones & SAMPLE_MASK)) onesSamples.putLong((ones >>> SAMPLE_BITS) * 8, pos);
+                ones += 1;
+            } else {
+                if (0 == (zeros & SAMPLE_MASK)) zerosSamples.putLong((zeros >>> SAMPLE_BITS) * 8, pos);
+                zeros += 1;
+            }
+        }
+    }
+
+    /**
+     * Reads low bits of the element
+     *
+     * @param index element index
+     * @return low bits value
+     */
+    private long readLow(long index) {
+        if (0 == lowBits) return 0;
+        long bit = index * lowBits;
+        long word = bit >>> 6;
+        int offset = (int) (bit & 63);
+        long res = getWord(lower, word) >>> offset;
+        if (offset + lowBits > 64) res |= getWord(lower, word + 1) << (64 - offset);
+        return res & lowMask;
+    }
+
+    /**
+     * Writes low bits of the element
+     *
+     * @param index element index
+     * @param low low bits value
+     */
+    private void writeLow(long index, long low) {
+        if (0 == lowBits) return;
+        long bit = index * lowBits;
+        long word = bit >>> 6;
+        int offset = (int) (bit & 63);
+        setWord(lower, word, getWord(lower, word) | (low << offset));
+        if (offset + lowBits > 64) setWord(lower, word + 1, getWord(lower, word + 1) | (low >>> (64 - offset)));
+    }
+
+    /**
+     * Computes number of 64-bit words required to store bits
+     *
+     * @param bits number of bits
+     * @return number of words
+     */
+    private static long words(long bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * Reads 64-bit word
+     *
+     * @param mem memory area
+     * @param word word index
+     * @return word value
+     */
+    private static long getWord(OffHeapMemory mem, long word) {
+        return mem.getLong(word << 3);
+    }
+
+    /**
+     * Writes 64-bit word
+     *
+     * @param mem memory area
+     * @param word word index
+     * @param value word value
+     */
+    private static void setWord(OffHeapMemory mem, long word, long value) {
+        mem.putLong(word << 3, value);
+    }
+
+    /**
+     * Cursor decoding elements sequentially
+     */
+    private class Cursor implements OffHeapLongCursor {
+        private long index;
+        private long word;
+        private long bits;
+
+        /**
+         * Constructor
+         *
+         * @param fromIndex index of the first element to return
+         */
+        private Cursor(long fromIndex) {
+            this.index = fromIndex;
+            if (fromIndex < size) {
+                long pos = select1(fromIndex);
+                this.word = pos >>> 6;
+                this.bits = getWord(upper, word) & (-1L << (pos & 63));
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long next() {
+            if (index >= size) throw new IllegalStateException(
+                    "Current index: [" + index + "] is greater or equal then size: [" + size + "]");
+            while (0 == bits) bits = getWord(upper, ++word);
+            long one = (word << 6) + Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+            long res = base + (((one - index) << lowBits) | readLow(index));
+            index += 1;
+            return res;
+        }
+
+        /**
+         * Does nothing, encoded data is owned by parent instance
+         */
+        @Override
+        public void free() {
+            // no-op
+        }
+    }
+}
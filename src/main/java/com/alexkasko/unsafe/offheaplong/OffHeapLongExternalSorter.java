@@ -0,0 +1,498 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * <p>External (out-of-core) merge sort for long values those don't fit into memory.
+ * Input is read into off-heap chunk limited by the memory limit, each chunk is sorted using
+ * {@link OffHeapLongSorter} and written into temporary file as a sorted run. Runs are merged
+ * using loser tree reading no more than {@code mergeFanIn} runs at once, intermediate merge passes
+ * are done if there are more runs. If all input fits into one chunk, no files are written.
+ *
+ * <p>Chunk memory is allocated while input arrives: chunk consists of parts, each next part is as large
+ * as all the previous ones together (first part takes {@code 512KB}), so small inputs don't allocate
+ * the whole limit and no data is copied on growth. Parts are sorted separately and merged using loser tree.
+ * Memory limit covers only the chunk, direct buffers of {@code 64KB} are allocated in addition to it:
+ * one for writing a run and one for each run merged at once.
+ *
+ * <p>Files are read and written using {@link java.nio.channels.FileChannel} with direct buffers,
+ * values are stored in files as 8-byte big-endian longs. Sorted result may be written into the output
+ * file or obtained as a cursor, temporary files are deleted when the cursor is freed.
+ * Sorter instance holds no state between sort calls and may be used from multiple threads.
+ */
+public class OffHeapLongExternalSorter {
+    private static final int ELEMENT_LENGTH = 8;
+    private static final int DEFAULT_MERGE_FAN_IN = 64;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long FIRST_PART_LENGTH = 1 << 16;
+
+    private final File tempDir;
+    private final long chunkLength;
+    private final int mergeFanIn;
+    private final OffHeapLongComparator comp;
+
+    /**
+     * Constructor, natural order and {@code 64} runs per merge pass are used
+     *
+     * @param tempDir directory for temporary files
+     * @param memoryLimit max size of off-heap memory (in bytes) to use for in-memory sorting,
+     *                    IO buffers are not included
+     */
+    public OffHeapLongExternalSorter(File tempDir, long memoryLimit) {
+        this(tempDir, memoryLimit, DEFAULT_MERGE_FAN_IN, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param tempDir directory for temporary files
+     * @param memoryLimit max size of off-heap memory (in bytes) to use for in-memory sorting,
+     *                    IO buffers are not included
+     * @param mergeFanIn max number of runs to merge at once, each merged run requires {@code 64KB} buffer
+     *                   in addition to {@code memoryLimit}
+     * @param comp comparator that defines sort order, {@code null} for natural order
+     */
+    public OffHeapLongExternalSorter(File tempDir, long memoryLimit, int mergeFanIn, OffHeapLongComparator comp) {
+        if (null == tempDir) throw new IllegalArgumentException("Provided tempDir is null");
+        if (memoryLimit < ELEMENT_LENGTH) throw new IllegalArgumentException(
+                "Invalid memoryLimit: [" + memoryLimit + "]");
+        if (mergeFanIn < 2) throw new IllegalArgumentException("Invalid mergeFanIn: [" + mergeFanIn + "]");
+        this.tempDir = tempDir;
+        this.chunkLength = memoryLimit / ELEMENT_LENGTH;
+        this.mergeFanIn = mergeFanIn;
+        this.comp = comp;
+    }
+
+    /**
+     * Sorts values from the input cursor. Input cursor is read till the end and is not freed.
+     *
+     * @param input input values
+     * @return cursor over sorted values, must be freed after use to delete temporary files
+     * @throws IOException on temporary files IO error
+     */
+    public OffHeapLongCursor sort(OffHeapLongCursor input) throws IOException {
+        List<File> runs = new ArrayList<File>();
+        Chunk chunk = new Chunk(chunkLength, comp);
+        boolean success = false;
+        try {
+            for (;;) {
+                chunk.fill(input);
+                OffHeapLongCursor sorted = chunk.sort();
+                if (runs.isEmpty() && !input.hasNext()) {
+                    // all input fits into memory
+                    success = true;
+                    return sorted;
+                }
+                // chunk is reused for the next run, cursor is not freed
+                runs.add(writeRun(sorted));
+                if (!input.hasNext()) break;
+            }
+            chunk.free();
+            OffHeapLongCursor res = merge(runs);
+            success = true;
+            return res;
+        } finally {
+            if (!success) {
+                chunk.free();
+                for (File fi : runs) {
+                    deleteQuietly(fi);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts values from the input cursor writing them into output file.
+     * Input cursor is read till the end and is not freed.
+     *
+     * @param input input values
+     * @param output output file, will be overwritten
+     * @throws IOException on IO error
+     */
+    public void sort(OffHeapLongCursor input, File output) throws IOException {
+        OffHeapLongCursor sorted = sort(input);
+        try {
+            write(sorted, output);
+        } finally {
+            sorted.free();
+        }
+    }
+
+    /**
+     * Sorts values from the input file writing them into output file
+     *
+     * @param input input file with 8-byte big-endian longs
+     * @param output output file, will be overwritten, must differ from input file
+     * @throws IOException on IO error
+     */
+    public void sort(File input, File output) throws IOException {
+        FileCursor in = new FileCursor(input, false);
+        try {
+            sort(in, output);
+        } finally {
+            in.free();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("OffHeapLongExternalSorter");
+        sb.append("{tempDir=").append(tempDir);
+        sb.append(", chunkLength=").append(chunkLength);
+        sb.append(", mergeFanIn=").append(mergeFanIn);
+        sb.append(", comp=").append(comp);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Merges runs, does intermediate passes while there are more than {@code mergeFanIn} runs
+     *
+     * @param runs sorted run files, will be deleted
+     * @return cursor over merged values, deletes remaining runs on free
+     * @throws IOException on IO error
+     */
+    private OffHeapLongCursor merge(List<File> runs) throws IOException {
+        LinkedList<File> queue = new LinkedList<File>(runs);
+        try {
+            while (queue.size() > mergeFanIn) {
+                List<File> pass = new ArrayList<File>(queue.subList(0, mergeFanIn));
+                OffHeapLongCursor merged = open(pass);
+                // opened runs are owned by merged cursor, others are still deleted from the queue on error
+                for (int i = 0; i < mergeFanIn; i++) {
+                    queue.removeFirst();
+                }
+                try {
+                    queue.addLast(writeRun(merged));
+                } finally {
+                    merged.free();
+                }
+            }
+            OffHeapLongCursor res = open(queue);
+            queue.clear();
+            return res;
+        } finally {
+            for (File fi : queue) {
+                deleteQuietly(fi);
+            }
+        }
+    }
+
+    /**
+     * Opens loser tree over the run files
+     *
+     * @param runs sorted run files, will be deleted on tree free
+     * @return loser tree cursor
+     * @throws IOException on IO error
+     */
+    private OffHeapLongCursor open(List<File> runs) throws IOException {
+        FileCursor[] cursors = new FileCursor[runs.size()];
+        try {
+            for (int i = 0; i < cursors.length; i++) {
+                cursors[i] = new FileCursor(runs.get(i), true);
+            }
+        } catch (IOException e) {
+            for (FileCursor cu : cursors) {
+                if (null != cu) cu.free();
+            }
+            throw e;
+        }
+        return new OffHeapLongLoserTree(cursors, comp);
+    }
+
+    /**
+     * Writes cursor contents into new temporary file
+     *
+     * @param cursor values to write
+     * @return temporary file
+     * @throws IOException on IO error
+     */
+    private File writeRun(OffHeapLongCursor cursor) throws IOException {
+        File run = File.createTempFile("offheaplong_", ".run", tempDir);
+        try {
+            write(cursor, run);
+            return run;
+        } catch (IOException e) {
+            deleteQuietly(run);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes cursor contents into file
+     *
+     * @param cursor values to write
+     * @param file output file
+     * @throws IOException on IO error
+     */
+    private static void write(OffHeapLongCursor cursor, File file) throws IOException {
+        FileOutputStream os = new FileOutputStream(file);
+        try {
+            FileChannel channel = os.getChannel();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (cursor.hasNext()) {
+                buffer.putLong(cursor.next());
+                if (!buffer.hasRemaining()) {
+                    flush(channel, buffer);
+                }
+            }
+            flush(channel, buffer);
+        } finally {
+            os.close();
+        }
+    }
+
+    /**
+     * Writes buffer contents into channel and clears the buffer
+     *
+     * @param channel file channel
+     * @param buffer buffer in write mode
+     * @throws IOException on IO error
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Deletes file ignoring errors
+     *
+     * @param file file to delete
+     */
+    private static void deleteQuietly(File file) {
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+
+    /**
+     * In-memory chunk, parts are allocated on demand up to the max length
+     */
+    private static class Chunk {
+        private final long maxLength;
+        private final OffHeapLongComparator comp;
+        private final List<OffHeapLongArray> parts = new ArrayList<OffHeapLongArray>();
+        private long capacity = 0;
+        private long size = 0;
+
+        /**
+         * Constructor
+         *
+         * @param maxLength max number of values in all parts
+         * @param comp comparator that defines sort order, {@code null} for natural order
+         */
+        Chunk(long maxLength, OffHeapLongComparator comp) {
+            this.maxLength = maxLength;
+            this.comp = comp;
+        }
+
+        /**
+         * Replaces chunk contents with the next values from input, allocates parts while input
+         * has more values and max length is not reached
+         *
+         * @param input input values
+         */
+        void fill(OffHeapLongCursor input) {
+            size = 0;
+            for (int i = 0; input.hasNext(); i++) {
+                if (i == parts.size()) {
+                    if (capacity == maxLength) break;
+                    long len = 0 == capacity ? Math.min(maxLength, FIRST_PART_LENGTH) :
+                            Math.min(capacity, maxLength - capacity);
+                    parts.add(new OffHeapLongArray(len));
+                    capacity += len;
+                }
+                OffHeapLongArray part = parts.get(i);
+                long count = 0;
+                while (count < part.size() && input.hasNext()) {
+                    part.set(count++, input.next());
+                }
+                size += count;
+            }
+        }
+
+        /**
+         * Sorts all parts
+         *
+         * @return cursor over sorted values, frees all parts on free
+         */
+        OffHeapLongCursor sort() {
+            OffHeapLongCursor[] cursors = new OffHeapLongCursor[parts.size()];
+            long remaining = size;
+            for (int i = 0; i < cursors.length; i++) {
+                OffHeapLongArray part = parts.get(i);
+                long count = Math.min(part.size(), remaining);
+                if (null == comp) OffHeapLongSorter.sort(part, 0, count);
+                else OffHeapLongSorter.sort(part, 0, count, comp);
+                cursors[i] = new ArrayCursor(part, count);
+                remaining -= count;
+            }
+            if (1 == cursors.length) return cursors[0];
+            return new OffHeapLongLoserTree(cursors, comp);
+        }
+
+        /**
+         * Frees all parts
+         */
+        void free() {
+            for (OffHeapLongArray part : parts) {
+                part.free();
+            }
+        }
+    }
+
+    /**
+     * Cursor over the sorted in-memory chunk part, frees part on free
+     */
+    private static class ArrayCursor implements OffHeapLongCursor {
+        private final OffHeapLongArray data;
+        private final long size;
+        private long index = 0;
+
+        /**
+         * Constructor
+         *
+         * @param data chunk part
+         * @param size number of values in part
+         */
+        ArrayCursor(OffHeapLongArray data, long size) {
+            this.data = data;
+            this.size = size;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long next() {
+            if (index >= size) throw new IllegalStateException(
+                    "Current index: [" + index + "] is greater or equal then cursor size: [" + size + "]");
+            return data.get(index++);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void free() {
+            data.free();
+        }
+    }
+
+    /**
+     * Buffered cursor over the file with 8-byte big-endian longs
+     */
+    private static class FileCursor implements OffHeapLongCursor {
+        private final File file;
+        private final boolean deleteOnFree;
+        private final FileInputStream is;
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private boolean eof = false;
+
+        /**
+         * Constructor
+         *
+         * @param file file to read
+         * @param deleteOnFree whether to delete file on free
+         * @throws IOException on IO error
+         */
+        FileCursor(File file, boolean deleteOnFree) throws IOException {
+            this.file = file;
+            this.deleteOnFree = deleteOnFree;
+            this.is = new FileInputStream(file);
+            this.channel = is.getChannel();
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.flip();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            if (buffer.remaining() >= ELEMENT_LENGTH) return true;
+            if (eof) return false;
+            fill();
+            return buffer.remaining() >= ELEMENT_LENGTH;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long next() {
+            if (!hasNext()) throw new IllegalStateException("File cursor is exhausted, file: [" + file + "]");
+            return buffer.getLong();
+        }
+
+        /**
+         * Closes file and deletes it if required, may be called multiple times
+         */
+        @Override
+        public void free() {
+            try {
+                is.close();
+            } catch (IOException e) {
+                // ignore
+            }
+            if (deleteOnFree) deleteQuietly(file);
+        }
+
+        /**
+         * Reads next portion of the file into buffer
+         */
+        private void fill() {
+            try {
+                buffer.compact();
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        eof = true;
+                        break;
+                    }
+                }
+                buffer.flip();
+            } catch (IOException e) {
+                throw new RuntimeException("Error reading file: [" + file + "]", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import com.alexkasko.unsafe.offheap.OffHeapAddressable;
+import com.alexkasko.unsafe.offheap.OffHeapDisposable;
+import com.alexkasko.unsafe.offheap.OffHeapMemory;
+
+/**
+ * <p>Immutable search index over the sorted off-heap collection of longs. Values are stored
+ * using Eytzinger (BFS) layout: element {@code k} (starting from {@code 1}) has children
+ * on positions {@code 2k} and {@code 2k + 1}. Top levels of the implicit search tree
+ * are stored contiguously and stay in CPU cache, and the nodes visited on the next levels of the search
+ * are located close to each other, so search over multi-GB collections causes much less cache misses
+ * than binary search over the sorted collection.
+ *
+ * <p>All search methods return indices in the source sorted collection, so the index may be used as
+ * a drop-in replacement for {@link OffHeapLongBinarySearch}. Index doesn't hold the reference
+ * to the source collection, it may be freed after the index is built.
+ *
+ * <p>Index requires {@code (size + 1) * 8} bytes of off-heap memory. Allocated memory may be freed
+ * manually using {@link #free()} (thread-safe and may be called multiple times) or it will be freed
+ * after {@link OffHeapLongEytzingerIndex} will be garbage collected. Searches may be done from
+ * multiple threads simultaneously.
+ */
+public class OffHeapLongEytzingerIndex implements OffHeapDisposable {
+    private static final int ELEMENT_LENGTH = 8;
+
+    private final OffHeapMemory ohm;
+    private final long size;
+
+    /**
+     * Constructor, builds index from the ascending sorted off-heap collection
+     *
+     * @param sorted ascending sorted collection, contents won't be changed
+     */
+    public OffHeapLongEytzingerIndex(OffHeapAddressable sorted) {
+        this.size = sorted.size();
+        this.ohm = OffHeapMemory.allocateMemory((size + 1) * ELEMENT_LENGTH);
+        long copied = build(sorted, 0, 1);
+        assert copied == size : copied;
+    }
+
+    /**
+     * Returns number of elements in index
+     *
+     * @return number of elements in index
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Finds index of the first element that is greater or equal to {@code value}
+     *
+     * @param value value to search for
+     * @return index of the first element that is greater or equal to {@code value} in the source collection
+     *         or index size if all elements are less than value
+     */
+    public long lowerBound(long value) {
+        long node = lowerBoundNode(value);
+        return 0 == node ? size : rank(node);
+    }
+
+    /**
+     * Finds index of the first element that is greater than {@code value}
+     *
+     * @param value value to search for
+     * @return index of the first element that is greater than {@code value} in the source collection
+     *         or index size if all elements are less or equal to value
+     */
+    public long upperBound(long value) {
+        long node = upperBoundNode(value);
+        return 0 == node ? size : rank(node);
+    }
+
+    /**
+     * Performs a search for {@code value}. If there are multiple occurrences of the same element,
+     * index of the first one is returned.
+     *
+     * @param value the element to find
+     * @return the non-negative index of the element, or a negative index which
+     *         is {@code -index - 1} where the element would be inserted.
+     */
+    public long search(long value) {
+        long node = lowerBoundNode(value);
+        if (0 == node) return ~size;
+        long rank = rank(node);
+        return value == get(node) ? rank : ~rank;
+    }
+
+    /**
+     * Performs a search for {@code value}. Returns range of indices having given value or empty range.
+     *
+     * @param value the element to find
+     * @param out range instance, will be set with start/end indices having given value or with empty value
+     */
+    public void searchRange(long value, OffHeapLongBinarySearch.IndexRange out) {
+        long node = lowerBoundNode(value);
+        if (0 == node) {
+            out.setEmpty(~size);
+            return;
+        }
+        long from = rank(node);
+        if (value != get(node)) {
+            out.setEmpty(~from);
+            return;
+        }
+        out.set(from, upperBound(value) - 1);
+    }
+
+    /**
+     * Performs a search for elements between {@code fromValue} and {@code toValue} both inclusive.
+     * Returns range of indices having values in specified bounds or empty range.
+     *
+     * @param fromValue lower bound, inclusive
+     * @param toValue upper bound, inclusive
+     * @param out range instance, will be set with start/end indices having values in specified bounds
+     *            or with empty value
+     */
+    public void searchRange(long fromValue, long toValue, OffHeapLongBinarySearch.IndexRange out) {
+        long from = lowerBound(fromValue);
+        long to = fromValue <= toValue ? upperBound(toValue) : from;
+        if (from < to) out.set(from, to - 1);
+        else out.setEmpty(~from);
+    }
+
+    /**
+     * Frees allocated memory, may be called multiple times from any thread
+     */
+    @Override
+    public void free() {
+        ohm.free();
+    }
+
+    /**
+     * Branch-free descent, returns node of the first element greater or equal to value
+     *
+     * @param value value to search for
+     * @return node number or {@code 0} if not found
+     */
+    private long lowerBoundNode(long value) {
+        long k = 1;
+        while (k <= size) {
+            k = 2 * k + (get(k) < value ? 1 : 0);
+        }
+        // remove trailing "right turns" and the last "left turn"
+        return k >>> (Long.numberOfTrailingZeros(~k) + 1);
+    }
+
+    /**
+     * Branch-free descent, returns node of the first element greater than value
+     *
+     * @param value value to search for
+     * @return node number or {@code 0} if not found
+     */
+    private long upperBoundNode(long value) {
+        long k = 1;
+        while (k <= size) {
+            k = 2 * k + (get(k) <= value ? 1 : 0);
+        }
+        return k >>> (Long.numberOfTrailingZeros(~k) + 1);
+    }
+
+    /**
+     * Computes index in the sorted collection (in-order rank) for the tree node
+     *
+     * @param node node number, starting from {@code 1}
+     * @return index in the sorted collection
+     */
+    private long rank(long node) {
+        // height of the tree and depth of the node, root has depth 0
+        int height = 63 - Long.numberOfLeadingZeros(size);
+        int depth = 63 - Long.numberOfLeadingZeros(node);
+        // in-order position in the perfect tree of the same height
+        long pos = ((2 * (node - (1L << depth)) + 1) << (height - depth)) - 1;
+        // subtract missing leaves of the last level those go before the node
+        long leaves = size - (1L << height) + 1;
+        long missingBefore = Math.min(1L << height, (pos + 1) >>> 1) - leaves;
+        return missingBefore > 0 ? pos - missingBefore : pos;
+    }
+
+    /**
+     * Copies sorted elements into tree nodes doing in-order traversal
+     *
+     * @param sorted source collection
+     * @param index next index in source collection
+     * @param node current node
+     * @return next index in source collection after the subtree is filled
+     */
+    private long build(OffHeapAddressable sorted, long index, long node) {
+        if (node > size) return index;
+        long ind = build(sorted, index, 2 * node);
+        ohm.putLong(node * ELEMENT_LENGTH, sorted.get(ind));
+        return build(sorted, ind + 1, 2 * node + 1);
+    }
+
+    /**
+     * Reads tree node value
+     *
+     * @param node node number
+     * @return node value
+     */
+    private long get(long node) {
+        return ohm.getLong(node * ELEMENT_LENGTH);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("OffHeapLongEytzingerIndex");
+        sb.append("{size=").append(size);
+        sb.append(", unsafe=").append(ohm.isUnsafe());
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import com.alexkasko.unsafe.offheap.OffHeapAddressable;
+import com.alexkasko.unsafe.offheap.OffHeapDisposable;
+import com.alexkasko.unsafe.offheap.OffHeapMemory;
+
+/**
+ * <p>Priority queue of longs implemented as implicit 4-ary heap using {@link com.alexkasko.unsafe.offheap.OffHeapMemory}.
+ * The least element (in natural order or in order defined by {@link OffHeapLongComparator}) is on the top of the heap,
+ * reversed comparator may be used to get max-heap. 4-ary heap has half the depth of the binary one
+ * and all children of the node are located in the same cache line in most cases.
+ *
+ * <p>Memory area will be allocated another time and copied on capacity exceed.
+ * Class is not thread-safe. Allocated memory may be freed manually using {@link #free()} (thread-safe
+ * and may be called multiple times) or it will be freed after {@link OffHeapLongHeap}
+ * will be garbage collected.
+ */
+public class OffHeapLongHeap implements OffHeapDisposable {
+    private static final int MIN_CAPACITY_INCREMENT = 12;
+    private static final int ELEMENT_LENGTH = 8;
+    private static final int ARITY = 4;
+
+    private final OffHeapLongComparator comp;
+    private OffHeapMemory ohm;
+    private long size;
+    private long capacity;
+
+    /**
+     * Constructor, creates min-heap with natural order and default capacity
+     */
+    public OffHeapLongHeap() {
+        this(MIN_CAPACITY_INCREMENT, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param capacity initial capacity
+     * @param comp comparator that defines order, least element will be on the top,
+     *             {@code null} for natural order
+     */
+    public OffHeapLongHeap(long capacity, OffHeapLongComparator comp) {
+        this.comp = comp;
+        this.capacity = Math.max(capacity, 1);
+        this.ohm = OffHeapMemory.allocateMemory(this.capacity * ELEMENT_LENGTH);
+    }
+
+    /**
+     * Constructor, copies all the elements of the specified collection
+     * into the new heap and arranges them in linear time. New memory area is allocated
+     * for the copy, so peak memory usage is doubled, use {@link #heapify(OffHeapLongArray, OffHeapLongComparator)}
+     * to arrange existing array in place.
+     *
+     * @param data collection to copy elements from, won't be changed
+     * @param comp comparator that defines order, least element will be on the top,
+     *             {@code null} for natural order
+     */
+    public OffHeapLongHeap(OffHeapAddressable data, OffHeapLongComparator comp) {
+        this(data.size(), comp);
+        long len = data.size();
+        for (long i = 0; i < len; i++) {
+            ohm.putLong(i * ELEMENT_LENGTH, data.get(i));
+        }
+        this.size = len;
+        build();
+    }
+
+    /**
+     * Private constructor, takes ownership of the memory area with elements
+     *
+     * @param ohm memory area
+     * @param size number of elements in memory area
+     * @param comp comparator that defines order, {@code null} for natural order
+     */
+    private OffHeapLongHeap(OffHeapMemory ohm, long size, OffHeapLongComparator comp) {
+        this.comp = comp;
+        this.ohm = ohm;
+        this.size = size;
+        this.capacity = size;
+        build();
+    }
+
+    /**
+     * Arranges elements of the specified array into heap in place in linear time without
+     * allocating additional memory. Returned heap takes ownership of the array memory:
+     * array must not be used after this call, its memory will be freed on heap free
+     * or when the heap grows on {@link #push(long)}.
+     *
+     * @param data array to arrange, must not be used after this call
+     * @param comp comparator that defines order, least element will be on the top,
+     *             {@code null} for natural order
+     * @return heap over the array memory
+     */
+    public static OffHeapLongHeap heapify(OffHeapLongArray data, OffHeapLongComparator comp) {
+        return new OffHeapLongHeap(data.memory(), data.size(), comp);
+    }
+
+    /**
+     * Adds element to the heap. Memory area will be allocated another time and copied
+     * on capacity exceed.
+     *
+     * @param value value to add
+     */
+    public void push(long value) {
+        long s = size;
+        if (s == capacity) {
+            long len = s + (s < (MIN_CAPACITY_INCREMENT / 2) ? MIN_CAPACITY_INCREMENT : s >> 1);
+            OffHeapMemory newOhm = OffHeapMemory.allocateMemory(len * ELEMENT_LENGTH);
+            ohm.copy(0, newOhm, 0, s * ELEMENT_LENGTH);
+            ohm.free();
+            ohm = newOhm;
+            capacity = len;
+        }
+        size = s + 1;
+        siftUp(s, value);
+    }
+
+    /**
+     * Returns the top (least) element without removing it
+     *
+     * @return the top element
+     * @throws IllegalStateException if heap is empty
+     */
+    public long peek() {
+        if (0 == size) throw new IllegalStateException("Heap is empty");
+        return get(0);
+    }
+
+    /**
+     * Removes and returns the top (least) element
+     *
+     * @return the top element
+     * @throws IllegalStateException if heap is empty
+     */
+    public long pop() {
+        if (0 == size) throw new IllegalStateException("Heap is empty");
+        long res = get(0);
+        long s = size - 1;
+        size = s;
+        if (s > 0) siftDown(0, get(s));
+        return res;
+    }
+
+    /**
+     * Returns number of elements in heap
+     *
+     * @return number of elements in heap
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Whether heap contains no elements
+     *
+     * @return whether heap contains no elements
+     */
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    /**
+     * Returns number of elements heap may contain without additional memory allocation
+     *
+     * @return number of elements heap may contain without additional memory allocation
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Resets the heap setting size to 0.
+     * Actual memory contents stays untouched.
+     */
+    public void reset() {
+        this.size = 0;
+    }
+
+    /**
+     * Whether unsafe implementation of {@link OffHeapMemory} is used
+     *
+     * @return whether unsafe implementation of {@link OffHeapMemory} is used
+     */
+    public boolean isUnsafe() {
+        return ohm.isUnsafe();
+    }
+
+    /**
+     * Frees allocated memory, may be called multiple times from any thread
+     */
+    @Override
+    public void free() {
+        ohm.free();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("OffHeapLongHeap");
+        sb.append("{size=").append(size);
+        sb.append(", capacity=").append(capacity);
+        sb.append(", unsafe=").append(isUnsafe());
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Arranges all the elements into heap in linear time
+     */
+    private void build() {
+        if (size > 1) {
+            for (long i = (size - 2) / ARITY; i >= 0; i--) {
+                siftDown(i, get(i));
+            }
+        }
+    }
+
+    /**
+     * Moves value up from the specified position until heap property is restored
+     *
+     * @param index start position
+     * @param value value to place
+     */
+    private void siftUp(long index, long value) {
+        long i = index;
+        while (i > 0) {
+            long parent = (i - 1) / ARITY;
+            long pval = get(parent);
+            if (!less(value, pval)) break;
+            set(i, pval);
+            i = parent;
+        }
+        set(i, value);
+    }
+
+    /**
+     * Moves value down from the specified position until heap property is restored
+     *
+     * @param index start position
+     * @param value value to place
+     */
+    private void siftDown(long index, long value) {
+        long s = size;
+        long i = index;
+        for (;;) {
+            long first = i * ARITY + 1;
+            if (first >= s) break;
+            long end = Math.min(first + ARITY, s);
+            long min = first;
+            long mval = get(first);
+            for (long c = first + 1; c < end; c++) {
+                long cval = get(c);
+                if (less(cval, mval)) {
+                    min = c;
+                    mval = cval;
+                }
+            }
+            if (!less(mval, value)) break;
+            set(i, mval);
+            i = min;
+        }
+        set(i, value);
+    }
+
+    /**
+     * Compares values
+     *
+     * @param v1 first value
+     * @param v2 second value
+     * @return whether first value should be closer to the top
+     */
+    private boolean less(long v1, long v2) {
+        return null == comp ? v1 < v2 : comp.compare(v1, v2) < 0;
+    }
+
+    /**
+     * Reads heap element
+     *
+     * @param index element index
+     * @return element value
+     */
+    private long get(long index) {
+        return ohm.getLong(index * ELEMENT_LENGTH);
+    }
+
+    /**
+     * Writes heap element
+     *
+     * @param index element index
+     * @param value element value
+     */
+    private void set(long index, long value) {
+        ohm.putLong(index * ELEMENT_LENGTH, value);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import static com.alexkasko.unsafe.offheap.OffHeapUtils.freeAll;
+
+/**
+ * Loser tree (tournament tree) for K-way merging of sorted cursors. Current head values
+ * of all cursors are cached in the tree, so each returned element requires one read
+ * from the source cursor and {@code log2(K)} comparisons of primitive values.
+ * Elements with equal values are returned in order of cursors.
+ */
+class OffHeapLongLoserTree implements OffHeapLongCursor {
+    private final OffHeapLongCursor[] sources;
+    private final OffHeapLongComparator comp;
+    // cached head values
+    private final long[] keys;
+    private final boolean[] exhausted;
+    // tree[0] is a winner, other nodes are losers
+    private final int[] tree;
+
+    /**
+     * Constructor
+     *
+     * @param sources ascending sorted cursors
+     * @param comp comparator that defines sort order, {@code null} for natural order
+     */
+    OffHeapLongLoserTree(OffHeapLongCursor[] sources, OffHeapLongComparator comp) {
+        this.sources = sources;
+        this.comp = comp;
+        int k = sources.length;
+        this.keys = new long[k];
+        this.exhausted = new boolean[k];
+        this.tree = new int[Math.max(k, 1)];
+        for (int i = 0; i < k; i++) {
+            read(i);
+        }
+        if (k > 0) tree[0] = build(1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        return sources.length > 0 && !exhausted[tree[0]];
+    }
+
+    /**
+     * Returns the next element without advancing the cursor
+     *
+     * @return the next element
+     */
+    long peek() {
+        if (!hasNext()) throw new IllegalStateException("Loser tree is exhausted");
+        return keys[tree[0]];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long next() {
+        if (!hasNext()) throw new IllegalStateException("Loser tree is exhausted");
+        int winner = tree[0];
+        long res = keys[winner];
+        read(winner);
+        // replay matches on the path from the winner leaf to the root
+        int k = sources.length;
+        for (int node = (winner + k) >>> 1; node > 0; node >>>= 1) {
+            int loser = tree[node];
+            if (less(loser, winner)) {
+                tree[node] = winner;
+                winner = loser;
+            }
+        }
+        tree[0] = winner;
+        return res;
+    }
+
+    /**
+     * Frees all source cursors
+     */
+    @Override
+    public void free() {
+        freeAll(sources);
+    }
+
+    /**
+     * Builds subtree, leaves are located at positions {@code [k, 2k)}
+     *
+     * @param node subtree root
+     * @return subtree winner
+     */
+    private int build(int node) {
+        int k = sources.length;
+        if (node >= k) return node - k;
+        int left = build(2 * node);
+        int right = build(2 * node + 1);
+        if (less(right, left)) {
+            tree[node] = left;
+            return right;
+        } else {
+            tree[node] = right;
+            return left;
+        }
+    }
+
+    /**
+     * Reads next head value from the source
+     *
+     * @param source source index
+     */
+    private void read(int source) {
+        OffHeapLongCursor cu = sources[source];
+        if (cu.hasNext()) keys[source] = cu.next();
+        else exhausted[source] = true;
+    }
+
+    /**
+     * Compares cached heads of two sources, exhausted sources are greater than any value,
+     * ties are broken by source index
+     *
+     * @param s1 first source index
+     * @param s2 second source index
+     * @return whether first source head should go before the second one
+     */
+    private boolean less(int s1, int s2) {
+        if (exhausted[s1]) return false;
+        if (exhausted[s2]) return true;
+        long k1 = keys[s1];
+        long k2 = keys[s2];
+        int res = null == comp ? (k1 < k2 ? -1 : (k1 == k2 ? 0 : 1)) : comp.compare(k1, k2);
+        return res < 0 || (0 == res && s1 < s2);
+    }
+}
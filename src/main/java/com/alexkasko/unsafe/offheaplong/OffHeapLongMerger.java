@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import java.util.Collection;
+
+/**
+ * K-way merge of ascending sorted off-heap long collections (runs) using
+ * loser tree. Merge result may be materialized into the new {@link OffHeapLongArrayList}
+ * or consumed lazily using {@link OffHeapLongCursor}. Optionally duplicates may be eliminated
+ * from the merge result.
+ */
+public class OffHeapLongMerger {
+
+    /**
+     * Merges sorted runs into the new list
+     *
+     * @param runs ascending sorted collections, won't be changed
+     * @param distinct whether to eliminate duplicates
+     * @return new list with merged values, should be freed by caller
+     */
+    public static OffHeapLongArrayList merge(Collection<? extends OffHeapLongAddressable> runs, boolean distinct) {
+        long size = 0;
+        for (OffHeapLongAddressable ru : runs) {
+            size += ru.size();
+        }
+        OffHeapLongArrayList res = new OffHeapLongArrayList(Math.max(size, 1));
+        OffHeapLongCursor cursor = cursor(runs, distinct);
+        while (cursor.hasNext()) {
+            res.add(cursor.next());
+        }
+        return res;
+    }
+
+    /**
+     * Returns cursor over merged runs, runs must not be changed or freed while cursor is used
+     *
+     * @param runs ascending sorted collections, won't be changed
+     * @param distinct whether to eliminate duplicates
+     * @return cursor over merged values, runs won't be freed on cursor freeing
+     */
+    public static OffHeapLongCursor cursor(Collection<? extends OffHeapLongAddressable> runs, boolean distinct) {
+        OffHeapLongCursor[] sources = new OffHeapLongCursor[runs.size()];
+        int i = 0;
+        for (OffHeapLongAddressable ru : runs) {
+            sources[i++] = new RangeCursor(ru);
+        }
+        OffHeapLongLoserTree tree = new OffHeapLongLoserTree(sources, null);
+        return distinct ? new DistinctCursor(tree) : tree;
+    }
+
+    /**
+     * Cursor over the collection, doesn't own collection
+     */
+    private static class RangeCursor implements OffHeapLongCursor {
+        private final OffHeapLongAddressable data;
+        private final long size;
+        private long index = 0;
+
+        /**
+         * Constructor
+         *
+         * @param data sorted run
+         */
+        private RangeCursor(OffHeapLongAddressable data) {
+            this.data = data;
+            this.size = data.size();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long next() {
+            if (index >= size) throw new IllegalStateException(
+                    "Current index: [" + index + "] is greater or equal then collection size: [" + size + "]");
+            return data.get(index++);
+        }
+
+        /**
+         * Does nothing, runs are owned by caller
+         */
+        @Override
+        public void free() {
+            // no-op
+        }
+    }
+
+    /**
+     * Cursor skipping duplicates
+     */
+    private static class DistinctCursor implements OffHeapLongCursor {
+        private final OffHeapLongLoserTree tree;
+
+        /**
+         * Constructor
+         *
+         * @param tree loser tree
+         */
+        private DistinctCursor(OffHeapLongLoserTree tree) {
+            this.tree = tree;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return tree.hasNext();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long next() {
+            long res = tree.next();
+            while (tree.hasNext() && res == tree.peek()) {
+                tree.next();
+            }
+            return res;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void free() {
+            tree.free();
+        }
+    }
+}
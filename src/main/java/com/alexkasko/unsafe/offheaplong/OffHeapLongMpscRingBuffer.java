@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+/**
+ * Multi-producer single-consumer ring buffer. Producers claim slots by CAS on the claim
+ * counter, write elements and publish them in claim order: producer waits until all the
+ * preceding claims are published before publishing its own.
+ *
+ * @see OffHeapLongRingBuffer#multiProducer(long)
+ */
+class OffHeapLongMpscRingBuffer extends OffHeapLongRingBuffer {
+    private static final int SPINS_BEFORE_YIELD = 100;
+
+    // next position to claim
+    private final PaddedAtomicLong claim = new PaddedAtomicLong(0);
+    // position up to which elements are available to consumer
+    private final PaddedAtomicLong published = new PaddedAtomicLong(0);
+
+    /**
+     * Constructor
+     *
+     * @param capacity min capacity, will be rounded up to the power of two
+     */
+    OffHeapLongMpscRingBuffer(long capacity) {
+        super(capacity);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean offer(long value) {
+        long c;
+        do {
+            c = claim.get();
+            if (c - head.get() >= capacity) return false;
+        } while (!claim.compareAndSet(c, c + 1));
+        write(c, value);
+        publish(c, 1);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int offer(long[] src, int offset, int length) {
+        long c;
+        int count;
+        do {
+            c = claim.get();
+            count = (int) Math.min(length, capacity - (c - head.get()));
+            if (count <= 0) return 0;
+        } while (!claim.compareAndSet(c, c + count));
+        for (int i = 0; i < count; i++) {
+            write(c + i, src[offset + i]);
+        }
+        publish(c, count);
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    long published() {
+        return published.get();
+    }
+
+    /**
+     * Waits for preceding claims to be published and publishes claimed slots
+     *
+     * @param start first claimed position
+     * @param count number of claimed slots
+     */
+    private void publish(long start, int count) {
+        int spins = 0;
+        while (published.get() != start) {
+            if (++spins > SPINS_BEFORE_YIELD) Thread.yield();
+        }
+        published.lazySet(start + count);
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Parallel in-place Dual-Pivot Quicksort for {@link OffHeapLongAddressable} collections.
+ * Ranges are partitioned using {@link OffHeapLongSorter#dualPivotPartition(OffHeapLongAddressable, long, long, long[])},
+ * resulting parts are put into shared work queue and processed by the specified number
+ * of worker threads. Current thread is one of the workers, so sort completes even if the executor
+ * rejects or discards submitted workers. Ranges shorter than the computed grain size are sorted sequentially.
+ *
+ * @see OffHeapLongSorter#sortParallel(java.util.concurrent.Executor, int, OffHeapLongAddressable)
+ */
+class OffHeapLongParallelSorter {
+    /**
+     * Ranges shorter than this will be always sorted sequentially
+     */
+    private static final long MIN_GRAIN = 1 << 14;
+    /**
+     * Number of ranges per worker thread to split the collection into, for load balancing
+     */
+    private static final int RANGES_PER_THREAD = 8;
+
+    /**
+     * Sorts the specified range of the collection in parallel, does no range checking
+     *
+     * @param executor executor to run {@code threads - 1} worker threads
+     * @param threads number of worker threads to use including current thread
+     * @param a the off-heap collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param comp comparator that defines sort order, {@code null} for natural order
+     * @throws RuntimeException on worker thread error or if executor rejects the worker,
+     *         all the started workers are finished when it is thrown
+     */
+    static void sort(Executor executor, int threads, OffHeapLongAddressable a, long fromIndex, long toIndex,
+                     OffHeapLongComparator comp) {
+        if (null == executor) throw new NullPointerException("executor");
+        if (threads <= 0) throw new IllegalArgumentException("threads: [" + threads + "] must be positive");
+        long grain = Math.max(MIN_GRAIN, (toIndex - fromIndex) / ((long) threads * RANGES_PER_THREAD));
+        if (1 == threads || toIndex - fromIndex <= grain) {
+            if (null == comp) OffHeapLongSorter.sort(a, fromIndex, toIndex);
+            else OffHeapLongSorter.sort(a, fromIndex, toIndex, comp);
+            return;
+        }
+        OffHeapLongSorter.LongComp lc = null != comp ? new OffHeapLongSorter.LongComp(comp) : null;
+        Job job = new Job(a, lc, grain, threads);
+        job.submit(fromIndex, toIndex - 1);
+        try {
+            for (int i = 1; i < threads; i++) {
+                executor.execute(new Worker(job));
+            }
+        } catch (RuntimeException e) {
+            // submitted workers will drain the queue without processing
+            job.error.compareAndSet(null, e);
+        }
+        // current thread returns from worker only after all the ranges are processed
+        new Worker(job).run();
+        job.checkError();
+    }
+
+    /**
+     * Shared state of the parallel sort
+     */
+    private static class Job {
+        private final OffHeapLongAddressable a;
+        private final OffHeapLongSorter.LongComp comp;
+        private final long grain;
+        private final int threads;
+        private final BlockingDeque<long[]> queue = new LinkedBlockingDeque<long[]>();
+        private final AtomicLong pending = new AtomicLong(0);
+        private final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+
+        /**
+         * Constructor
+         *
+         * @param a collection to sort
+         * @param comp comparator, may be null
+         * @param grain ranges shorter than this will be sorted sequentially
+         * @param threads number of worker threads including current thread
+         */
+        private Job(OffHeapLongAddressable a, OffHeapLongSorter.LongComp comp, long grain, int threads) {
+            this.a = a;
+            this.comp = comp;
+            this.grain = grain;
+            this.threads = threads;
+        }
+
+        /**
+         * Adds range to the work queue
+         *
+         * @param left the index of the first element, inclusive
+         * @param right the index of the last element, inclusive
+         */
+        private void submit(long left, long right) {
+            if (right <= left) return;
+            pending.incrementAndGet();
+            queue.addFirst(new long[]{left, right});
+        }
+
+        /**
+         * Sorts sequentially or partitions the range and submits its parts back to the queue
+         *
+         * @param range range to process
+         * @param bounds buffer for partition bounds
+         */
+        private void process(long[] range, long[] bounds) {
+            long left = range[0];
+            long right = range[1];
+            if (right - left + 1 <= grain) {
+                if (null == comp) OffHeapLongSorter.sort(a, left, right + 1);
+                else OffHeapLongSorter.sort(a, left, right + 1, comp.comp);
+                return;
+            }
+            if (null == comp) OffHeapLongSorter.dualPivotPartition(a, left, right, bounds);
+            else OffHeapLongSorter.dualPivotPartitionWithComparator(a, left, right, comp, bounds);
+            submit(left, bounds[0]);
+            submit(bounds[1], right);
+            submit(bounds[2], bounds[3]);
+        }
+
+        /**
+         * Marks range as processed, stops workers after the last range
+         */
+        private void done() {
+            if (0 == pending.decrementAndGet()) {
+                for (int i = 0; i < threads; i++) {
+                    queue.addLast(new long[0]);
+                }
+            }
+        }
+
+        /**
+         * Rethrows the first error of the workers
+         *
+         * @throws RuntimeException on worker thread error
+         */
+        private void checkError() {
+            Throwable t = error.get();
+            if (null != t) throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Worker, takes ranges from the queue until stop marker is received. Stop markers are added
+     * only after all the ranges are processed, interrupted worker keeps draining the queue
+     * and restores interrupted status on exit.
+     */
+    private static class Worker implements Runnable {
+        private final Job job;
+
+        /**
+         * Constructor
+         *
+         * @param job shared sort state
+         */
+        private Worker(Job job) {
+            this.job = job;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+            long[] bounds = new long[4];
+            boolean interrupted = false;
+            for (;;) {
+                long[] range;
+                try {
+                    range = job.queue.takeFirst();
+                } catch (InterruptedException e) {
+                    job.error.compareAndSet(null, e);
+                    interrupted = true;
+                    continue;
+                }
+                if (0 == range.length) break;
+                try {
+                    if (null == job.error.get()) job.process(range, bounds);
+                } catch (Throwable t) {
+                    job.error.compareAndSet(null, t);
+                } finally {
+                    job.done();
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+}
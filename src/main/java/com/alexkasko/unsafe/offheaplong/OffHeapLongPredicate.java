@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+/**
+ * Primitive long predicate interface to use for filtering and counting
+ *
+ * @see OffHeapLongAggregates#countIf(OffHeapLongAddressable, OffHeapLongPredicate)
+ */
+public interface OffHeapLongPredicate {
+
+    /**
+     * Evaluates this predicate on the given value
+     *
+     * @param value value to check
+     * @return {@code true} if value matches the predicate
+     */
+    boolean apply(long value);
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import static com.alexkasko.unsafe.offheap.OffHeapUtils.free;
+
+/**
+ * LSD radix sort implementation for {@link OffHeapLongAddressable} collections.
+ * Uses 11-bit digits (6 passes for 64-bit values) and temporary buffer with the same size
+ * as the range to be sorted. Histograms for all the digits are collected in one pass over
+ * the data, passes for digits having the same value for all elements are skipped.
+ *
+ * @see OffHeapLongSorter#radixSort(OffHeapLongAddressable)
+ */
+class OffHeapLongRadixSorter {
+    /**
+     * Ranges shorter than this will be sorted using Dual-Pivot Quicksort
+     */
+    static final int RADIX_SORT_THRESHOLD = 1 << 12;
+    private static final int PASSES = LongRadixDigits.passes(64);
+    private static final OffHeapLongComparator UNSIGNED_COMPARATOR = new UnsignedComparator();
+
+    /**
+     * Sorts the specified range of the collection, does no range checking
+     *
+     * @param a collection to sort
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param buffer temporary buffer with size not less than {@code toIndex - fromIndex},
+     *               may be null, buffer will be allocated and freed internally in that case
+     * @param unsigned whether to treat values as unsigned
+     */
+    static void sort(OffHeapLongAddressable a, long fromIndex, long toIndex, OffHeapLongAddressable buffer,
+                     boolean unsigned) {
+        long len = toIndex - fromIndex;
+        if (len < RADIX_SORT_THRESHOLD) {
+            if (unsigned) OffHeapLongSorter.sort(a, fromIndex, toIndex, UNSIGNED_COMPARATOR);
+            else OffHeapLongSorter.sort(a, fromIndex, toIndex);
+            return;
+        }
+        if (null != buffer && buffer.size() < len) throw new IllegalArgumentException(
+                "Buffer size: [" + buffer.size() + "] is less than range length: [" + len + "]");
+        // sign bit is flipped for signed values so negative values go first
+        long flip = unsigned ? 0 : Long.MIN_VALUE;
+        long[][] offsets = histograms(a, fromIndex, toIndex, flip);
+        boolean[] skip = LongRadixDigits.toOffsets(offsets, len);
+        if (null == skip) return;
+        OffHeapLongArray allocated = null;
+        try {
+            OffHeapLongAddressable buf = buffer;
+            if (null == buf) {
+                allocated = new OffHeapLongArray(len);
+                buf = allocated;
+            }
+            OffHeapLongAddressable src = a;
+            long srcBase = fromIndex;
+            OffHeapLongAddressable dest = buf;
+            long destBase = 0;
+            for (int p = 0; p < PASSES; p++) {
+                if (skip[p]) continue;
+                long[] off = offsets[p];
+                for (long i = srcBase; i < srcBase + len; i++) {
+                    long val = src.get(i);
+                    dest.set(destBase + off[LongRadixDigits.digit(val ^ flip, p)]++, val);
+                }
+                OffHeapLongAddressable tmp = src;
+                src = dest;
+                dest = tmp;
+                long tmpBase = srcBase;
+                srcBase = destBase;
+                destBase = tmpBase;
+            }
+            // odd number of passes, sorted data is in the buffer
+            if (src != a) {
+                for (long i = 0; i < len; i++) {
+                    a.set(fromIndex + i, src.get(i));
+                }
+            }
+        } finally {
+            free(allocated);
+        }
+    }
+
+    /**
+     * Collects histograms for all the digits in one pass over the data
+     *
+     * @param a collection
+     * @param fromIndex start index, inclusive
+     * @param toIndex end index, exclusive
+     * @param flip mask to xor values with before taking digits
+     * @return counts for each digit value for each pass
+     */
+    private static long[][] histograms(OffHeapLongAddressable a, long fromIndex, long toIndex, long flip) {
+        long[][] counts = LongRadixDigits.histograms(PASSES);
+        for (long i = fromIndex; i < toIndex; i++) {
+            LongRadixDigits.count(counts, a.get(i) ^ flip);
+        }
+        return counts;
+    }
+
+    /**
+     * Comparator for unsigned long values, used on short ranges
+     */
+    private static class UnsignedComparator implements OffHeapLongComparator {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int compare(long l1, long l2) {
+            long u1 = l1 ^ Long.MIN_VALUE;
+            long u2 = l2 ^ Long.MIN_VALUE;
+            return u1 < u2 ? -1 : (u1 == u2 ? 0 : 1);
+        }
+    }
+}
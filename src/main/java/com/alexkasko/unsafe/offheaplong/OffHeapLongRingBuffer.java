@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import com.alexkasko.unsafe.offheap.OffHeapDisposable;
+import com.alexkasko.unsafe.offheap.OffHeapMemory;
+
+/**
+ * <p>Bounded lock-free queue of long values implemented as ring buffer over {@link OffHeapMemory}.
+ * Capacity is rounded up to the power of two. Consumer and producer positions are kept in
+ * separate cache-line padded counters, elements are published to the consumer using ordered
+ * (lazy) writes of producer position, so no locks and no elements boxing are involved.
+ *
+ * <p>Only one consumer thread is supported. Single-producer implementation is created using
+ * {@link #singleProducer(long)}, multi-producer one (producers claim slots using CAS and publish
+ * them in claim order) - using {@link #multiProducer(long)}.
+ *
+ * <p>Consumer should check {@link #isEmpty()} before calling {@link #poll()} or use batch
+ * {@link #drainTo(long[], int, int)} method. Allocated memory may be freed manually using {@link #free()}
+ * after all producers and consumer have finished or it will be freed after ring buffer instance
+ * will be garbage collected.
+ */
+public abstract class OffHeapLongRingBuffer implements OffHeapDisposable {
+    private static final int ELEMENT_LENGTH = 8;
+
+    final OffHeapMemory ohm;
+    final long capacity;
+    final long mask;
+    // consumer position
+    final PaddedAtomicLong head = new PaddedAtomicLong(0);
+    // consumer-local cached producer position
+    private long publishedCache = 0;
+
+    /**
+     * Constructor for subclasses
+     *
+     * @param capacity min capacity, will be rounded up to the power of two
+     */
+    OffHeapLongRingBuffer(long capacity) {
+        if (capacity <= 0 || capacity > (1L << 59)) throw new IllegalArgumentException(
+                "Invalid capacity: [" + capacity + "]");
+        this.capacity = 1 == capacity ? 1 : Long.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.ohm = OffHeapMemory.allocateMemory(this.capacity * ELEMENT_LENGTH);
+    }
+
+    /**
+     * Creates ring buffer for one producer thread and one consumer thread
+     *
+     * @param capacity min capacity, will be rounded up to the power of two
+     * @return ring buffer instance
+     */
+    public static OffHeapLongRingBuffer singleProducer(long capacity) {
+        return new OffHeapLongSpscRingBuffer(capacity);
+    }
+
+    /**
+     * Creates ring buffer for multiple producer threads and one consumer thread
+     *
+     * @param capacity min capacity, will be rounded up to the power of two
+     * @return ring buffer instance
+     */
+    public static OffHeapLongRingBuffer multiProducer(long capacity) {
+        return new OffHeapLongMpscRingBuffer(capacity);
+    }
+
+    /**
+     * Adds element to the buffer, producer method
+     *
+     * @param value value to add
+     * @return {@code true} if element was added, {@code false} if buffer is full
+     */
+    public abstract boolean offer(long value);
+
+    /**
+     * Adds elements to the buffer as a batch, producer method.
+     * If there is not enough space, only part of the elements will be added.
+     *
+     * @param src source array
+     * @param offset start position in source array
+     * @param length number of elements to add
+     * @return number of added elements
+     */
+    public abstract int offer(long[] src, int offset, int length);
+
+    /**
+     * Returns position up to which elements are published to consumer
+     *
+     * @return published position
+     */
+    abstract long published();
+
+    /**
+     * Whether buffer contains no elements available to consumer, consumer method
+     *
+     * @return whether buffer contains no elements
+     */
+    public boolean isEmpty() {
+        long h = head.get();
+        if (h < publishedCache) return false;
+        publishedCache = published();
+        return h >= publishedCache;
+    }
+
+    /**
+     * Removes and returns the next element, consumer method
+     *
+     * @return the next element
+     * @throws IllegalStateException if buffer is empty
+     */
+    public long poll() {
+        if (isEmpty()) throw new IllegalStateException("Ring buffer is empty");
+        long h = head.get();
+        long res = read(h);
+        head.lazySet(h + 1);
+        return res;
+    }
+
+    /**
+     * Removes available elements into the specified array, consumer method
+     *
+     * @param dest destination array
+     * @param offset start position in destination array
+     * @param max max number of elements to remove
+     * @return number of removed elements
+     */
+    public int drainTo(long[] dest, int offset, int max) {
+        if (offset < 0 || max < 0 || offset + max > dest.length) throw new IllegalArgumentException(
+                "Illegal input, array length: [" + dest.length + "], offset: [" + offset + "], max: [" + max + "]");
+        long h = head.get();
+        long available = publishedCache - h;
+        if (available < max) {
+            publishedCache = published();
+            available = publishedCache - h;
+        }
+        int count = (int) Math.min(available, max);
+        for (int i = 0; i < count; i++) {
+            dest[offset + i] = read(h + i);
+        }
+        head.lazySet(h + count);
+        return count;
+    }
+
+    /**
+     * Returns approximate number of elements in the buffer
+     *
+     * @return number of elements
+     */
+    public long size() {
+        return Math.max(0, published() - head.get());
+    }
+
+    /**
+     * Returns buffer capacity
+     *
+     * @return buffer capacity
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Frees allocated memory, must not be called while buffer is used by producers or consumer
+     */
+    @Override
+    public void free() {
+        ohm.free();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName());
+        sb.append("{capacity=").append(capacity);
+        sb.append(", size=").append(size());
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Reads slot value
+     *
+     * @param position queue position
+     * @return slot value
+     */
+    long read(long position) {
+        return ohm.getLong((position & mask) * ELEMENT_LENGTH);
+    }
+
+    /**
+     * Writes slot value
+     *
+     * @param position queue position
+     * @param value slot value
+     */
+    void write(long position, long value) {
+        ohm.putLong((position & mask) * ELEMENT_LENGTH, value);
+    }
+}
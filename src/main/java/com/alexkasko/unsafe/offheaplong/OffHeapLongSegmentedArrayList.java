@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import com.alexkasko.unsafe.offheap.OffHeapDisposable;
+import com.alexkasko.unsafe.offheap.OffHeapDisposableIterator;
+import com.alexkasko.unsafe.offheap.OffHeapMemory;
+
+import java.util.Arrays;
+
+/**
+ * <p>Implementation of array-list of long using segments of {@link com.alexkasko.unsafe.offheap.OffHeapMemory}.
+ * Unlike {@link OffHeapLongArrayList}, list growth allocates new segment of {@code 2^segmentShift} elements
+ * instead of allocating larger memory area and copying all the data into it. Existing data is never moved,
+ * so {@link #add(long)} latency doesn't depend on list size and no additional memory is required during growth.
+ * Index is translated into segment number and segment offset using shift and mask.
+ * This class doesn't support elements removing.
+ * {@link #get(long)} and {@link #set(long, long)} access operations indexes are checked using {@code assert} keyword
+ * (indexes between size and capacity will be rejected).
+ *
+ * <p>Allocated memory may be freed manually using {@link #free()} (thread-safe
+ * and may be called multiple times) or it will be freed after list will be garbage collected.
+ *
+ * <p>Note: while class implements Iterable, iterator will create new autoboxed Long object
+ * <b>on every</b> {@code next()} call, this behaviour is inevitable with iterators in java 6/7.
+ */
+public class OffHeapLongSegmentedArrayList implements OffHeapLongAddressable, OffHeapDisposable, Iterable<Long> {
+    private static final int DEFAULT_SEGMENT_SHIFT = 16;
+    private static final int MIN_DIRECTORY_LENGTH = 4;
+    private static final int ELEMENT_LENGTH = 8;
+
+    private final int segmentShift;
+    private final long segmentMask;
+    private OffHeapMemory[] segments;
+    private int segmentsCount;
+    private long size;
+
+    /**
+     * Constructor, segments of {@code 65536} elements are used
+     */
+    public OffHeapLongSegmentedArrayList() {
+        this(DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param segmentShift each segment will contain {@code 2^segmentShift} elements
+     */
+    public OffHeapLongSegmentedArrayList(int segmentShift) {
+        if (segmentShift < 0 || segmentShift > 56) throw new IllegalArgumentException(
+                "Invalid segmentShift: [" + segmentShift + "]");
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+        this.segments = new OffHeapMemory[MIN_DIRECTORY_LENGTH];
+        addSegment();
+    }
+
+    /**
+     * Adds element to the end of this list. New segment will be allocated on capacity exceed,
+     * existing segments won't be copied.
+     *
+     * @param value value to add
+     */
+    public void add(long value) {
+        long s = size;
+        if ((s >>> segmentShift) == segmentsCount) addSegment();
+        size = s + 1;
+        set(s, value);
+    }
+
+    /**
+     * Whether unsafe implementation of {@link OffHeapMemory} is used
+     *
+     * @return whether unsafe implementation of {@link OffHeapMemory} is used
+     */
+    public boolean isUnsafe() {
+        return segments[0].isUnsafe();
+    }
+
+    /**
+     * Gets the element at position {@code index} from {@code 0} to {@code size-1}
+     *
+     * @param index list index
+     * @return long value
+     */
+    @Override
+    public long get(long index) {
+        assert index < size : index;
+        return segments[(int) (index >>> segmentShift)].getLong((index & segmentMask) * ELEMENT_LENGTH);
+    }
+
+    /**
+     * Sets the element at position {@code index} (from {@code 0} to {@code size-1}) to the given value
+     *
+     * @param index list index
+     * @param value long value
+     */
+    @Override
+    public void set(long index, long value) {
+        assert index < size : index;
+        segments[(int) (index >>> segmentShift)].putLong((index & segmentMask) * ELEMENT_LENGTH, value);
+    }
+
+    /**
+     * Returns number of elements in list
+     *
+     * @return number of elements in list
+     */
+    @Override
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns number of elements list may contain without additional memory allocation
+     *
+     * @return number of elements list may contain without additional memory allocation
+     */
+    public long capacity() {
+        return ((long) segmentsCount) << segmentShift;
+    }
+
+    /**
+     * Frees allocated memory, may be called multiple times from any thread
+     */
+    @Override
+    public void free() {
+        for (int i = 0; i < segmentsCount; i++) {
+            segments[i].free();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OffHeapDisposableIterator<Long> iterator() {
+        return new OffHeapLongIterator(this);
+    }
+
+    /**
+     * Resets the collection setting size to 0.
+     * Actual memory contents stays untouched.
+     */
+    public void reset() {
+        this.size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("OffHeapLongSegmentedArrayList");
+        sb.append("{size=").append(size);
+        sb.append(", capacity=").append(capacity());
+        sb.append(", segmentShift=").append(segmentShift);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Allocates new segment, doubles segments directory if necessary
+     */
+    private void addSegment() {
+        if (segmentsCount == segments.length) {
+            segments = Arrays.copyOf(segments, segments.length * 2);
+        }
+        segments[segmentsCount] = OffHeapMemory.allocateMemory((segmentMask + 1) * ELEMENT_LENGTH);
+        segmentsCount += 1;
+    }
+}
@@ -0,0 +1,411 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static com.alexkasko.unsafe.offheap.OffHeapUtils.free;
+
+/**
+ * Set operations over ascending sorted off-heap collections of longs. Input collections may contain
+ * duplicates, results contain distinct values in ascending order and are returned as new
+ * {@link OffHeapLongArrayList} instances, those should be freed by caller.
+ *
+ * <p>Operations are done by merging inputs. If one of the inputs is much shorter than another one,
+ * short input is iterated and positions in the long one are found using galloping (exponential) search,
+ * so the long input is not read as a whole. Parallel versions split inputs into ranges
+ * of values and process each range in separate task.
+ */
+public class OffHeapLongSetOperations {
+    /**
+     * Galloping search is used if one input is longer than another one more than this times
+     */
+    private static final int GALLOP_RATIO = 16;
+    /**
+     * Inputs shorter than this are processed sequentially by parallel methods
+     */
+    private static final long PARALLEL_THRESHOLD = 1 << 16;
+
+    // emit flags
+    private static final int SMALL_ONLY = 1;
+    private static final int LARGE_ONLY = 1 << 1;
+    private static final int BOTH = 1 << 2;
+
+    /**
+     * Computes union of two sorted collections
+     *
+     * @param a first ascending sorted collection
+     * @param b second ascending sorted collection
+     * @return distinct values contained in any of the inputs
+     */
+    public static OffHeapLongArrayList union(OffHeapLongAddressable a, OffHeapLongAddressable b) {
+        return apply(a, 0, a.size(), b, 0, b.size(), SMALL_ONLY | LARGE_ONLY | BOTH, SMALL_ONLY | LARGE_ONLY | BOTH);
+    }
+
+    /**
+     * Computes intersection of two sorted collections
+     *
+     * @param a first ascending sorted collection
+     * @param b second ascending sorted collection
+     * @return distinct values contained in both inputs
+     */
+    public static OffHeapLongArrayList intersection(OffHeapLongAddressable a, OffHeapLongAddressable b) {
+        return apply(a, 0, a.size(), b, 0, b.size(), BOTH, BOTH);
+    }
+
+    /**
+     * Computes difference of two sorted collections
+     *
+     * @param a ascending sorted collection to subtract from
+     * @param b ascending sorted collection to subtract
+     * @return distinct values contained in {@code a} but not in {@code b}
+     */
+    public static OffHeapLongArrayList difference(OffHeapLongAddressable a, OffHeapLongAddressable b) {
+        return apply(a, 0, a.size(), b, 0, b.size(), SMALL_ONLY, LARGE_ONLY);
+    }
+
+    /**
+     * Computes symmetric difference of two sorted collections
+     *
+     * @param a first ascending sorted collection
+     * @param b second ascending sorted collection
+     * @return distinct values contained in only one of the inputs
+     */
+    public static OffHeapLongArrayList symmetricDifference(OffHeapLongAddressable a, OffHeapLongAddressable b) {
+        return apply(a, 0, a.size(), b, 0, b.size(), SMALL_ONLY | LARGE_ONLY, SMALL_ONLY | LARGE_ONLY);
+    }
+
+    /**
+     * Computes union of two sorted collections in parallel
+     *
+     * @param executor executor to run tasks
+     * @param threads number of parallel tasks
+     * @param a first ascending sorted collection
+     * @param b second ascending sorted collection
+     * @return distinct values contained in any of the inputs
+     * @throws RuntimeException on task error
+     */
+    public static OffHeapLongArrayList unionParallel(ExecutorService executor, int threads,
+                                                     OffHeapLongAddressable a, OffHeapLongAddressable b) {
+        return applyParallel(executor, threads, a, b, SMALL_ONLY | LARGE_ONLY | BOTH, SMALL_ONLY | LARGE_ONLY | BOTH);
+    }
+
+    /**
+     * Computes intersection of two sorted collections in parallel
+     *
+     * @param executor executor to run tasks
+     * @param threads number of parallel tasks
+     * @param a first ascending sorted collection
+     * @param b second ascending sorted collection
+     * @return distinct values contained in both inputs
+     * @throws RuntimeException on task error
+     */
+    public static OffHeapLongArrayList intersectionParallel(ExecutorService executor, int threads,
+                                                            OffHeapLongAddressable a, OffHeapLongAddressable b) {
+        return applyParallel(executor, threads, a, b, BOTH, BOTH);
+    }
+
+    /**
+     * Computes difference of two sorted collections in parallel
+     *
+     * @param executor executor to run tasks
+     * @param threads number of parallel tasks
+     * @param a ascending sorted collection to subtract from
+     * @param b ascending sorted collection to subtract
+     * @return distinct values contained in {@code a} but not in {@code b}
+     * @throws RuntimeException on task error
+     */
+    public static OffHeapLongArrayList differenceParallel(ExecutorService executor, int threads,
+                                                          OffHeapLongAddressable a, OffHeapLongAddressable b) {
+        return applyParallel(executor, threads, a, b, SMALL_ONLY, LARGE_ONLY);
+    }
+
+    /**
+     * Computes symmetric difference of two sorted collections in parallel
+     *
+     * @param executor executor to run tasks
+     * @param threads number of parallel tasks
+     * @param a first ascending sorted collection
+     * @param b second ascending sorted collection
+     * @return distinct values contained in only one of the inputs
+     * @throws RuntimeException on task error
+     */
+    public static OffHeapLongArrayList symmetricDifferenceParallel(ExecutorService executor, int threads,
+                                                                   OffHeapLongAddressable a, OffHeapLongAddressable b) {
+        return applyParallel(executor, threads, a, b, SMALL_ONLY | LARGE_ONLY, SMALL_ONLY | LARGE_ONLY);
+    }
+
+    /**
+     * Applies operation to the specified ranges of inputs
+     *
+     * @param a first collection
+     * @param aFrom first collection start index, inclusive
+     * @param aTo first collection end index, exclusive
+     * @param b second collection
+     * @param bFrom second collection start index, inclusive
+     * @param bTo second collection end index, exclusive
+     * @param aEmit emit flags to use if {@code a} is iterated as a small input
+     * @param bEmit emit flags to use if {@code b} is iterated as a small input
+     * @return operation result
+     */
+    private static OffHeapLongArrayList apply(OffHeapLongAddressable a, long aFrom, long aTo,
+                                              OffHeapLongAddressable b, long bFrom, long bTo, int aEmit, int bEmit) {
+        OffHeapLongArrayList out = new OffHeapLongArrayList();
+        long aLen = aTo - aFrom;
+        long bLen = bTo - bFrom;
+        if (bLen < aLen / GALLOP_RATIO) {
+            merge(b, bFrom, bTo, a, aFrom, aTo, bEmit, true, out);
+        } else {
+            merge(a, aFrom, aTo, b, bFrom, bTo, aEmit, aLen < bLen / GALLOP_RATIO, out);
+        }
+        return out;
+    }
+
+    /**
+     * Merges inputs iterating over the small one and looking for its values in the large one
+     *
+     * @param s small collection
+     * @param sFrom small collection start index, inclusive
+     * @param sTo small collection end index, exclusive
+     * @param l large collection
+     * @param lFrom large collection start index, inclusive
+     * @param lTo large collection end index, exclusive
+     * @param emit flags, what values to emit
+     * @param gallop whether to use galloping search over the large collection
+     * @param out output list
+     */
+    private static void merge(OffHeapLongAddressable s, long sFrom, long sTo, OffHeapLongAddressable l, long lFrom,
+                              long lTo, int emit, boolean gallop, OffHeapLongArrayList out) {
+        long j = lFrom;
+        long i = sFrom;
+        while (i < sTo) {
+            long val = s.get(i);
+            long pos = gallop ? gallop(l, j, lTo, val) : scan(l, j, lTo, val);
+            if (0 != (emit & LARGE_ONLY)) addDistinct(l, j, pos, out);
+            boolean found = pos < lTo && val == l.get(pos);
+            if (0 != (emit & (found ? BOTH : SMALL_ONLY))) out.add(val);
+            // skip duplicates
+            do {
+                i += 1;
+            } while (i < sTo && val == s.get(i));
+            while (pos < lTo && val == l.get(pos)) pos += 1;
+            j = pos;
+        }
+        if (0 != (emit & LARGE_ONLY)) addDistinct(l, j, lTo, out);
+    }
+
+    /**
+     * Finds index of the first element greater or equal to value using linear scan
+     *
+     * @param c collection
+     * @param from start index, inclusive
+     * @param to end index, exclusive
+     * @param value value to search for
+     * @return index of the first element greater or equal to value or {@code to}
+     */
+    private static long scan(OffHeapLongAddressable c, long from, long to, long value) {
+        long i = from;
+        while (i < to && c.get(i) < value) i += 1;
+        return i;
+    }
+
+    /**
+     * Finds index of the first element greater or equal to value using exponential search
+     *
+     * @param c collection
+     * @param from start index, inclusive
+     * @param to end index, exclusive
+     * @param value value to search for
+     * @return index of the first element greater or equal to value or {@code to}
+     */
+    private static long gallop(OffHeapLongAddressable c, long from, long to, long value) {
+        if (from >= to || c.get(from) >= value) return from;
+        // c[lo] < value
+        long lo = from;
+        long step = 1;
+        long hi = from + step;
+        while (hi < to && c.get(hi) < value) {
+            lo = hi;
+            step <<= 1;
+            hi = from + step;
+        }
+        if (hi > to) hi = to;
+        // c[lo] < value <= c[hi]
+        while (hi - lo > 1) {
+            long mid = (lo + hi) >>> 1;
+            if (c.get(mid) < value) lo = mid;
+            else hi = mid;
+        }
+        return hi;
+    }
+
+    /**
+     * Adds distinct values from the specified range of sorted collection to the output list
+     *
+     * @param c collection
+     * @param from start index, inclusive
+     * @param to end index, exclusive
+     * @param out output list
+     */
+    private static void addDistinct(OffHeapLongAddressable c, long from, long to, OffHeapLongArrayList out) {
+        if (from >= to) return;
+        long prev = c.get(from);
+        out.add(prev);
+        for (long i = from + 1; i < to; i++) {
+            long val = c.get(i);
+            if (val != prev) {
+                out.add(val);
+                prev = val;
+            }
+        }
+    }
+
+    /**
+     * Splits inputs into ranges of values and applies operation to each range in parallel
+     *
+     * @param executor executor to run tasks
+     * @param threads number of parallel tasks
+     * @param a first collection
+     * @param b second collection
+     * @param aEmit emit flags to use if {@code a} is iterated as a small input
+     * @param bEmit emit flags to use if {@code b} is iterated as a small input
+     * @return operation result
+     */
+    private static OffHeapLongArrayList applyParallel(ExecutorService executor, int threads, OffHeapLongAddressable a,
+                                                      OffHeapLongAddressable b, int aEmit, int bEmit) {
+        if (null == executor) throw new NullPointerException("executor");
+        if (threads <= 0) throw new IllegalArgumentException("threads: [" + threads + "] must be positive");
+        long aSize = a.size();
+        long bSize = b.size();
+        if (1 == threads || aSize + bSize < PARALLEL_THRESHOLD) {
+            return apply(a, 0, aSize, b, 0, bSize, aEmit, bEmit);
+        }
+        // split values are taken from the larger input, all duplicates go to the same range
+        OffHeapLongAddressable split = aSize >= bSize ? a : b;
+        long splitSize = split.size();
+        List<Task> tasks = new ArrayList<Task>(threads);
+        long aStart = 0;
+        long bStart = 0;
+        for (int t = 1; t < threads; t++) {
+            long val = split.get(splitSize / threads * t);
+            long aEnd = gallop(a, aStart, aSize, val);
+            long bEnd = gallop(b, bStart, bSize, val);
+            if (aEnd == aStart && bEnd == bStart) continue;
+            tasks.add(new Task(a, aStart, aEnd, b, bStart, bEnd, aEmit, bEmit));
+            aStart = aEnd;
+            bStart = bEnd;
+        }
+        tasks.add(new Task(a, aStart, aSize, b, bStart, bSize, aEmit, bEmit));
+        List<OffHeapLongArrayList> parts = new ArrayList<OffHeapLongArrayList>(tasks.size());
+        try {
+            List<Future<OffHeapLongArrayList>> futures;
+            try {
+                futures = executor.invokeAll(tasks);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            // collect all the successful results to free them on error
+            Exception error = null;
+            for (Future<OffHeapLongArrayList> fu : futures) {
+                try {
+                    parts.add(fu.get());
+                } catch (InterruptedException e) {
+                    if (null == error) error = e;
+                } catch (ExecutionException e) {
+                    if (null == error) error = e;
+                }
+            }
+            if (null != error) throw new RuntimeException(error);
+            return concat(parts);
+        } finally {
+            for (OffHeapLongArrayList li : parts) {
+                free(li);
+            }
+        }
+    }
+
+    /**
+     * Concatenates results of parallel tasks
+     *
+     * @param parts results of parallel tasks
+     * @return new list with all the values
+     */
+    private static OffHeapLongArrayList concat(List<OffHeapLongArrayList> parts) {
+        long size = 0;
+        for (OffHeapLongArrayList li : parts) {
+            size += li.size();
+        }
+        OffHeapLongArrayList res = new OffHeapLongArrayList(Math.max(size, 1));
+        for (OffHeapLongArrayList li : parts) {
+            for (long i = 0; i < li.size(); i++) {
+                res.add(li.get(i));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Task applying operation to the ranges of inputs
+     */
+    private static class Task implements Callable<OffHeapLongArrayList> {
+        private final OffHeapLongAddressable a;
+        private final long aFrom;
+        private final long aTo;
+        private final OffHeapLongAddressable b;
+        private final long bFrom;
+        private final long bTo;
+        private final int aEmit;
+        private final int bEmit;
+
+        /**
+         * Constructor
+         *
+         * @param a first collection
+         * @param aFrom first collection start index, inclusive
+         * @param aTo first collection end index, exclusive
+         * @param b second collection
+         * @param bFrom second collection start index, inclusive
+         * @param bTo second collection end index, exclusive
+         * @param aEmit emit flags to use if {@code a} is iterated as a small input
+         * @param bEmit emit flags to use if {@code b} is iterated as a small input
+         */
+        private Task(OffHeapLongAddressable a, long aFrom, long aTo, OffHeapLongAddressable b, long bFrom, long bTo,
+                     int aEmit, int bEmit) {
+            this.a = a;
+            this.aFrom = aFrom;
+            this.aTo = aTo;
+            this.b = b;
+            this.bFrom = bFrom;
+            this.bTo = bTo;
+            this.aEmit = aEmit;
+            this.bEmit = bEmit;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public OffHeapLongArrayList call() throws Exception {
+            return apply(a, aFrom, aTo, b, bFrom, bTo, aEmit, bEmit);
+        }
+    }
+}
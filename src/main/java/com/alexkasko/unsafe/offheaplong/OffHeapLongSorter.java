@@ -16,6 +16,8 @@
 
 package com.alexkasko.unsafe.offheaplong;
 
+import java.util.concurrent.Executor;
+
 /**
  * <p>alexkasko: borrowed from {@code https://android.googlesource.com/platform/libcore/+/android-4.2.2_r1/luni/src/main/java/java/util/DualPivotQuicksort.java}
  * and adapted to {@link OffHeapLongAddressable}.
@@ -65,7 +67,45 @@ public class OffHeapLongSorter {
             throw new IllegalArgumentException("Illegal input, collection size: [" + a.size() + "], " +
                     "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "]");
         }
-        doSort(a, fromIndex, toIndex - 1);
+        doSort(a, fromIndex, toIndex - 1, new long[4]);
+    }
+
+    /**
+     * Sorts the specified off-heap collection of keys into ascending order applying the same
+     * permutation to all the payload collections. Sort is not stable.
+     *
+     * @param keys the off-heap collection of keys to be sorted
+     * @param payloads parallel collections, must not be shorter than keys collection
+     * @throws IllegalArgumentException if any of payloads is shorter than keys collection
+     */
+    public static void sort(OffHeapLongAddressable keys, OffHeapLongAddressable... payloads) {
+        sort(keys, 0, keys.size(), payloads);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap collection of keys into ascending order applying the same
+     * permutation to the same range of all the payload collections. The range
+     * to be sorted extends from the index {@code fromIndex}, inclusive, to
+     * the index {@code toIndex}, exclusive. If {@code fromIndex == toIndex},
+     * the range to be sorted is empty (and the call is a no-op). Sort is not stable.
+     *
+     * @param keys the off-heap collection of keys to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param payloads parallel collections, must not be shorter than {@code toIndex}
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > keys.size())}
+     *         or if any of payloads is shorter than {@code toIndex}
+     */
+    public static void sort(OffHeapLongAddressable keys, long fromIndex, long toIndex, OffHeapLongAddressable... payloads) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > keys.size()) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + keys.size() + "], " +
+                    "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "]");
+        }
+        for (int i = 0; i < payloads.length; i++) {
+            if (payloads[i].size() < toIndex) throw new IllegalArgumentException(
+                    "Illegal input, payload: [" + i + "] size: [" + payloads[i].size() + "], toIndex: [" + toIndex + "]");
+        }
+        new OffHeapLongCoSorter(keys, payloads).sort(fromIndex, toIndex);
     }
 
     /**
@@ -95,7 +135,475 @@ public class OffHeapLongSorter {
             throw new IllegalArgumentException("Illegal input, collection size: [" + a.size() + "], " +
                     "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "]");
         }
-        doSortWithComparator(a, fromIndex, toIndex - 1, new LongComp(comp));
+        doSortWithComparator(a, fromIndex, toIndex - 1, new LongComp(comp), new long[4]);
+    }
+
+    /**
+     * Sorts the specified off-heap collection into ascending order in parallel.
+     *
+     * @param executor executor to run worker threads
+     * @param threads number of worker threads to use
+     * @param a the off-heap collection to be sorted
+     * @throws RuntimeException on worker thread error
+     */
+    public static void sortParallel(Executor executor, int threads, OffHeapLongAddressable a) {
+        sortParallel(executor, threads, a, 0, a.size());
+    }
+
+    /**
+     * Sorts the specified range of the off-heap collection into ascending order in parallel.
+     * Range is partitioned using Dual-Pivot Quicksort steps and resulting parts are sorted
+     * by worker threads. The range to be sorted extends from the index {@code fromIndex}, inclusive, to
+     * the index {@code toIndex}, exclusive. If {@code fromIndex == toIndex},
+     * the range to be sorted is empty (and the call is a no-op).
+     *
+     * @param executor executor to run worker threads, must be able to run {@code threads - 1} tasks simultaneously
+     *                 to utilize all the threads, current thread is used as the last worker
+     * @param threads number of worker threads to use
+     * @param a the off-heap collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     * @throws RuntimeException on worker thread error or if executor rejects the worker
+     */
+    public static void sortParallel(Executor executor, int threads, OffHeapLongAddressable a, long fromIndex, long toIndex) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size()) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + a.size() + "], " +
+                    "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "]");
+        }
+        OffHeapLongParallelSorter.sort(executor, threads, a, fromIndex, toIndex, null);
+    }
+
+    /**
+     * Sorts the specified off-heap collection into ascending order in parallel.
+     *
+     * @param executor executor to run worker threads
+     * @param threads number of worker threads to use
+     * @param a the off-heap collection to be sorted
+     * @param comp thread-safe comparator that defines sort order
+     * @throws RuntimeException on worker thread error
+     */
+    public static void sortParallel(Executor executor, int threads, OffHeapLongAddressable a, OffHeapLongComparator comp) {
+        sortParallel(executor, threads, a, 0, a.size(), comp);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap collection into ascending order in parallel.
+     * Range is partitioned using Dual-Pivot Quicksort steps and resulting parts are sorted
+     * by worker threads. The range to be sorted extends from the index {@code fromIndex}, inclusive, to
+     * the index {@code toIndex}, exclusive. If {@code fromIndex == toIndex},
+     * the range to be sorted is empty (and the call is a no-op).
+     *
+     * @param executor executor to run worker threads, must be able to run {@code threads - 1} tasks simultaneously
+     *                 to utilize all the threads, current thread is used as the last worker
+     * @param threads number of worker threads to use
+     * @param a the off-heap collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param comp thread-safe comparator that defines sort order
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     * @throws RuntimeException on worker thread error or if executor rejects the worker
+     */
+    public static void sortParallel(Executor executor, int threads, OffHeapLongAddressable a, long fromIndex, long toIndex,
+                                    OffHeapLongComparator comp) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size()) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + a.size() + "], " +
+                    "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "]");
+        }
+        if (null == comp) throw new NullPointerException("comp");
+        OffHeapLongParallelSorter.sort(executor, threads, a, fromIndex, toIndex, comp);
+    }
+
+    /**
+     * Sorts the specified off-heap collection into ascending order using LSD radix sort.
+     * Temporary off-heap buffer with the same size as collection will be allocated.
+     *
+     * @param a the off-heap collection to be sorted
+     */
+    public static void radixSort(OffHeapLongAddressable a) {
+        radixSort(a, 0, a.size(), null);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap collection into ascending order using LSD radix sort.
+     * The range to be sorted extends from the index {@code fromIndex}, inclusive, to
+     * the index {@code toIndex}, exclusive. If {@code fromIndex == toIndex},
+     * the range to be sorted is empty (and the call is a no-op). Ranges shorter than
+     * {@code 4096} elements are sorted using Dual-Pivot Quicksort.
+     *
+     * @param a the off-heap collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param buffer temporary buffer with size not less than {@code toIndex - fromIndex},
+     *               if {@code null} buffer will be allocated and freed internally
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static void radixSort(OffHeapLongAddressable a, long fromIndex, long toIndex, OffHeapLongAddressable buffer) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size()) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + a.size() + "], " +
+                    "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "]");
+        }
+        OffHeapLongRadixSorter.sort(a, fromIndex, toIndex, buffer, false);
+    }
+
+    /**
+     * Sorts the specified off-heap collection into ascending order treating values as unsigned
+     * using LSD radix sort. Temporary off-heap buffer with the same size as collection will be allocated.
+     *
+     * @param a the off-heap collection to be sorted
+     */
+    public static void radixSortUnsigned(OffHeapLongAddressable a) {
+        radixSortUnsigned(a, 0, a.size(), null);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap collection into ascending order treating values as unsigned
+     * using LSD radix sort. The range to be sorted extends from the index {@code fromIndex}, inclusive, to
+     * the index {@code toIndex}, exclusive. If {@code fromIndex == toIndex},
+     * the range to be sorted is empty (and the call is a no-op).
+     *
+     * @param a the off-heap collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param buffer temporary buffer with size not less than {@code toIndex - fromIndex},
+     *               if {@code null} buffer will be allocated and freed internally
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static void radixSortUnsigned(OffHeapLongAddressable a, long fromIndex, long toIndex, OffHeapLongAddressable buffer) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size()) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + a.size() + "], " +
+                    "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "]");
+        }
+        OffHeapLongRadixSorter.sort(a, fromIndex, toIndex, buffer, true);
+    }
+
+    /**
+     * Finds the element that would be at position {@code k} if the collection were sorted
+     * into ascending order. Collection is partially reordered: after the call all the elements
+     * before position {@code k} are less or equal to the element at {@code k}, and all the elements
+     * after it are greater or equal to it.
+     *
+     * @param a the off-heap collection
+     * @param k position of the element in sorted order
+     * @return the element that would be at position {@code k} in sorted collection
+     * @throws IllegalArgumentException {@code if (k < 0 || k >= a.size())}
+     */
+    public static long select(OffHeapLongAddressable a, long k) {
+        return select(a, 0, a.size(), k);
+    }
+
+    /**
+     * Finds the element that would be at position {@code k} if the specified range of the collection
+     * were sorted into ascending order. Range is partially reordered: after the call all the elements
+     * of the range before position {@code k} are less or equal to the element at {@code k}, and all the elements
+     * after it are greater or equal to it. Expected time is linear on the range length.
+     *
+     * @param a the off-heap collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @param k position of the element in the collection, must be within the range
+     * @return the element that would be at position {@code k} in sorted range
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size()
+     *         || k < fromIndex || k >= toIndex)}
+     */
+    public static long select(OffHeapLongAddressable a, long fromIndex, long toIndex, long k) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size() || k < fromIndex || k >= toIndex) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + a.size() + "], " +
+                    "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "], k: [" + k + "]");
+        }
+        long[] bounds = new long[4];
+        long left = fromIndex;
+        long right = toIndex - 1;
+        while (right - left + 1 >= INSERTION_SORT_THRESHOLD) {
+            dualPivotPartition(a, left, right, bounds);
+            if (k <= bounds[0]) {
+                right = bounds[0];
+            } else if (k >= bounds[1]) {
+                left = bounds[1];
+            } else if (k >= bounds[2] && k <= bounds[3]) {
+                left = bounds[2];
+                right = bounds[3];
+            } else { // element is in its final position
+                return a.get(k);
+            }
+        }
+        doSort(a, left, right, bounds);
+        return a.get(k);
+    }
+
+    /**
+     * Reorders the collection so that its first {@code k} elements are the {@code k} smallest
+     * elements in ascending order. Order of the remaining elements is undefined.
+     *
+     * @param a the off-heap collection
+     * @param k number of the smallest elements to sort
+     * @throws IllegalArgumentException {@code if (k < 0 || k > a.size())}
+     */
+    public static void partialSort(OffHeapLongAddressable a, long k) {
+        partialSort(a, 0, a.size(), k);
+    }
+
+    /**
+     * Reorders the specified range of the collection so that its first {@code k} elements are
+     * the {@code k} smallest elements of the range in ascending order. Order of the remaining
+     * elements of the range is undefined. Parts of the range those don't contain
+     * any of the {@code k} smallest elements are not sorted.
+     *
+     * @param a the off-heap collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @param k number of the smallest elements to sort
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size()
+     *         || k < 0 || k > toIndex - fromIndex)}
+     */
+    public static void partialSort(OffHeapLongAddressable a, long fromIndex, long toIndex, long k) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size() || k < 0 || k > toIndex - fromIndex) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + a.size() + "], " +
+                    "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "], k: [" + k + "]");
+        }
+        doPartialSort(a, fromIndex, toIndex - 1, fromIndex + k, new long[4]);
+    }
+
+    /**
+     * Returns {@code k} largest elements of the collection in descending order.
+     * Collection is not changed, bounded min-heap with {@code k} elements is used to
+     * collect the result in one pass over the collection.
+     *
+     * @param a the off-heap collection
+     * @param k number of the largest elements to return
+     * @return new array with {@code k} largest elements in descending order, should be freed by caller
+     * @throws IllegalArgumentException {@code if (k < 0 || k > a.size())}
+     */
+    public static OffHeapLongArray topK(OffHeapLongAddressable a, long k) {
+        long size = a.size();
+        if (k < 0 || k > size) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + size + "], k: [" + k + "]");
+        }
+        OffHeapLongArray res = new OffHeapLongArray(k);
+        if (0 == k) return res;
+        for (long i = 0; i < k; i++) {
+            res.set(i, a.get(i));
+        }
+        for (long i = (k >>> 1) - 1; i >= 0; i--) {
+            siftDown(res, i, k);
+        }
+        for (long i = k; i < size; i++) {
+            long ai = a.get(i);
+            if (ai > res.get(0)) {
+                res.set(0, ai);
+                siftDown(res, 0, k);
+            }
+        }
+        // heapsort with min-heap produces descending order
+        for (long end = k - 1; end > 0; end--) {
+            long min = res.get(0);
+            res.set(0, res.get(end));
+            res.set(end, min);
+            siftDown(res, 0, end);
+        }
+        return res;
+    }
+
+    /**
+     * Returns indices of the collection elements in the order those elements would have
+     * in ascending sorted collection. Collection is not changed. Sort is stable: indices
+     * of equal elements are returned in ascending order.
+     *
+     * @param a the off-heap collection
+     * @return new array of indices, should be freed by caller
+     */
+    public static OffHeapLongArray argsort(OffHeapLongAddressable a) {
+        return argsort(a, 0, a.size());
+    }
+
+    /**
+     * Returns indices of the elements of the specified range in the order those elements would have
+     * in ascending sorted range. Collection is not changed. Sort is stable: indices
+     * of equal elements are returned in ascending order. Returned indices are the indices in the collection
+     * (not in the range), so they may be used with {@link #applyPermutation(OffHeapLongAddressable, long, OffHeapLongAddressable)}
+     * with the same {@code fromIndex}.
+     *
+     * @param a the off-heap collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return new array of {@code toIndex - fromIndex} indices, should be freed by caller
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static OffHeapLongArray argsort(OffHeapLongAddressable a, long fromIndex, long toIndex) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size()) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + a.size() + "], " +
+                    "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "]");
+        }
+        long len = toIndex - fromIndex;
+        OffHeapLongArray keys = new OffHeapLongArray(len);
+        OffHeapLongArray indices = new OffHeapLongArray(len);
+        try {
+            for (long i = 0; i < len; i++) {
+                keys.set(i, a.get(fromIndex + i));
+                indices.set(i, fromIndex + i);
+            }
+            new OffHeapLongCoSorter(keys, new OffHeapLongAddressable[]{indices}).sort(0, len);
+            // restore original order of equal keys
+            long runStart = 0;
+            for (long i = 1; i <= len; i++) {
+                if (i == len || keys.get(i) != keys.get(runStart)) {
+                    if (i - runStart > 1) doSort(indices, runStart, i - 1, new long[4]);
+                    runStart = i;
+                }
+            }
+            return indices;
+        } catch (RuntimeException e) {
+            indices.free();
+            throw e;
+        } finally {
+            keys.free();
+        }
+    }
+
+    /**
+     * Reorders the collection in place so that element {@code i} becomes equal to the element
+     * {@code perm[i]} of the original collection. Permutation cycles are followed with visited positions
+     * marked in permutation itself, permutation contents is restored before return.
+     *
+     * @param a the off-heap collection to reorder
+     * @param perm permutation of indices from {@code 0} to {@code perm.size() - 1},
+     *             for example one returned by {@link #argsort(OffHeapLongAddressable)}
+     * @throws IllegalArgumentException {@code if (perm.size() > a.size())}
+     *         or if {@code perm} is not a permutation, collection is not changed in that case
+     */
+    public static void applyPermutation(OffHeapLongAddressable a, OffHeapLongAddressable perm) {
+        applyPermutation(a, 0, perm);
+    }
+
+    /**
+     * Reorders the range of the collection starting from {@code fromIndex} in place so that element
+     * {@code fromIndex + i} becomes equal to the element {@code perm[i]} of the original collection.
+     * Permutation cycles are followed with visited positions marked in permutation itself,
+     * permutation contents is restored before return.
+     *
+     * @param a the off-heap collection to reorder
+     * @param fromIndex the index of the first element of the range
+     * @param perm permutation of indices from {@code fromIndex} to {@code fromIndex + perm.size() - 1},
+     *             for example one returned by {@link #argsort(OffHeapLongAddressable, long, long)}
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex + perm.size() > a.size())}
+     *         or if {@code perm} is not a permutation, collection is not changed in that case
+     */
+    public static void applyPermutation(OffHeapLongAddressable a, long fromIndex, OffHeapLongAddressable perm) {
+        long len = perm.size();
+        if (fromIndex < 0 || fromIndex + len > a.size()) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + a.size() + "], " +
+                    "fromIndex: [" + fromIndex + "], permutation size: [" + len + "]");
+        }
+        checkPermutation(fromIndex, perm);
+        for (long i = 0; i < len; i++) {
+            if (perm.get(i) < 0) continue;
+            long tmp = a.get(fromIndex + i);
+            long j = i;
+            for (;;) {
+                long k = perm.get(j) - fromIndex;
+                // visited positions are marked with inverted bits
+                perm.set(j, ~perm.get(j));
+                if (k == i) {
+                    a.set(fromIndex + j, tmp);
+                    break;
+                }
+                a.set(fromIndex + j, a.get(fromIndex + k));
+                j = k;
+            }
+        }
+        for (long i = 0; i < len; i++) {
+            perm.set(i, ~perm.get(i));
+        }
+    }
+
+    /**
+     * Checks that all the permutation values are within the range and are unique,
+     * permutation contents is restored before return
+     *
+     * @param fromIndex the index of the first element of the range
+     * @param perm permutation to check
+     * @throws IllegalArgumentException if {@code perm} is not a permutation
+     */
+    private static void checkPermutation(long fromIndex, OffHeapLongAddressable perm) {
+        long len = perm.size();
+        for (long i = 0; i < len; i++) {
+            long k = perm.get(i) - fromIndex;
+            if (k < 0 || k >= len) throw new IllegalArgumentException("Illegal permutation, fromIndex: [" + fromIndex + "], " +
+                    "size: [" + len + "], position: [" + i + "], value: [" + perm.get(i) + "]");
+        }
+        // all the values are non-negative here, seen values are marked with inverted bits on target positions
+        long dup = -1;
+        for (long i = 0; i < len; i++) {
+            long val = perm.get(i);
+            long k = (val < 0 ? ~val : val) - fromIndex;
+            long target = perm.get(k);
+            if (target < 0) {
+                dup = i;
+                break;
+            }
+            perm.set(k, ~target);
+        }
+        for (long i = 0; i < len; i++) {
+            long val = perm.get(i);
+            if (val < 0) perm.set(i, ~val);
+        }
+        if (dup >= 0) throw new IllegalArgumentException("Illegal permutation, fromIndex: [" + fromIndex + "], " +
+                "size: [" + len + "], duplicate value on position: [" + dup + "], value: [" + perm.get(dup) + "]");
+    }
+
+    /**
+     * Sorts the elements of the range those may be among the smallest ones
+     * up to index {@code kEnd}, does no range checking
+     *
+     * @param a the off-heap collection
+     * @param left the index of the first element, inclusive
+     * @param right the index of the last element, inclusive
+     * @param kEnd the index after the last element to be sorted
+     * @param bounds buffer for partition bounds, must have length {@code 4}
+     */
+    private static void doPartialSort(OffHeapLongAddressable a, long left, long right, long kEnd, long[] bounds) {
+        if (left >= right || kEnd <= left) return;
+        if (right < kEnd || right - left + 1 < INSERTION_SORT_THRESHOLD) {
+            doSort(a, left, right, bounds);
+            return;
+        }
+        dualPivotPartition(a, left, right, bounds);
+        long leftEnd = bounds[0];
+        long rightStart = bounds[1];
+        long centerStart = bounds[2];
+        long centerEnd = bounds[3];
+        doPartialSort(a, left, leftEnd, kEnd, bounds);
+        doPartialSort(a, centerStart, centerEnd, kEnd, bounds);
+        doPartialSort(a, rightStart, right, kEnd, bounds);
+    }
+
+    /**
+     * Restores min-heap property moving the element down the heap
+     *
+     * @param heap heap collection
+     * @param index index of the element to move
+     * @param size heap size
+     */
+    private static void siftDown(OffHeapLongAddressable heap, long index, long size) {
+        long val = heap.get(index);
+        long i = index;
+        long half = size >>> 1;
+        while (i < half) {
+            long child = 2 * i + 1;
+            long cval = heap.get(child);
+            long right = child + 1;
+            if (right < size) {
+                long rval = heap.get(right);
+                if (rval < cval) {
+                    child = right;
+                    cval = rval;
+                }
+            }
+            if (val <= cval) break;
+            heap.set(i, cval);
+            i = child;
+        }
+        heap.set(i, val);
     }
 
     /**
@@ -107,8 +615,9 @@ public class OffHeapLongSorter {
      * @param a the off-heap collection to be sorted
      * @param left the index of the first element, inclusive, to be sorted
      * @param right the index of the last element, inclusive, to be sorted
+     * @param bounds buffer for partition bounds, must have length {@code 4}
      */
-    private static void doSort(OffHeapLongAddressable a, long left, long right) {
+    private static void doSort(OffHeapLongAddressable a, long left, long right, long[] bounds) {
         // Use insertion sort on tiny arrays
         if (right - left + 1 < INSERTION_SORT_THRESHOLD) {
             for (long i = left + 1; i <= right; i++) {
@@ -120,7 +629,7 @@ public class OffHeapLongSorter {
                 a.set(j + 1, ai);
             }
         } else { // Use Dual-Pivot Quicksort on large arrays
-            dualPivotQuicksort(a, left, right);
+            dualPivotQuicksort(a, left, right, bounds);
         }
     }
 
@@ -131,8 +640,38 @@ public class OffHeapLongSorter {
      * @param a the off-heap collection to be sorted
      * @param left the index of the first element, inclusive, to be sorted
      * @param right the index of the last element, inclusive, to be sorted
+     * @param bounds buffer for partition bounds, must have length {@code 4}
+     */
+    private static void dualPivotQuicksort(OffHeapLongAddressable a, long left, long right, long[] bounds) {
+        dualPivotPartition(a, left, right, bounds);
+        long leftEnd = bounds[0];
+        long rightStart = bounds[1];
+        long centerStart = bounds[2];
+        long centerEnd = bounds[3];
+
+        // Sort left and right parts recursively, excluding known pivot values
+        doSort(a, left, leftEnd, bounds);
+        doSort(a, rightStart, right, bounds);
+
+        // Sort center part recursively, excluding known pivot values
+        doSort(a, centerStart, centerEnd, bounds);
+    }
+
+    /**
+     * Partitions the specified range of the off-heap collection using two pivots
+     * as a single step of the Dual-Pivot Quicksort algorithm. After partitioning range
+     * {@code [left, bounds[0]]} contains elements less than first pivot, range {@code [bounds[1], right]}
+     * contains elements greater than second pivot and range {@code [bounds[2], bounds[3]]} contains
+     * elements between pivots (it is empty if all elements between pivots are equal).
+     * All other elements of the range are already in their final positions.
+     *
+     * @param a the off-heap collection to be partitioned
+     * @param left the index of the first element, inclusive, to be partitioned,
+     *             range must not be shorter than {@code 6} elements
+     * @param right the index of the last element, inclusive, to be partitioned
+     * @param bounds output array for partition bounds, must have length {@code 4}
      */
-    private static void dualPivotQuicksort(OffHeapLongAddressable a, long left, long right) {
+    static void dualPivotPartition(OffHeapLongAddressable a, long left, long right, long[] bounds) {
         // Compute indices of five evenly spaced elements
         long sixth = (right - left + 1) / 6;
         long e1 = left  + sixth;
@@ -279,15 +818,17 @@ public class OffHeapLongSorter {
         a.set(left, a.get(less - 1)); a.set(less - 1, pivot1);
         a.set(right, a.get(great + 1)); a.set(great + 1, pivot2);
 
-        // Sort left and right parts recursively, excluding known pivot values
-        doSort(a, left,   less - 2);
-        doSort(a, great + 2, right);
+        // Left and right parts are to be sorted, excluding known pivot values
+        bounds[0] = less - 2;
+        bounds[1] = great + 2;
 
         /*
          * If pivot1 == pivot2, all elements from center
          * part are equal and, therefore, already sorted
          */
         if (!pivotsDiffer) {
+            bounds[2] = 0;
+            bounds[3] = -1;
             return;
         }
 
@@ -345,8 +886,9 @@ public class OffHeapLongSorter {
             }
         }
 
-        // Sort center part recursively, excluding known pivot values
-        doSort(a, less, great);
+        // Center part is to be sorted, excluding known pivot values
+        bounds[2] = less;
+        bounds[3] = great;
     }
 
     /**
@@ -359,8 +901,9 @@ public class OffHeapLongSorter {
      * @param left  the index of the first element, inclusive, to be sorted
      * @param right the index of the last element, inclusive, to be sorted
      * @param comp  comparator that defines sort order
+     * @param bounds buffer for partition bounds, must have length {@code 4}
      */
-    private static void doSortWithComparator(OffHeapLongAddressable a, long left, long right, LongComp comp) {
+    private static void doSortWithComparator(OffHeapLongAddressable a, long left, long right, LongComp comp, long[] bounds) {
         // Use insertion sort on tiny arrays
         if (right - left + 1 < INSERTION_SORT_THRESHOLD) {
             for (long i = left + 1; i <= right; i++) {
@@ -372,7 +915,7 @@ public class OffHeapLongSorter {
                 a.set(j + 1, ai);
             }
         } else { // Use Dual-Pivot Quicksort on large arrays
-            dualPivotQuicksortWithComparator(a, left, right, comp);
+            dualPivotQuicksortWithComparator(a, left, right, comp, bounds);
         }
     }
 
@@ -384,8 +927,38 @@ public class OffHeapLongSorter {
       * @param left the index of the first element, inclusive, to be sorted
       * @param right the index of the last element, inclusive, to be sorted
       * @param comp  comparator that defines sort order
+      * @param bounds buffer for partition bounds, must have length {@code 4}
       */
-    private static void dualPivotQuicksortWithComparator(OffHeapLongAddressable a, long left, long right, LongComp comp) {
+    private static void dualPivotQuicksortWithComparator(OffHeapLongAddressable a, long left, long right, LongComp comp,
+                                                         long[] bounds) {
+        dualPivotPartitionWithComparator(a, left, right, comp, bounds);
+        long leftEnd = bounds[0];
+        long rightStart = bounds[1];
+        long centerStart = bounds[2];
+        long centerEnd = bounds[3];
+
+        // Sort left and right parts recursively, excluding known pivot values
+        doSortWithComparator(a, left, leftEnd, comp, bounds);
+        doSortWithComparator(a, rightStart, right, comp, bounds);
+
+        // Sort center part recursively, excluding known pivot values
+        doSortWithComparator(a, centerStart, centerEnd, comp, bounds);
+    }
+
+    /**
+     * Partitions the specified range of the off-heap collection using two pivots
+     * as a single step of the Dual-Pivot Quicksort algorithm. Partition bounds are
+     * reported the same way as in {@link #dualPivotPartition(OffHeapLongAddressable, long, long, long[])}.
+     *
+     * @param a the off-heap collection to be partitioned
+     * @param left the index of the first element, inclusive, to be partitioned,
+     *             range must not be shorter than {@code 6} elements
+     * @param right the index of the last element, inclusive, to be partitioned
+     * @param comp  comparator that defines sort order
+     * @param bounds output array for partition bounds, must have length {@code 4}
+     */
+    static void dualPivotPartitionWithComparator(OffHeapLongAddressable a, long left, long right, LongComp comp,
+                                                 long[] bounds) {
         // Compute indices of five evenly spaced elements
         long sixth = (right - left + 1) / 6;
         long e1 = left  + sixth;
@@ -534,15 +1107,17 @@ public class OffHeapLongSorter {
         a.set(left, a.get(less - 1)); a.set(less - 1, ae2);
         a.set(right, a.get(great + 1)); a.set(great + 1, ae4);
 
-        // Sort left and right parts recursively, excluding known pivot values
-        doSortWithComparator(a, left,   less - 2, comp);
-        doSortWithComparator(a, great + 2, right, comp);
+        // Left and right parts are to be sorted, excluding known pivot values
+        bounds[0] = less - 2;
+        bounds[1] = great + 2;
 
         /*
          * If pivot1 == pivot2, all elements from center
          * part are equal and, therefore, already sorted
          */
         if (!pivotsDiffer) {
+            bounds[2] = 0;
+            bounds[3] = -1;
             return;
         }
 
@@ -601,11 +1176,12 @@ public class OffHeapLongSorter {
             }
         }
 
-        // Sort center part recursively, excluding known pivot values
-        doSortWithComparator(a, less, great, comp);
+        // Center part is to be sorted, excluding known pivot values
+        bounds[2] = less;
+        bounds[3] = great;
     }
 
-    private static class LongComp {
+    static class LongComp {
         final OffHeapLongComparator comp;
 
         LongComp(OffHeapLongComparator comp) {
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+/**
+ * Single-producer single-consumer ring buffer, producer publishes elements with ordered
+ * write of its position and caches consumer position to avoid reading it on every offer
+ *
+ * @see OffHeapLongRingBuffer#singleProducer(long)
+ */
+class OffHeapLongSpscRingBuffer extends OffHeapLongRingBuffer {
+    // producer position
+    private final PaddedAtomicLong tail = new PaddedAtomicLong(0);
+    // producer-local cached consumer position
+    private long headCache = 0;
+
+    /**
+     * Constructor
+     *
+     * @param capacity min capacity, will be rounded up to the power of two
+     */
+    OffHeapLongSpscRingBuffer(long capacity) {
+        super(capacity);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean offer(long value) {
+        long t = tail.get();
+        if (t - headCache >= capacity) {
+            headCache = head.get();
+            if (t - headCache >= capacity) return false;
+        }
+        write(t, value);
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int offer(long[] src, int offset, int length) {
+        long t = tail.get();
+        if (t + length - headCache > capacity) headCache = head.get();
+        int count = (int) Math.min(length, capacity - (t - headCache));
+        for (int i = 0; i < count; i++) {
+            write(t + i, src[offset + i]);
+        }
+        tail.lazySet(t + count);
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    long published() {
+        return tail.get();
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import com.alexkasko.unsafe.offheap.OffHeapDisposable;
+import com.alexkasko.unsafe.offheap.OffHeapDisposableIterator;
+import com.alexkasko.unsafe.offheap.OffHeapMemory;
+
+/**
+ * <p>Implementation of fixed-size array of longs using {@link com.alexkasko.unsafe.offheap.OffHeapMemory},
+ * each value is stored using specified number of bits (from {@code 1} to {@code 64}).
+ * Optional frame-of-reference base may be specified, in that case differences between values and base
+ * are stored (values must not be less than base). Stored values are treated as unsigned,
+ * so with {@code 20} bits per value and {@code 0} base array may contain values from {@code 0} to {@code 2^20 - 1}.
+ *
+ * <p>Values may span two adjacent 64-bit words. Bulk {@link #get(long, long[], int, int)} and
+ * {@link #set(long, long[], int, int)} operations decode/encode values sequentially reading each
+ * word only once and should be used for block processing.
+ *
+ * <p>Values ranges are checked using {@code assert} keyword, with assertions disabled
+ * out-of-range value will be truncated to the specified number of bits.
+ * Array is zeroed after creation (all elements are equal to base).
+ * Allocated memory may be freed manually using {@link #free()} (thread-safe
+ * and may be called multiple times) or it will be freed after {@link OffHeapPackedLongArray}
+ * will be garbage collected.
+ *
+ * <p>Note: while class implements Iterable, iterator will create new autoboxed Long object
+ * <b>on every</b> {@code next()} call, this behaviour is inevitable with iterators in java 6/7.
+ */
+public class OffHeapPackedLongArray implements OffHeapLongAddressable, OffHeapDisposable, Iterable<Long> {
+    private final OffHeapMemory ohm;
+    private final long size;
+    private final int bits;
+    private final long mask;
+    private final long base;
+
+    /**
+     * Constructor, {@code 0} is used as a base
+     *
+     * @param size number of elements in array
+     * @param bits number of bits used to store each element, from {@code 1} to {@code 64}
+     */
+    public OffHeapPackedLongArray(long size, int bits) {
+        this(size, bits, 0);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param size number of elements in array
+     * @param bits number of bits used to store each element, from {@code 1} to {@code 64}
+     * @param base frame-of-reference base, all values must be greater or equal to base
+     */
+    public OffHeapPackedLongArray(long size, int bits, long base) {
+        if (size < 0) throw new IllegalArgumentException("Invalid size: [" + size + "]");
+        if (bits < 1 || bits > 64) throw new IllegalArgumentException(
+                "Invalid bits: [" + bits + "], must be from 1 to 64");
+        this.size = size;
+        this.bits = bits;
+        this.mask = 64 == bits ? -1L : (1L << bits) - 1;
+        this.base = base;
+        // additional word allows reading two words for each value
+        long words = ((size * bits + 63) >>> 6) + 1;
+        this.ohm = OffHeapMemory.allocateMemory(words * 8);
+        for (long i = 0; i < words; i++) {
+            ohm.putLong(i * 8, 0);
+        }
+    }
+
+    /**
+     * Computes minimal number of bits required to store values from {@code min} to {@code max}
+     * using {@code min} as a base
+     *
+     * @param min minimal value
+     * @param max maximal value
+     * @return number of bits
+     */
+    public static int bitsRequired(long min, long max) {
+        if (max < min) throw new IllegalArgumentException("Invalid range, min: [" + min + "], max: [" + max + "]");
+        return Math.max(1, 64 - Long.numberOfLeadingZeros(max - min));
+    }
+
+    /**
+     * Whether unsafe implementation of {@link OffHeapMemory} is used
+     *
+     * @return whether unsafe implementation of {@link OffHeapMemory} is used
+     */
+    public boolean isUnsafe() {
+        return ohm.isUnsafe();
+    }
+
+    /**
+     * Returns number of bits used to store each element
+     *
+     * @return number of bits used to store each element
+     */
+    public int bits() {
+        return bits;
+    }
+
+    /**
+     * Returns frame-of-reference base
+     *
+     * @return frame-of-reference base
+     */
+    public long base() {
+        return base;
+    }
+
+    /**
+     * Gets the element at position {@code index}
+     *
+     * @param index array index
+     * @return long value
+     */
+    @Override
+    public long get(long index) {
+        assert index >= 0 && index < size : index;
+        long bit = index * bits;
+        long word = bit >>> 6;
+        int offset = (int) (bit & 63);
+        long raw = ohm.getLong(word << 3) >>> offset;
+        if (offset + bits > 64) raw |= ohm.getLong((word + 1) << 3) << (64 - offset);
+        return (raw & mask) + base;
+    }
+
+    /**
+     * Sets the element at position {@code index} to the given value
+     *
+     * @param index array index
+     * @param value long value
+     */
+    @Override
+    public void set(long index, long value) {
+        assert index >= 0 && index < size : index;
+        long raw = value - base;
+        assert 64 == bits || (raw >>> bits) == 0 : value;
+        long bit = index * bits;
+        long word = bit >>> 6;
+        int offset = (int) (bit & 63);
+        long pos = word << 3;
+        ohm.putLong(pos, (ohm.getLong(pos) & ~(mask << offset)) | ((raw & mask) << offset));
+        if (offset + bits > 64) {
+            long next = pos + 8;
+            int shift = 64 - offset;
+            ohm.putLong(next, (ohm.getLong(next) & ~(mask >>> shift)) | ((raw & mask) >>> shift));
+        }
+    }
+
+    /**
+     * Decodes a block of elements into the specified array
+     *
+     * @param fromIndex index of the first element to decode
+     * @param dest destination array
+     * @param destOffset start position in destination array
+     * @param length number of elements to decode
+     */
+    public void get(long fromIndex, long[] dest, int destOffset, int length) {
+        if (fromIndex < 0 || length < 0 || fromIndex + length > size) throw new IllegalArgumentException(
+                "Illegal input, array size: [" + size + "], fromIndex: [" + fromIndex + "], length: [" + length + "]");
+        long bit = fromIndex * bits;
+        long pos = (bit >>> 6) << 3;
+        int offset = (int) (bit & 63);
+        long cur = ohm.getLong(pos);
+        for (int i = destOffset; i < destOffset + length; i++) {
+            long raw = cur >>> offset;
+            offset += bits;
+            if (offset >= 64) {
+                pos += 8;
+                long next = ohm.getLong(pos);
+                offset -= 64;
+                if (offset > 0) raw |= next << (bits - offset);
+                cur = next;
+            }
+            dest[i] = (raw & mask) + base;
+        }
+    }
+
+    /**
+     * Encodes a block of elements from the specified array
+     *
+     * @param fromIndex index of the first element to encode
+     * @param src source array
+     * @param srcOffset start position in source array
+     * @param length number of elements to encode
+     */
+    public void set(long fromIndex, long[] src, int srcOffset, int length) {
+        if (fromIndex < 0 || length < 0 || fromIndex + length > size) throw new IllegalArgumentException(
+                "Illegal input, array size: [" + size + "], fromIndex: [" + fromIndex + "], length: [" + length + "]");
+        if (0 == length) return;
+        long bit = fromIndex * bits;
+        long pos = (bit >>> 6) << 3;
+        int offset = (int) (bit & 63);
+        // keep bits of preceding elements
+        long cur = ohm.getLong(pos) & (0 == offset ? 0 : -1L >>> (64 - offset));
+        for (int i = srcOffset; i < srcOffset + length; i++) {
+            long raw = src[i] - base;
+            assert 64 == bits || (raw >>> bits) == 0 : src[i];
+            raw &= mask;
+            cur |= raw << offset;
+            offset += bits;
+            if (offset >= 64) {
+                ohm.putLong(pos, cur);
+                pos += 8;
+                offset -= 64;
+                cur = offset > 0 ? raw >>> (bits - offset) : 0;
+            }
+        }
+        // keep bits of following elements
+        if (offset > 0) {
+            long keep = ohm.getLong(pos) & (-1L << offset);
+            ohm.putLong(pos, cur | keep);
+        }
+    }
+
+    /**
+     * Returns number of elements in array
+     *
+     * @return number of elements in array
+     */
+    @Override
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Frees allocated memory, may be called multiple times from any thread
+     */
+    @Override
+    public void free() {
+        ohm.free();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OffHeapDisposableIterator<Long> iterator() {
+        return new OffHeapLongIterator(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("OffHeapPackedLongArray");
+        sb.append("{size=").append(size);
+        sb.append(", bits=").append(bits);
+        sb.append(", base=").append(base);
+        sb.append(", unsafe=").append(isUnsafe());
+        sb.append('}');
+        return sb.toString();
+    }
+}
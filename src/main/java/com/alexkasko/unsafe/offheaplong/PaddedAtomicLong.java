@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link AtomicLong} padded with unused fields to occupy the whole cache line,
+ * prevents false sharing between counters updated by different threads
+ */
+class PaddedAtomicLong extends AtomicLong {
+    private static final long serialVersionUID = 4716273612385926481L;
+
+    // padding: six longs placed after the AtomicLong value field, with the value and the object header
+    // the instance takes at least 64 bytes (typical cache line size), so values of two instances
+    // are never in the same line; JVM doesn't remove unused fields
+    @SuppressWarnings("unused")
+    private long p1, p2, p3, p4, p5, p6;
+
+    /**
+     * Constructor
+     *
+     * @param initialValue initial value
+     */
+    PaddedAtomicLong(long initialValue) {
+        super(initialValue);
+    }
+}
@@ -20,6 +20,9 @@
  * <p>This package contains implementations of fixed-sized array of longs ({@link com.alexkasko.unsafe.offheaplong.OffHeapLongArray})
  * and growing array list of longs ({@link com.alexkasko.unsafe.offheaplong.OffHeapLongArrayList}). Both classes are implemented on top of
  * {@link com.alexkasko.unsafe.offheap.OffHeapMemory}.
+ * Array list that grows by adding fixed-size segments without copying is implemented in
+ * {@link com.alexkasko.unsafe.offheaplong.OffHeapLongSegmentedArrayList}.
+ * Priority queue of longs is implemented in {@link com.alexkasko.unsafe.offheaplong.OffHeapLongHeap}.
  *
  * <h2>Features</h2>
  * <ul>
@@ -39,13 +42,44 @@
  *     <li>sorting using {@link com.alexkasko.unsafe.offheaplong.OffHeapLongSorter}: implementation of Dual-Pivot quicksort algorithm
  *      adapted to off-heap collections</li>
  *     <li>sorting with order defined by {@code com.alexkasko.unsafe.offheaplong.OffHeapLongComparator}</li>
+ *     <li>parallel in-place sorting using {@link java.util.concurrent.Executor}:
+ *     {@link com.alexkasko.unsafe.offheaplong.OffHeapLongSorter#sortParallel(java.util.concurrent.Executor, int, com.alexkasko.unsafe.offheaplong.OffHeapLongAddressable)}</li>
+ *     <li>LSD radix sorting of signed and unsigned values using temporary buffer:
+ *     {@link com.alexkasko.unsafe.offheaplong.OffHeapLongSorter#radixSort(com.alexkasko.unsafe.offheaplong.OffHeapLongAddressable)},
+ *     digits handling shared with struct radix sorting is in {@link com.alexkasko.unsafe.offheaplong.LongRadixDigits}</li>
+ *     <li>selection of the n-th element, partial sorting and top-K elements retrieval without full sorting:
+ *     {@link com.alexkasko.unsafe.offheaplong.OffHeapLongSorter#select(com.alexkasko.unsafe.offheaplong.OffHeapLongAddressable, long)}</li>
+ *     <li>sorting of the keys collection together with parallel payload collections:
+ *     {@link com.alexkasko.unsafe.offheaplong.OffHeapLongSorter#sort(com.alexkasko.unsafe.offheaplong.OffHeapLongAddressable, com.alexkasko.unsafe.offheaplong.OffHeapLongAddressable...)}</li>
+ *     <li>stable indirect sorting returning the permutation of indices and permutation applying:
+ *     {@link com.alexkasko.unsafe.offheaplong.OffHeapLongSorter#argsort(com.alexkasko.unsafe.offheaplong.OffHeapLongAddressable)}</li>
+ *     <li>external merge sorting of data those doesn't fit into memory using temporary files:
+ *     {@link com.alexkasko.unsafe.offheaplong.OffHeapLongExternalSorter}</li>
  *     <li>binary search over sorted collections using {@link com.alexkasko.unsafe.offheaplong.OffHeapLongBinarySearch}</li>
  *     <li>binary search returning ranges of equal values:
  *     {@link com.alexkasko.unsafe.offheaplong.OffHeapLongBinarySearch#binarySearchRange(com.alexkasko.unsafe.offheap.OffHeapAddressable, long, com.alexkasko.unsafe.offheaplong.OffHeapLongBinarySearch.IndexRange)}</li>
+ *     <li>cache-friendly search over large sorted collections using Eytzinger layout:
+ *     {@link com.alexkasko.unsafe.offheaplong.OffHeapLongEytzingerIndex}</li>
+ *     <li>union, intersection and difference of sorted collections using
+ *     {@link com.alexkasko.unsafe.offheaplong.OffHeapLongSetOperations}</li>
+ *     <li>K-way merge of sorted collections into list or primitive cursor using
+ *     {@link com.alexkasko.unsafe.offheaplong.OffHeapLongMerger}</li>
+ *     <li>compressed immutable representation of sorted collections with random access:
+ *     {@link com.alexkasko.unsafe.offheaplong.OffHeapLongEliasFano}</li>
+ *     <li>sequential and parallel sum, min, max, counting, histogram and prefix sums using
+ *     {@link com.alexkasko.unsafe.offheaplong.OffHeapLongAggregates}</li>
+ *     <li>lock-free bounded queues with batch drain for passing values between threads:
+ *     {@link com.alexkasko.unsafe.offheaplong.OffHeapLongRingBuffer}</li>
+ *     <li>lock-free append from multiple threads with safe reading of published elements:
+ *     {@link com.alexkasko.unsafe.offheaplong.OffHeapLongConcurrentArrayList}</li>
  * </ul>
  *
  * <h2>Long packing</h2>
  * <p>{@link com.alexkasko.unsafe.offheaplong.LongPacker} - utility class for storing one int primitive and one long with bounded value into one long
+ * <p>{@link com.alexkasko.unsafe.offheaplong.LongFieldPacker} - packs multiple fields with arbitrary widths into one long
+ * so that packed values sorting orders them by fields priority
+ * <p>{@link com.alexkasko.unsafe.offheaplong.OffHeapPackedLongArray} - fixed-size array storing each value in specified
+ * number of bits with optional frame-of-reference base
  *
  * <h2>Usage example in tests (github links)</h2>
  * <ul>
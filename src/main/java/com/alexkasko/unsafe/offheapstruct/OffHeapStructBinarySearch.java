@@ -28,6 +28,10 @@ import java.io.Serializable;
  * @see com.alexkasko.unsafe.offheapstruct.OffHeapStructSorter
  */
 public class OffHeapStructBinarySearch {
+    /**
+     * Number of searches interleaved in batch search
+     */
+    private static final int BATCH_GROUP_SIZE = 16;
 
 
     // long key part
@@ -132,6 +136,78 @@ public class OffHeapStructBinarySearch {
         out.set(from, to);
     }
 
+    /**
+     * Performs binary searches for all the {@code values} in the ascending sorted off-heap struct collection
+     * using long struct key. Searches are done in groups, searches of one group are interleaved so memory loads
+     * for different values are independent and may be processed by CPU in parallel.
+     * Searching in an unsorted collection has an undefined result. Unlike single value search,
+     * the index of the first occurrence is returned if there are multiple occurrences of the same element.
+     *
+     * @param collection the sorted collection to search.
+     * @param values the elements to find, don't need to be sorted
+     * @param keyOffset long key field offset within stuct bounds
+     * @param results array for search results, for each value contains non-negative index of the element,
+     *                or a negative index which is {@code -index - 1} where the element would be inserted.
+     * @throws IllegalArgumentException if results array is shorter than values array
+     */
+    public static void binarySearchBatchByLongKey(OffHeapStructCollection collection, long[] values, int keyOffset,
+                                                  long[] results) {
+        binarySearchBatchByLongKey(collection, 0, collection.size(), values, keyOffset, results);
+    }
+
+    /**
+     * Performs binary searches for all the {@code values} in the ascending sorted off-heap struct collection
+     * using long struct key in the range specified by fromIndex (inclusive) and toIndex (exclusive).
+     * Searches are done in groups, searches of one group are interleaved so memory loads
+     * for different values are independent and may be processed by CPU in parallel.
+     * Searching in an unsorted collection has an undefined result. Unlike single value search,
+     * the index of the first occurrence is returned if there are multiple occurrences of the same element.
+     *
+     * @param collection the sorted collection to search.
+     * @param startIndex the inclusive start index.
+     * @param endIndex   the exclusive end index.
+     * @param values the elements to find, don't need to be sorted
+     * @param keyOffset long key field offset within stuct bounds
+     * @param results array for search results, for each value contains non-negative index of the element,
+     *                or a negative index which is {@code -index - 1} where the element would be inserted.
+     * @throws IllegalArgumentException {@code if (startIndex < 0 || startIndex > endIndex || endIndex > collection.size()}
+     *         or if results array is shorter than values array
+     */
+    public static void binarySearchBatchByLongKey(OffHeapStructCollection collection, long startIndex, long endIndex,
+                                                  long[] values, int keyOffset, long[] results) {
+        if (startIndex < 0 || startIndex > endIndex || endIndex > collection.size()) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + collection.size() + "], " +
+                    "startIndex: [" + startIndex + "], endIndex: [" + endIndex + "]");
+        }
+        if (results.length < values.length) throw new IllegalArgumentException(
+                "Illegal input, values length: [" + values.length + "], results length: [" + results.length + "]");
+        long[] base = new long[BATCH_GROUP_SIZE];
+        for (int from = 0; from < values.length; from += BATCH_GROUP_SIZE) {
+            int to = Math.min(from + BATCH_GROUP_SIZE, values.length);
+            if (startIndex == endIndex) {
+                for (int i = from; i < to; i++) results[i] = ~startIndex;
+                continue;
+            }
+            for (int i = from; i < to; i++) base[i - from] = startIndex;
+            // all searches in group do the same number of steps
+            long len = endIndex - startIndex;
+            while (len > 1) {
+                long half = len >>> 1;
+                for (int i = from; i < to; i++) {
+                    long b = base[i - from];
+                    base[i - from] = collection.getLong(b + half - 1, keyOffset) < values[i] ? b + half : b;
+                }
+                len -= half;
+            }
+            for (int i = from; i < to; i++) {
+                long b = base[i - from];
+                long val = collection.getLong(b, keyOffset);
+                if (val == values[i]) results[i] = b;
+                else results[i] = val < values[i] ? ~(b + 1) : ~b;
+            }
+        }
+    }
+
 
     // int key part
 
@@ -235,6 +311,78 @@ public class OffHeapStructBinarySearch {
         out.set(from, to);
     }
 
+    /**
+     * Performs binary searches for all the {@code values} in the ascending sorted off-heap struct collection
+     * using int struct key. Searches are done in groups, searches of one group are interleaved so memory loads
+     * for different values are independent and may be processed by CPU in parallel.
+     * Searching in an unsorted collection has an undefined result. Unlike single value search,
+     * the index of the first occurrence is returned if there are multiple occurrences of the same element.
+     *
+     * @param collection the sorted collection to search.
+     * @param values the elements to find, don't need to be sorted
+     * @param keyOffset int key field offset within stuct bounds
+     * @param results array for search results, for each value contains non-negative index of the element,
+     *                or a negative index which is {@code -index - 1} where the element would be inserted.
+     * @throws IllegalArgumentException if results array is shorter than values array
+     */
+    public static void binarySearchBatchByIntKey(OffHeapStructCollection collection, long[] values, int keyOffset,
+                                                  long[] results) {
+        binarySearchBatchByIntKey(collection, 0, collection.size(), values, keyOffset, results);
+    }
+
+    /**
+     * Performs binary searches for all the {@code values} in the ascending sorted off-heap struct collection
+     * using int struct key in the range specified by fromIndex (inclusive) and toIndex (exclusive).
+     * Searches are done in groups, searches of one group are interleaved so memory loads
+     * for different values are independent and may be processed by CPU in parallel.
+     * Searching in an unsorted collection has an undefined result. Unlike single value search,
+     * the index of the first occurrence is returned if there are multiple occurrences of the same element.
+     *
+     * @param collection the sorted collection to search.
+     * @param startIndex the inclusive start index.
+     * @param endIndex   the exclusive end index.
+     * @param values the elements to find, don't need to be sorted
+     * @param keyOffset int key field offset within stuct bounds
+     * @param results array for search results, for each value contains non-negative index of the element,
+     *                or a negative index which is {@code -index - 1} where the element would be inserted.
+     * @throws IllegalArgumentException {@code if (startIndex < 0 || startIndex > endIndex || endIndex > collection.size()}
+     *         or if results array is shorter than values array
+     */
+    public static void binarySearchBatchByIntKey(OffHeapStructCollection collection, long startIndex, long endIndex,
+                                                  long[] values, int keyOffset, long[] results) {
+        if (startIndex < 0 || startIndex > endIndex || endIndex > collection.size()) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + collection.size() + "], " +
+                    "startIndex: [" + startIndex + "], endIndex: [" + endIndex + "]");
+        }
+        if (results.length < values.length) throw new IllegalArgumentException(
+                "Illegal input, values length: [" + values.length + "], results length: [" + results.length + "]");
+        long[] base = new long[BATCH_GROUP_SIZE];
+        for (int from = 0; from < values.length; from += BATCH_GROUP_SIZE) {
+            int to = Math.min(from + BATCH_GROUP_SIZE, values.length);
+            if (startIndex == endIndex) {
+                for (int i = from; i < to; i++) results[i] = ~startIndex;
+                continue;
+            }
+            for (int i = from; i < to; i++) base[i - from] = startIndex;
+            // all searches in group do the same number of steps
+            long len = endIndex - startIndex;
+            while (len > 1) {
+                long half = len >>> 1;
+                for (int i = from; i < to; i++) {
+                    long b = base[i - from];
+                    base[i - from] = collection.getInt(b + half - 1, keyOffset) < values[i] ? b + half : b;
+                }
+                len -= half;
+            }
+            for (int i = from; i < to; i++) {
+                long b = base[i - from];
+                long val = collection.getInt(b, keyOffset);
+                if (val == values[i]) results[i] = b;
+                else results[i] = val < values[i] ? ~(b + 1) : ~b;
+            }
+        }
+    }
+
     /**
      * {@link OffHeapStructCollection} index range representation.
      * Was made mutable to prevent new object instantiation for each search.
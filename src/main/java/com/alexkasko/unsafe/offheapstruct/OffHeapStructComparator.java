@@ -140,6 +140,29 @@ class OffHeapStructComparator {
         return comp.compare(ia1, baa2);
     }
 
+    /**
+     * Calls {@code compare} on comparator and return it results
+     *
+     * @param struct1 structure
+     * @param struct2 structure
+     * @return compare result from comparator
+     */
+    int compare(byte[] struct1, byte[] struct2) {
+        baa1.setStruct(struct1);
+        baa2.setStruct(struct2);
+        return comp.compare(baa1, baa2);
+    }
+
+    /**
+     * Returns adapter of this comparator to byte array structs,
+     * it shares accessors with this instance and is NOT thread-safe too
+     *
+     * @return byte array structs comparator
+     */
+    Comparator<byte[]> structsComparator() {
+        return new StructsComparator(this);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -152,6 +175,30 @@ class OffHeapStructComparator {
         return sb.toString();
     }
 
+    /**
+     * Adapts comparator wrapper to byte array structs
+     */
+    private static class StructsComparator implements Comparator<byte[]> {
+        private final OffHeapStructComparator comp;
+
+        /**
+         * Constructor
+         *
+         * @param comp comparator wrapper
+         */
+        private StructsComparator(OffHeapStructComparator comp) {
+            this.comp = comp;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int compare(byte[] s1, byte[] s2) {
+            return comp.compare(s1, s2);
+        }
+    }
+
     /**
      * Struct's accessor implementation for byte array structs
      *
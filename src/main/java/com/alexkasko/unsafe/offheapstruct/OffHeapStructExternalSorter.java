@@ -0,0 +1,698 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheapstruct;
+
+import com.alexkasko.unsafe.offheap.OffHeapDisposableIterator;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>External (out-of-core) merge sort for structs those don't fit into memory.
+ * Input is read into off-heap {@link OffHeapStructArray} chunk limited by the memory limit, each chunk
+ * is sorted using {@link OffHeapStructSorter} and written into temporary file as a sorted run.
+ * Runs are merged using loser tree reading no more than {@code mergeFanIn} runs at once,
+ * intermediate merge passes are done if there are more runs. If all input fits into one chunk,
+ * no files are written.
+ *
+ * <p>Chunk memory is allocated while input arrives: chunk consists of parts, each next part is as large
+ * as all the previous ones together (first part takes about {@code 512KB}), so small inputs don't allocate
+ * the whole limit and no data is copied on growth. Parts are sorted separately and merged using loser tree.
+ * Memory limit covers only the chunk, direct buffers of {@code 64KB} are allocated in addition to it:
+ * one for writing a run and one for each run merged at once.
+ *
+ * <p>Sort order is defined the same way as in {@link OffHeapStructSorter}: by signed or unsigned long or int
+ * key or by comparator, sorter instances are created using static factory methods.
+ * Files are read and written using {@link java.nio.channels.FileChannel} with direct buffers,
+ * structs are stored in files one after another without any headers. Sorted result may be written into
+ * the output file or obtained as an iterator, temporary files are deleted when the iterator is freed.
+ * Sorter instance holds no state between sort calls and may be used from multiple threads.
+ */
+public class OffHeapStructExternalSorter {
+    private static final int DEFAULT_MERGE_FAN_IN = 64;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int FIRST_PART_SIZE = 1 << 19;
+
+    private final File tempDir;
+    private final long memoryLimit;
+    private final int mergeFanIn;
+    private final int structLength;
+    private final OffHeapStructKeyType keyType;
+    private final int keyOffset;
+    private final Comparator<OffHeapStructAccessor> comparator;
+
+    /**
+     * Private constructor, use static factory methods
+     *
+     * @param tempDir directory for temporary files
+     * @param memoryLimit max size of off-heap memory (in bytes) to use for in-memory sorting,
+     *                    IO buffers are not included
+     * @param mergeFanIn max number of runs to merge at once, each merged run requires {@code 64KB} buffer
+     *                   in addition to {@code memoryLimit}
+     * @param structLength length of the single struct in bytes
+     * @param keyType key type, null if comparator is used
+     * @param keyOffset key offset in struct
+     * @param comparator comparator, used only if key type is null
+     */
+    private OffHeapStructExternalSorter(File tempDir, long memoryLimit, int mergeFanIn, int structLength,
+                                        OffHeapStructKeyType keyType, int keyOffset, Comparator<OffHeapStructAccessor> comparator) {
+        if (null == tempDir) throw new IllegalArgumentException("Provided tempDir is null");
+        if (structLength <= 0) throw new IllegalArgumentException("Invalid structLength: [" + structLength + "]");
+        if (memoryLimit < structLength) throw new IllegalArgumentException(
+                "Invalid memoryLimit: [" + memoryLimit + "], structLength: [" + structLength + "]");
+        if (mergeFanIn < 2) throw new IllegalArgumentException("Invalid mergeFanIn: [" + mergeFanIn + "]");
+        this.tempDir = tempDir;
+        this.memoryLimit = memoryLimit;
+        this.mergeFanIn = mergeFanIn;
+        this.structLength = structLength;
+        this.keyType = keyType;
+        this.keyOffset = keyOffset;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Creates sorter that sorts structs by signed long key
+     *
+     * @param tempDir directory for temporary files
+     * @param memoryLimit max size of off-heap memory (in bytes) to use for in-memory sorting,
+     *                    IO buffers are not included
+     * @param structLength length of the single struct in bytes
+     * @param keyOffset key offset in struct
+     * @return sorter instance
+     */
+    public static OffHeapStructExternalSorter byLongKey(File tempDir, long memoryLimit, int structLength, int keyOffset) {
+        return new OffHeapStructExternalSorter(tempDir, memoryLimit, DEFAULT_MERGE_FAN_IN, structLength,
+                OffHeapStructKeyType.LONG, keyOffset, null);
+    }
+
+    /**
+     * Creates sorter that sorts structs by unsigned long key
+     *
+     * @param tempDir directory for temporary files
+     * @param memoryLimit max size of off-heap memory (in bytes) to use for in-memory sorting,
+     *                    IO buffers are not included
+     * @param structLength length of the single struct in bytes
+     * @param keyOffset key offset in struct
+     * @return sorter instance
+     */
+    public static OffHeapStructExternalSorter byUnsignedLongKey(File tempDir, long memoryLimit, int structLength, int keyOffset) {
+        return new OffHeapStructExternalSorter(tempDir, memoryLimit, DEFAULT_MERGE_FAN_IN, structLength,
+                OffHeapStructKeyType.UNSIGNED_LONG, keyOffset, null);
+    }
+
+    /**
+     * Creates sorter that sorts structs by signed int key
+     *
+     * @param tempDir directory for temporary files
+     * @param memoryLimit max size of off-heap memory (in bytes) to use for in-memory sorting,
+     *                    IO buffers are not included
+     * @param structLength length of the single struct in bytes
+     * @param keyOffset key offset in struct
+     * @return sorter instance
+     */
+    public static OffHeapStructExternalSorter byIntKey(File tempDir, long memoryLimit, int structLength, int keyOffset) {
+        return new OffHeapStructExternalSorter(tempDir, memoryLimit, DEFAULT_MERGE_FAN_IN, structLength,
+                OffHeapStructKeyType.INT, keyOffset, null);
+    }
+
+    /**
+     * Creates sorter that sorts structs by unsigned int key
+     *
+     * @param tempDir directory for temporary files
+     * @param memoryLimit max size of off-heap memory (in bytes) to use for in-memory sorting,
+     *                    IO buffers are not included
+     * @param structLength length of the single struct in bytes
+     * @param keyOffset key offset in struct
+     * @return sorter instance
+     */
+    public static OffHeapStructExternalSorter byUnsignedIntKey(File tempDir, long memoryLimit, int structLength, int keyOffset) {
+        return new OffHeapStructExternalSorter(tempDir, memoryLimit, DEFAULT_MERGE_FAN_IN, structLength,
+                OffHeapStructKeyType.UNSIGNED_INT, keyOffset, null);
+    }
+
+    /**
+     * Creates sorter that sorts structs using comparator
+     *
+     * @param tempDir directory for temporary files
+     * @param memoryLimit max size of off-heap memory (in bytes) to use for in-memory sorting,
+     *                    IO buffers are not included
+     * @param structLength length of the single struct in bytes
+     * @param comparator comparator that defines sort order
+     * @return sorter instance
+     */
+    public static OffHeapStructExternalSorter withComparator(File tempDir, long memoryLimit, int structLength,
+                                                             Comparator<OffHeapStructAccessor> comparator) {
+        if (null == comparator) throw new IllegalArgumentException("Provided comparator is null");
+        return new OffHeapStructExternalSorter(tempDir, memoryLimit, DEFAULT_MERGE_FAN_IN, structLength,
+                null, 0, comparator);
+    }
+
+    /**
+     * Returns copy of this sorter with changed max number of runs to merge at once ({@code 64} by default),
+     * each merged run requires {@code 64KB} buffer in addition to the memory limit
+     *
+     * @param mergeFanIn max number of runs to merge at once
+     * @return new sorter instance
+     */
+    public OffHeapStructExternalSorter withMergeFanIn(int mergeFanIn) {
+        return new OffHeapStructExternalSorter(tempDir, memoryLimit, mergeFanIn, structLength,
+                keyType, keyOffset, comparator);
+    }
+
+    /**
+     * Sorts structs from the input iterator. Input iterator is read till the end and is not freed,
+     * it may return the same array on each {@code next()} call.
+     *
+     * @param input input structs
+     * @return iterator over sorted structs, returns the same array on each {@code next()} call,
+     *         must be freed after use to delete temporary files
+     * @throws IOException on temporary files IO error
+     */
+    public OffHeapDisposableIterator<byte[]> sort(Iterator<byte[]> input) throws IOException {
+        List<File> runs = new ArrayList<File>();
+        Chunk chunk = new Chunk(memoryLimit / structLength);
+        long total = 0;
+        boolean success = false;
+        try {
+            for (;;) {
+                total += chunk.fill(input);
+                OffHeapDisposableIterator<byte[]> sorted = chunk.sort();
+                if (runs.isEmpty() && !input.hasNext()) {
+                    // all input fits into memory
+                    success = true;
+                    return sorted;
+                }
+                // chunk is reused for the next run, iterator is not freed
+                runs.add(writeRun(sorted));
+                if (!input.hasNext()) break;
+            }
+            chunk.free();
+            OffHeapDisposableIterator<byte[]> res = merge(runs, total);
+            success = true;
+            return res;
+        } finally {
+            if (!success) {
+                chunk.free();
+                for (File fi : runs) {
+                    deleteQuietly(fi);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts all structs of the collection, collection is not changed
+     *
+     * @param input input collection
+     * @return iterator over sorted structs, returns the same array on each {@code next()} call,
+     *         must be freed after use to delete temporary files
+     * @throws IOException on temporary files IO error
+     */
+    public OffHeapDisposableIterator<byte[]> sort(OffHeapStructCollection input) throws IOException {
+        checkStructLength(input.structLength());
+        // iterator is not freed, it would free the collection
+        return sort(input.iterator());
+    }
+
+    /**
+     * Sorts structs from the input iterator writing them into output file.
+     * Input iterator is read till the end and is not freed.
+     *
+     * @param input input structs
+     * @param output output file, will be overwritten
+     * @throws IOException on IO error
+     */
+    public void sort(Iterator<byte[]> input, File output) throws IOException {
+        OffHeapDisposableIterator<byte[]> sorted = sort(input);
+        try {
+            write(sorted, output);
+        } finally {
+            sorted.free();
+        }
+    }
+
+    /**
+     * Sorts all structs of the collection writing them into output file, collection is not changed
+     *
+     * @param input input collection
+     * @param output output file, will be overwritten
+     * @throws IOException on IO error
+     */
+    public void sort(OffHeapStructCollection input, File output) throws IOException {
+        checkStructLength(input.structLength());
+        sort(input.iterator(), output);
+    }
+
+    /**
+     * Sorts structs from the input file writing them into output file
+     *
+     * @param input input file with structs stored one after another
+     * @param output output file, will be overwritten, must differ from input file
+     * @throws IOException on IO error
+     */
+    public void sort(File input, File output) throws IOException {
+        FileIter in = new FileIter(input, structLength, false);
+        try {
+            sort(in, output);
+        } finally {
+            in.free();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("OffHeapStructExternalSorter");
+        sb.append("{tempDir=").append(tempDir);
+        sb.append(", memoryLimit=").append(memoryLimit);
+        sb.append(", mergeFanIn=").append(mergeFanIn);
+        sb.append(", structLength=").append(structLength);
+        sb.append(", keyType=").append(keyType);
+        sb.append(", keyOffset=").append(keyOffset);
+        sb.append(", comparator=").append(comparator);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Checks that collection struct length equals to sorter struct length
+     *
+     * @param length collection struct length
+     */
+    private void checkStructLength(int length) {
+        if (length != structLength) throw new IllegalArgumentException(
+                "Illegal input, collection structLength: [" + length + "], sorter structLength: [" + structLength + "]");
+    }
+
+    /**
+     * Sorts the first {@code count} structs of the chunk part
+     *
+     * @param chunk chunk part
+     * @param count number of structs in part
+     */
+    private void sortChunk(OffHeapStructArray chunk, long count) {
+        if (count < 2) return;
+        if (null != keyType) keyType.sort(chunk, 0, count, keyOffset);
+        else OffHeapStructSorter.sort(chunk, comparator, 0, count);
+    }
+
+    /**
+     * Creates byte array comparator for merging, new instance should be used for each merge
+     * as comparator wrapper is not thread-safe
+     *
+     * @return byte array comparator
+     */
+    private Comparator<byte[]> mergeComparator() {
+        if (null != keyType) return keyType.comparator(keyOffset);
+        return new OffHeapStructComparator(null, comparator).structsComparator();
+    }
+
+    /**
+     * Merges runs, does intermediate passes while there are more than {@code mergeFanIn} runs
+     *
+     * @param runs sorted run files, will be deleted
+     * @param total total number of structs in runs
+     * @return iterator over merged structs, deletes remaining runs on free
+     * @throws IOException on IO error
+     */
+    private OffHeapDisposableIterator<byte[]> merge(List<File> runs, long total) throws IOException {
+        LinkedList<File> queue = new LinkedList<File>(runs);
+        try {
+            while (queue.size() > mergeFanIn) {
+                List<File> pass = new ArrayList<File>(queue.subList(0, mergeFanIn));
+                OffHeapDisposableIterator<byte[]> merged = open(pass, -1);
+                // opened runs are owned by merged iterator, others are still deleted from the queue on error
+                for (int i = 0; i < mergeFanIn; i++) {
+                    queue.removeFirst();
+                }
+                try {
+                    queue.addLast(writeRun(merged));
+                } finally {
+                    merged.free();
+                }
+            }
+            OffHeapDisposableIterator<byte[]> res = open(queue, total);
+            queue.clear();
+            return res;
+        } finally {
+            for (File fi : queue) {
+                deleteQuietly(fi);
+            }
+        }
+    }
+
+    /**
+     * Opens loser tree over the run files
+     *
+     * @param runs sorted run files, will be deleted on tree free
+     * @param total total number of structs in runs, {@code -1} if unknown
+     * @return loser tree iterator
+     * @throws IOException on IO error
+     */
+    private OffHeapDisposableIterator<byte[]> open(List<File> runs, long total) throws IOException {
+        List<FileIter> iters = new ArrayList<FileIter>(runs.size());
+        try {
+            for (File fi : runs) {
+                iters.add(new FileIter(fi, structLength, true));
+            }
+        } catch (IOException e) {
+            for (FileIter it : iters) {
+                it.free();
+            }
+            throw e;
+        }
+        return new OffHeapStructLoserTree(iters, structLength, mergeComparator(), total);
+    }
+
+    /**
+     * Writes iterator contents into new temporary file
+     *
+     * @param iter structs to write
+     * @return temporary file
+     * @throws IOException on IO error
+     */
+    private File writeRun(Iterator<byte[]> iter) throws IOException {
+        File run = File.createTempFile("offheapstruct_", ".run", tempDir);
+        try {
+            write(iter, run);
+            return run;
+        } catch (IOException e) {
+            deleteQuietly(run);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes iterator contents into file
+     *
+     * @param iter structs to write
+     * @param file output file
+     * @throws IOException on IO error
+     */
+    private void write(Iterator<byte[]> iter, File file) throws IOException {
+        FileOutputStream os = new FileOutputStream(file);
+        try {
+            FileChannel channel = os.getChannel();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_SIZE / structLength, 1) * structLength);
+            while (iter.hasNext()) {
+                buffer.put(iter.next(), 0, structLength);
+                if (!buffer.hasRemaining()) {
+                    flush(channel, buffer);
+                }
+            }
+            flush(channel, buffer);
+        } finally {
+            os.close();
+        }
+    }
+
+    /**
+     * Writes buffer contents into channel and clears the buffer
+     *
+     * @param channel file channel
+     * @param buffer buffer in write mode
+     * @throws IOException on IO error
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Deletes file ignoring errors
+     *
+     * @param file file to delete
+     */
+    private static void deleteQuietly(File file) {
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+
+    /**
+     * In-memory chunk, parts are allocated on demand up to the max length
+     */
+    private class Chunk {
+        private final long maxLength;
+        private final List<OffHeapStructArray> parts = new ArrayList<OffHeapStructArray>();
+        private long capacity = 0;
+        private long size = 0;
+
+        /**
+         * Constructor
+         *
+         * @param maxLength max number of structs in all parts
+         */
+        Chunk(long maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * Replaces chunk contents with the next structs from input, allocates parts while input
+         * has more structs and max length is not reached
+         *
+         * @param input input structs
+         * @return number of structs read
+         */
+        long fill(Iterator<byte[]> input) {
+            size = 0;
+            for (int i = 0; input.hasNext(); i++) {
+                if (i == parts.size()) {
+                    if (capacity == maxLength) break;
+                    long len = 0 == capacity ? Math.min(maxLength, Math.max(FIRST_PART_SIZE / structLength, 1)) :
+                            Math.min(capacity, maxLength - capacity);
+                    parts.add(new OffHeapStructArray(len, structLength));
+                    capacity += len;
+                }
+                OffHeapStructArray part = parts.get(i);
+                long count = 0;
+                while (count < part.size() && input.hasNext()) {
+                    part.set(count++, input.next());
+                }
+                size += count;
+            }
+            return size;
+        }
+
+        /**
+         * Sorts all parts
+         *
+         * @return iterator over sorted structs, frees all parts on free
+         */
+        OffHeapDisposableIterator<byte[]> sort() {
+            List<ArrayIter> iters = new ArrayList<ArrayIter>(parts.size());
+            long remaining = size;
+            for (OffHeapStructArray part : parts) {
+                long count = Math.min(part.size(), remaining);
+                sortChunk(part, count);
+                iters.add(new ArrayIter(part, count));
+                remaining -= count;
+            }
+            if (1 == iters.size()) return iters.get(0);
+            return new OffHeapStructLoserTree(iters, structLength, mergeComparator(), size);
+        }
+
+        /**
+         * Frees all parts
+         */
+        void free() {
+            for (OffHeapStructArray part : parts) {
+                part.free();
+            }
+        }
+    }
+
+    /**
+     * Iterator over the sorted in-memory chunk part, frees part on free
+     */
+    private static class ArrayIter implements OffHeapDisposableIterator<byte[]> {
+        private final OffHeapStructArray data;
+        private final long size;
+        private final byte[] buffer;
+        private long index = 0;
+
+        /**
+         * Constructor
+         *
+         * @param data chunk part
+         * @param size number of structs in part
+         */
+        ArrayIter(OffHeapStructArray data, long size) {
+            this.data = data;
+            this.size = size;
+            this.buffer = new byte[data.structLength()];
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public byte[] next() {
+            if (index >= size) throw new NoSuchElementException();
+            data.get(index++, buffer);
+            return buffer;
+        }
+
+        /**
+         * Remove operation is not supported
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long size() {
+            return size;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void free() {
+            data.free();
+        }
+    }
+
+    /**
+     * Buffered iterator over the file with structs
+     */
+    private static class FileIter implements OffHeapDisposableIterator<byte[]> {
+        private final File file;
+        private final boolean deleteOnFree;
+        private final FileInputStream is;
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final byte[] struct;
+        private boolean eof = false;
+
+        /**
+         * Constructor
+         *
+         * @param file file to read
+         * @param structLength length of the single struct in bytes
+         * @param deleteOnFree whether to delete file on free
+         * @throws IOException on IO error
+         */
+        FileIter(File file, int structLength, boolean deleteOnFree) throws IOException {
+            this.file = file;
+            this.deleteOnFree = deleteOnFree;
+            this.struct = new byte[structLength];
+            this.is = new FileInputStream(file);
+            this.channel = is.getChannel();
+            this.buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_SIZE / structLength, 1) * structLength);
+            buffer.flip();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            if (buffer.remaining() >= struct.length) return true;
+            if (eof) return false;
+            fill();
+            return buffer.remaining() >= struct.length;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public byte[] next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            buffer.get(struct);
+            return struct;
+        }
+
+        /**
+         * Remove operation is not supported
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long size() {
+            return file.length() / struct.length;
+        }
+
+        /**
+         * Closes file and deletes it if required, may be called multiple times
+         */
+        @Override
+        public void free() {
+            try {
+                is.close();
+            } catch (IOException e) {
+                // ignore
+            }
+            if (deleteOnFree) deleteQuietly(file);
+        }
+
+        /**
+         * Reads next portion of the file into buffer
+         */
+        private void fill() {
+            try {
+                buffer.compact();
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        eof = true;
+                        break;
+                    }
+                }
+                buffer.flip();
+            } catch (IOException e) {
+                throw new RuntimeException("Error reading file: [" + file + "]", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheapstruct;
+
+import com.alexkasko.unsafe.offheaplong.OffHeapLongAddressable;
+import com.alexkasko.unsafe.offheaplong.OffHeapLongArray;
+import com.alexkasko.unsafe.offheaplong.OffHeapLongSorter;
+
+/**
+ * Key-index sort implementation for {@link OffHeapStructCollection} by primitive key.
+ * Instead of moving whole structs on each swap, {@code (key, index)} pairs are extracted
+ * into compact {@link OffHeapLongArray}, this array is sorted and then structs are moved
+ * only once - in place following permutation cycles or into the new collection.
+ * For wide structs this reduces memory traffic considerably.
+ *
+ * <p>For 32-bit keys key and index are packed into single long (key in high bits, index in low bits)
+ * and sorted with unsigned LSD radix sort, for 64-bit keys stable argsort of keys is used.
+ * Sort is stable in both cases.
+ *
+ * @see OffHeapStructSorter#keyIndexSortByLongKey(OffHeapStructCollection, int)
+ */
+class OffHeapStructKeyIndexSorter {
+    private static final long INDEX_MASK = 0xffffffffL;
+
+    /**
+     * Sorts the specified range of the collection in place
+     *
+     * @param a collection to sort
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset key offset
+     * @param keyType key type
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    static void sort(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset, OffHeapStructKeyType keyType) {
+        OffHeapLongArray indices = sortedIndices(a, fromIndex, toIndex, keyOffset, keyType);
+        try {
+            permute(a, fromIndex, indices);
+        } finally {
+            indices.free();
+        }
+    }
+
+    /**
+     * Copies the specified range of the collection into new struct array in sorted order
+     *
+     * @param a collection to sort
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset key offset
+     * @param keyType key type
+     * @return new sorted struct array, should be freed by caller
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    static OffHeapStructArray sortedCopy(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset,
+                                         OffHeapStructKeyType keyType) {
+        OffHeapLongArray indices = sortedIndices(a, fromIndex, toIndex, keyOffset, keyType);
+        try {
+            return copy(a, indices);
+        } finally {
+            indices.free();
+        }
+    }
+
+    /**
+     * Returns indices of the range elements in the order those elements would have in sorted range.
+     * Returned indices are the indices in the collection (not in the range). Indices of the elements
+     * with equal keys are returned in ascending order.
+     *
+     * @param a collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @param keyOffset key offset
+     * @param keyType key type
+     * @return new array of {@code toIndex - fromIndex} indices, should be freed by caller
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    static OffHeapLongArray sortedIndices(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset,
+                                          OffHeapStructKeyType keyType) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size()) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + a.size() + "], " +
+                    "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "]");
+        }
+        long len = toIndex - fromIndex;
+        if (keyType.bits() <= 32 && len <= INDEX_MASK + 1) return packedIndices(a, fromIndex, len, keyOffset, keyType);
+        OffHeapLongArray keys = new OffHeapLongArray(len);
+        try {
+            for (long i = 0; i < len; i++) {
+                // back to signed order expected by argsort
+                keys.set(i, keyType.radixKey(a, fromIndex + i, keyOffset) ^ Long.MIN_VALUE);
+            }
+            OffHeapLongArray indices = OffHeapLongSorter.argsort(keys);
+            for (long i = 0; i < len; i++) {
+                indices.set(i, fromIndex + indices.get(i));
+            }
+            return indices;
+        } finally {
+            keys.free();
+        }
+    }
+
+    /**
+     * Reorders the range of the collection starting from {@code fromIndex} in place so that struct
+     * {@code fromIndex + i} becomes equal to the struct {@code perm[i]} of the original collection.
+     * Each struct is moved exactly once using single temporary struct buffer, visited positions
+     * are marked in permutation itself, permutation contents is restored before return.
+     *
+     * @param a collection to reorder
+     * @param fromIndex the index of the first struct of the range
+     * @param perm permutation of indices from {@code fromIndex} to {@code fromIndex + perm.size() - 1}
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex + perm.size() > a.size())}
+     *         or if {@code perm} is not a permutation, collection is not changed in that case
+     */
+    static void permute(OffHeapStructCollection a, long fromIndex, OffHeapLongAddressable perm) {
+        long len = perm.size();
+        if (fromIndex < 0 || fromIndex + len > a.size()) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + a.size() + "], " +
+                    "fromIndex: [" + fromIndex + "], permutation size: [" + len + "]");
+        }
+        checkPermutation(fromIndex, perm);
+        byte[] tmp = new byte[a.structLength()];
+        byte[] buf = new byte[a.structLength()];
+        for (long i = 0; i < len; i++) {
+            long first = perm.get(i);
+            if (first < 0) continue;
+            if (first - fromIndex == i) {
+                perm.set(i, ~first);
+                continue;
+            }
+            a.get(fromIndex + i, tmp);
+            long j = i;
+            for (;;) {
+                long k = perm.get(j) - fromIndex;
+                // visited positions are marked with inverted bits
+                perm.set(j, ~perm.get(j));
+                if (k == i) {
+                    a.set(fromIndex + j, tmp);
+                    break;
+                }
+                a.get(fromIndex + k, buf);
+                a.set(fromIndex + j, buf);
+                j = k;
+            }
+        }
+        for (long i = 0; i < len; i++) {
+            perm.set(i, ~perm.get(i));
+        }
+    }
+
+    /**
+     * Checks that all the permutation values are within the range and are unique,
+     * permutation contents is restored before return
+     *
+     * @param fromIndex the index of the first struct of the range
+     * @param perm permutation to check
+     * @throws IllegalArgumentException if {@code perm} is not a permutation
+     */
+    private static void checkPermutation(long fromIndex, OffHeapLongAddressable perm) {
+        long len = perm.size();
+        for (long i = 0; i < len; i++) {
+            long k = perm.get(i) - fromIndex;
+            if (k < 0 || k >= len) throw new IllegalArgumentException("Illegal permutation, fromIndex: [" + fromIndex + "], " +
+                    "size: [" + len + "], position: [" + i + "], value: [" + perm.get(i) + "]");
+        }
+        // all the values are non-negative here, seen values are marked with inverted bits on target positions
+        long dup = -1;
+        for (long i = 0; i < len; i++) {
+            long val = perm.get(i);
+            long k = (val < 0 ? ~val : val) - fromIndex;
+            long target = perm.get(k);
+            if (target < 0) {
+                dup = i;
+                break;
+            }
+            perm.set(k, ~target);
+        }
+        for (long i = 0; i < len; i++) {
+            long val = perm.get(i);
+            if (val < 0) perm.set(i, ~val);
+        }
+        if (dup >= 0) throw new IllegalArgumentException("Illegal permutation, fromIndex: [" + fromIndex + "], " +
+                "size: [" + len + "], duplicate value on position: [" + dup + "], value: [" + perm.get(dup) + "]");
+    }
+
+    /**
+     * Copies structs into new struct array in the order specified by indices
+     *
+     * @param a source collection
+     * @param indices indices of the structs in source collection
+     * @return new struct array, should be freed by caller
+     */
+    static OffHeapStructArray copy(OffHeapStructCollection a, OffHeapLongAddressable indices) {
+        long len = indices.size();
+        OffHeapStructArray res = new OffHeapStructArray(len, a.structLength());
+        byte[] buf = new byte[a.structLength()];
+        for (long i = 0; i < len; i++) {
+            a.get(indices.get(i), buf);
+            res.set(i, buf);
+        }
+        return res;
+    }
+
+    /**
+     * Sorts 32-bit keys packed with range indices into single longs
+     *
+     * @param a collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param len range length, not greater than {@code 2^32}
+     * @param keyOffset key offset
+     * @param keyType 32-bit key type
+     * @return new array of sorted indices
+     */
+    private static OffHeapLongArray packedIndices(OffHeapStructCollection a, long fromIndex, long len, int keyOffset,
+                                                  OffHeapStructKeyType keyType) {
+        OffHeapLongArray packed = new OffHeapLongArray(len);
+        try {
+            for (long i = 0; i < len; i++) {
+                packed.set(i, keyType.radixKey(a, fromIndex + i, keyOffset) << 32 | i);
+            }
+            // index in low bits makes the order of equal keys stable
+            OffHeapLongSorter.radixSortUnsigned(packed);
+            for (long i = 0; i < len; i++) {
+                packed.set(i, fromIndex + (packed.get(i) & INDEX_MASK));
+            }
+            return packed;
+        } catch (RuntimeException e) {
+            packed.free();
+            throw e;
+        }
+    }
+}
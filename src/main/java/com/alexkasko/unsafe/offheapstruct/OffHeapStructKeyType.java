@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheapstruct;
+
+import com.alexkasko.unsafe.bytearray.ByteArrayTool;
+
+import java.util.Comparator;
+
+/**
+ * Primitive struct key types supported by specialized sorters. Each type provides
+ * order-preserving conversion of the key into unsigned long ("radix key") and
+ * delegates comparison sorting to the corresponding Dual-Pivot Quicksort implementation.
+ * Keys may be also read from on-heap struct copies, see {@link #comparator(int)}.
+ */
+enum OffHeapStructKeyType {
+    LONG(64) {
+        @Override
+        long radixKey(OffHeapStructCollection a, long index, int keyOffset) {
+            return a.getLong(index, keyOffset) ^ Long.MIN_VALUE;
+        }
+
+        @Override
+        long radixKey(ByteArrayTool bt, byte[] struct, int keyOffset) {
+            return bt.getLong(struct, keyOffset) ^ Long.MIN_VALUE;
+        }
+
+        @Override
+        void sort(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset) {
+            OffHeapStructSorterLong.sort(a, fromIndex, toIndex, keyOffset);
+        }
+    },
+    UNSIGNED_LONG(64) {
+        @Override
+        long radixKey(OffHeapStructCollection a, long index, int keyOffset) {
+            return a.getLong(index, keyOffset);
+        }
+
+        @Override
+        long radixKey(ByteArrayTool bt, byte[] struct, int keyOffset) {
+            return bt.getLong(struct, keyOffset);
+        }
+
+        @Override
+        void sort(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset) {
+            OffHeapStructSorterUnsignedLong.sort(a, fromIndex, toIndex, keyOffset);
+        }
+    },
+    INT(32) {
+        @Override
+        long radixKey(OffHeapStructCollection a, long index, int keyOffset) {
+            return (a.getInt(index, keyOffset) ^ Integer.MIN_VALUE) & 0xffffffffL;
+        }
+
+        @Override
+        long radixKey(ByteArrayTool bt, byte[] struct, int keyOffset) {
+            return (bt.getInt(struct, keyOffset) ^ Integer.MIN_VALUE) & 0xffffffffL;
+        }
+
+        @Override
+        void sort(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset) {
+            OffHeapStructSorterInt.sort(a, fromIndex, toIndex, keyOffset);
+        }
+    },
+    UNSIGNED_INT(32) {
+        @Override
+        long radixKey(OffHeapStructCollection a, long index, int keyOffset) {
+            return a.getUnsignedInt(index, keyOffset);
+        }
+
+        @Override
+        long radixKey(ByteArrayTool bt, byte[] struct, int keyOffset) {
+            return bt.getUnsignedInt(struct, keyOffset);
+        }
+
+        @Override
+        void sort(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset) {
+            OffHeapStructSorterUnsignedInt.sort(a, fromIndex, toIndex, keyOffset);
+        }
+    };
+
+    private final int bits;
+
+    /**
+     * Constructor
+     *
+     * @param bits key length in bits
+     */
+    OffHeapStructKeyType(int bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Returns key length in bits
+     *
+     * @return key length in bits
+     */
+    int bits() {
+        return bits;
+    }
+
+    /**
+     * Reads key and converts it into value, which unsigned order is the same as the key order
+     *
+     * @param a struct collection
+     * @param index struct index
+     * @param keyOffset key offset
+     * @return radix key
+     */
+    abstract long radixKey(OffHeapStructCollection a, long index, int keyOffset);
+
+    /**
+     * Reads key from the on-heap struct copy and converts it into radix key
+     *
+     * @param bt byte array tool
+     * @param struct struct bytes
+     * @param keyOffset key offset
+     * @return radix key
+     */
+    abstract long radixKey(ByteArrayTool bt, byte[] struct, int keyOffset);
+
+    /**
+     * Sorts collection range using Dual-Pivot Quicksort
+     *
+     * @param a struct collection
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset key offset
+     */
+    abstract void sort(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset);
+
+    /**
+     * Creates comparator for on-heap struct copies, that compares them by the key of this type
+     *
+     * @param keyOffset key offset
+     * @return struct comparator
+     */
+    Comparator<byte[]> comparator(int keyOffset) {
+        return new KeyComparator(this, ByteArrayTool.get(), keyOffset);
+    }
+
+    /**
+     * Compares struct copies by radix keys
+     */
+    private static class KeyComparator implements Comparator<byte[]> {
+        private final OffHeapStructKeyType keyType;
+        private final ByteArrayTool bt;
+        private final int keyOffset;
+
+        /**
+         * Constructor
+         *
+         * @param keyType key type
+         * @param bt byte array tool
+         * @param keyOffset key offset
+         */
+        KeyComparator(OffHeapStructKeyType keyType, ByteArrayTool bt, int keyOffset) {
+            this.keyType = keyType;
+            this.bt = bt;
+            this.keyOffset = keyOffset;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int compare(byte[] s1, byte[] s2) {
+            long k1 = keyType.radixKey(bt, s1, keyOffset) ^ Long.MIN_VALUE;
+            long k2 = keyType.radixKey(bt, s2, keyOffset) ^ Long.MIN_VALUE;
+            return k1 < k2 ? -1 : (k1 == k2 ? 0 : 1);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheapstruct;
+
+import com.alexkasko.unsafe.offheap.OffHeapDisposableIterator;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static com.alexkasko.unsafe.offheap.OffHeapUtils.freeAll;
+
+/**
+ * Loser tree (tournament tree) for K-way merging of sorted struct iterators. Current head structs
+ * of all sources are copied into the tree, so each returned element requires one read from the source
+ * iterator and {@code log2(K)} comparisons. Returned array is owned by the tree and is valid only
+ * until the next call to {@link #hasNext()} or {@link #next()}. Elements with equal keys
+ * are returned in order of sources.
+ */
+class OffHeapStructLoserTree implements OffHeapDisposableIterator<byte[]> {
+    private final OffHeapDisposableIterator<byte[]>[] sources;
+    private final Comparator<byte[]> comp;
+    private final long size;
+    // cached heads
+    private final byte[][] heads;
+    private final boolean[] exhausted;
+    // tree[0] is a winner, other nodes are losers
+    private final int[] tree;
+    // source returned by the last next() call, not yet advanced
+    private int pending = -1;
+
+    /**
+     * Constructor
+     *
+     * @param sources sorted iterators, will be freed on tree free
+     * @param structLength length of the single struct in bytes
+     * @param comp comparator that defines sort order
+     * @param size total number of elements in all sources, {@code -1} if unknown
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    OffHeapStructLoserTree(List<? extends OffHeapDisposableIterator<byte[]>> sources, int structLength,
+                           Comparator<byte[]> comp, long size) {
+        this.sources = sources.toArray(new OffHeapDisposableIterator[sources.size()]);
+        this.comp = comp;
+        this.size = size;
+        int k = this.sources.length;
+        this.heads = new byte[k][structLength];
+        this.exhausted = new boolean[k];
+        this.tree = new int[Math.max(k, 1)];
+        for (int i = 0; i < k; i++) {
+            read(i);
+        }
+        if (k > 0) tree[0] = build(1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        advance();
+        return sources.length > 0 && !exhausted[tree[0]];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        pending = tree[0];
+        return heads[pending];
+    }
+
+    /**
+     * Remove operation is not supported
+     * @throws UnsupportedOperationException
+     */
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Frees all source iterators
+     */
+    @Override
+    public void free() {
+        freeAll(sources);
+    }
+
+    /**
+     * Reads the next head of the last returned source and replays matches
+     * on the path from its leaf to the root
+     */
+    private void advance() {
+        if (pending < 0) return;
+        int winner = pending;
+        pending = -1;
+        read(winner);
+        int k = sources.length;
+        for (int node = (winner + k) >>> 1; node > 0; node >>>= 1) {
+            int loser = tree[node];
+            if (less(loser, winner)) {
+                tree[node] = winner;
+                winner = loser;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    /**
+     * Builds subtree, leaves are located at positions {@code [k, 2k)}
+     *
+     * @param node subtree root
+     * @return subtree winner
+     */
+    private int build(int node) {
+        int k = sources.length;
+        if (node >= k) return node - k;
+        int left = build(2 * node);
+        int right = build(2 * node + 1);
+        if (less(right, left)) {
+            tree[node] = left;
+            return right;
+        } else {
+            tree[node] = right;
+            return left;
+        }
+    }
+
+    /**
+     * Copies next head struct from the source
+     *
+     * @param source source index
+     */
+    private void read(int source) {
+        OffHeapDisposableIterator<byte[]> it = sources[source];
+        if (it.hasNext()) {
+            byte[] struct = it.next();
+            System.arraycopy(struct, 0, heads[source], 0, heads[source].length);
+        } else exhausted[source] = true;
+    }
+
+    /**
+     * Compares cached heads of two sources, exhausted sources are greater than any struct,
+     * ties are broken by source index
+     *
+     * @param s1 first source index
+     * @param s2 second source index
+     * @return whether first source head should go before the second one
+     */
+    private boolean less(int s1, int s2) {
+        if (exhausted[s1]) return false;
+        if (exhausted[s2]) return true;
+        int res = comp.compare(heads[s1], heads[s2]);
+        return res < 0 || (0 == res && s1 < s2);
+    }
+}
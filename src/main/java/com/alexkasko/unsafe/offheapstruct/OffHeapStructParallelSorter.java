@@ -0,0 +1,631 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheapstruct;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Parallel in-place Dual-Pivot Quicksort for {@link OffHeapStructCollection}.
+ * Ranges are partitioned using two pivots chosen from five sample elements, resulting parts
+ * are put into shared work queue and processed by the specified number of worker threads.
+ * Current thread is one of the workers, so sort completes even if the executor
+ * rejects or discards submitted workers.
+ * Ranges shorter than the computed grain size are sorted sequentially using the
+ * corresponding sequential sorter. Unlike {@link OffHeapStructSorter#sortedIterator(java.util.concurrent.ExecutorService, int, OffHeapStructCollection, java.util.Comparator)}
+ * the whole collection is sorted in place and no merge on the consumer thread is required.
+ *
+ * @see OffHeapStructSorter#sortByLongKeyParallel(java.util.concurrent.Executor, int, OffHeapStructCollection, int)
+ */
+class OffHeapStructParallelSorter {
+    /**
+     * Ranges shorter than this will be always sorted sequentially
+     */
+    private static final long MIN_GRAIN = 1 << 13;
+    /**
+     * Number of ranges per worker thread to split the collection into, for load balancing
+     */
+    private static final int RANGES_PER_THREAD = 8;
+
+    /**
+     * Sorts the specified range of the collection in parallel using primitive key
+     *
+     * @param executor executor to run worker threads
+     * @param threads number of worker threads to use
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset key offset
+     * @param keyType key type
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     * @throws RuntimeException on worker thread error or if executor rejects the worker
+     */
+    static void sort(Executor executor, int threads, OffHeapStructCollection a, long fromIndex, long toIndex,
+                     int keyOffset, OffHeapStructKeyType keyType) {
+        sort(executor, threads, a, fromIndex, toIndex, new KeyOrderFactory(keyOffset, keyType));
+    }
+
+    /**
+     * Sorts the specified range of the collection in parallel using comparator
+     *
+     * @param executor executor to run worker threads
+     * @param threads number of worker threads to use
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param comparator structs comparator, must be thread-safe
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     * @throws RuntimeException on worker thread error or if executor rejects the worker
+     */
+    static void sort(Executor executor, int threads, OffHeapStructCollection a, long fromIndex, long toIndex,
+                     Comparator<OffHeapStructAccessor> comparator) {
+        if(null == comparator) throw new IllegalArgumentException("Provided comparator is null");
+        sort(executor, threads, a, fromIndex, toIndex, new ComparatorOrderFactory(comparator));
+    }
+
+    /**
+     * Sorts the specified range of the collection in parallel
+     *
+     * @param executor executor to run worker threads
+     * @param threads number of worker threads to use
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param factory sort order factory
+     * @throws RuntimeException on worker thread error or if executor rejects the worker,
+     *         all the started workers are finished when it is thrown
+     */
+    private static void sort(Executor executor, int threads, OffHeapStructCollection a, long fromIndex, long toIndex,
+                             OrderFactory factory) {
+        if (null == executor) throw new NullPointerException("executor");
+        if (threads <= 0) throw new IllegalArgumentException("threads: [" + threads + "] must be positive");
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size()) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + a.size() + "], " +
+                    "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "]");
+        }
+        long grain = Math.max(MIN_GRAIN, (toIndex - fromIndex) / ((long) threads * RANGES_PER_THREAD));
+        if (1 == threads || toIndex - fromIndex <= grain) {
+            if (toIndex - fromIndex > 1) factory.create(a).sort(fromIndex, toIndex);
+            return;
+        }
+        Job job = new Job(a, factory, grain, threads);
+        job.submit(fromIndex, toIndex - 1);
+        try {
+            for (int i = 1; i < threads; i++) {
+                executor.execute(new Worker(job));
+            }
+        } catch (RuntimeException e) {
+            // submitted workers will drain the queue without processing
+            job.error.compareAndSet(null, e);
+        }
+        // current thread returns from worker only after all the ranges are processed
+        new Worker(job).run();
+        job.checkError();
+    }
+
+    /**
+     * Partitions the range using two pivots, pivots are placed into their final positions.
+     * Does no range checking, range must contain at least {@code 7} elements.
+     *
+     * @param order sort order
+     * @param left the index of the first element, inclusive
+     * @param right the index of the last element, inclusive
+     * @param bounds output buffer for inclusive bounds of the parts to be sorted further:
+     *               {@code [left, bounds[0]]}, {@code [bounds[1], right]}, {@code [bounds[2], bounds[3]]},
+     *               the last part is empty when pivots are equal
+     */
+    private static void dualPivotPartition(Order order, long left, long right, long[] bounds) {
+        // five evenly spaced sample elements
+        long seventh = ((right - left + 1) >> 3) + ((right - left + 1) >> 6) + 1;
+        long e3 = (left + right) >>> 1;
+        long[] samples = {e3 - 2 * seventh, e3 - seventh, e3, e3 + seventh, e3 + 2 * seventh};
+        for (int i = 1; i < samples.length; i++) {
+            long s = samples[i];
+            int j = i - 1;
+            for (; j >= 0 && order.compare(samples[j], s) > 0; j--) {
+                samples[j + 1] = samples[j];
+            }
+            samples[j + 1] = s;
+        }
+        order.swap(samples[1], left);
+        order.swap(samples[3], right);
+        order.setPivots(left, right);
+        long less = left + 1;
+        long great = right - 1;
+        for (long k = less; k <= great; k++) {
+            if (order.compareToPivot1(k) < 0) {
+                order.swap(k, less);
+                less += 1;
+            } else if (order.compareToPivot2(k) > 0) {
+                while (k < great && order.compareToPivot2(great) > 0) {
+                    great -= 1;
+                }
+                order.swap(k, great);
+                great -= 1;
+                if (order.compareToPivot1(k) < 0) {
+                    order.swap(k, less);
+                    less += 1;
+                }
+            }
+        }
+        less -= 1;
+        great += 1;
+        order.swap(left, less);
+        order.swap(right, great);
+        bounds[0] = less - 1;
+        bounds[1] = great + 1;
+        if (order.pivotsEqual()) {
+            // all the center part elements are equal to pivots
+            bounds[2] = 0;
+            bounds[3] = -1;
+        } else {
+            bounds[2] = less + 1;
+            bounds[3] = great - 1;
+        }
+    }
+
+    /**
+     * Shared state of the parallel sort
+     */
+    private static class Job {
+        private final OffHeapStructCollection a;
+        private final OrderFactory factory;
+        private final long grain;
+        private final int threads;
+        private final BlockingDeque<long[]> queue = new LinkedBlockingDeque<long[]>();
+        private final AtomicLong pending = new AtomicLong(0);
+        private final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+
+        /**
+         * Constructor
+         *
+         * @param a collection to sort
+         * @param factory sort order factory
+         * @param grain ranges shorter than this will be sorted sequentially
+         * @param threads number of worker threads including current thread
+         */
+        private Job(OffHeapStructCollection a, OrderFactory factory, long grain, int threads) {
+            this.a = a;
+            this.factory = factory;
+            this.grain = grain;
+            this.threads = threads;
+        }
+
+        /**
+         * Adds range to the work queue
+         *
+         * @param left the index of the first element, inclusive
+         * @param right the index of the last element, inclusive
+         */
+        private void submit(long left, long right) {
+            if (right <= left) return;
+            pending.incrementAndGet();
+            queue.addFirst(new long[]{left, right});
+        }
+
+        /**
+         * Sorts sequentially or partitions the range and submits its parts back to the queue
+         *
+         * @param order sort order owned by the calling worker
+         * @param range range to process
+         * @param bounds buffer for partition bounds
+         */
+        private void process(Order order, long[] range, long[] bounds) {
+            long left = range[0];
+            long right = range[1];
+            if (right - left + 1 <= grain) {
+                order.sort(left, right + 1);
+                return;
+            }
+            dualPivotPartition(order, left, right, bounds);
+            submit(left, bounds[0]);
+            submit(bounds[1], right);
+            submit(bounds[2], bounds[3]);
+        }
+
+        /**
+         * Marks range as processed, stops workers after the last range
+         */
+        private void done() {
+            if (0 == pending.decrementAndGet()) {
+                for (int i = 0; i < threads; i++) {
+                    queue.addLast(new long[0]);
+                }
+            }
+        }
+
+        /**
+         * Rethrows the first error of the workers
+         *
+         * @throws RuntimeException on worker thread error
+         */
+        private void checkError() {
+            Throwable t = error.get();
+            if (null != t) throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Worker, takes ranges from the queue until stop marker is received. Stop markers are added
+     * only after all the ranges are processed, interrupted worker keeps draining the queue
+     * and restores interrupted status on exit.
+     */
+    private static class Worker implements Runnable {
+        private final Job job;
+
+        /**
+         * Constructor
+         *
+         * @param job shared sort state
+         */
+        private Worker(Job job) {
+            this.job = job;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+            long[] bounds = new long[4];
+            Order order = null;
+            try {
+                order = job.factory.create(job.a);
+            } catch (Throwable t) {
+                // ranges are drained without processing
+                job.error.compareAndSet(null, t);
+            }
+            boolean interrupted = false;
+            for (;;) {
+                long[] range;
+                try {
+                    range = job.queue.takeFirst();
+                } catch (InterruptedException e) {
+                    job.error.compareAndSet(null, e);
+                    interrupted = true;
+                    continue;
+                }
+                if (0 == range.length) break;
+                try {
+                    if (null == job.error.get()) job.process(order, range, bounds);
+                } catch (Throwable t) {
+                    job.error.compareAndSet(null, t);
+                } finally {
+                    job.done();
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates sort order instances, one instance per worker thread
+     */
+    private interface OrderFactory {
+        /**
+         * Creates new sort order instance
+         *
+         * @param a collection to sort
+         * @return sort order
+         */
+        Order create(OffHeapStructCollection a);
+    }
+
+    /**
+     * Sort order over the collection elements, not thread-safe
+     */
+    private abstract static class Order {
+        final OffHeapStructCollection a;
+        private final byte[] buf1;
+        private final byte[] buf2;
+
+        /**
+         * Constructor
+         *
+         * @param a collection to sort
+         */
+        Order(OffHeapStructCollection a) {
+            this.a = a;
+            this.buf1 = new byte[a.structLength()];
+            this.buf2 = new byte[a.structLength()];
+        }
+
+        /**
+         * Swaps two structs
+         *
+         * @param i first index
+         * @param j second index
+         */
+        void swap(long i, long j) {
+            if (i == j) return;
+            a.get(i, buf1);
+            a.get(j, buf2);
+            a.set(i, buf2);
+            a.set(j, buf1);
+        }
+
+        /**
+         * Compares two elements of the collection
+         *
+         * @param i first index
+         * @param j second index
+         * @return negative, zero or positive value as in {@link Comparator}
+         */
+        abstract int compare(long i, long j);
+
+        /**
+         * Remembers pivot values, pivots elements may be moved after this call
+         *
+         * @param i first (smaller) pivot index
+         * @param j second (larger) pivot index
+         */
+        abstract void setPivots(long i, long j);
+
+        /**
+         * Compares element with the first pivot
+         *
+         * @param i element index
+         * @return negative, zero or positive value as in {@link Comparator}
+         */
+        abstract int compareToPivot1(long i);
+
+        /**
+         * Compares element with the second pivot
+         *
+         * @param i element index
+         * @return negative, zero or positive value as in {@link Comparator}
+         */
+        abstract int compareToPivot2(long i);
+
+        /**
+         * Whether remembered pivots are equal
+         *
+         * @return whether pivots are equal
+         */
+        abstract boolean pivotsEqual();
+
+        /**
+         * Sorts the range sequentially
+         *
+         * @param fromIndex the index of the first element, inclusive
+         * @param toIndex the index of the last element, exclusive
+         */
+        abstract void sort(long fromIndex, long toIndex);
+    }
+
+    /**
+     * Factory for the primitive key orders
+     */
+    private static class KeyOrderFactory implements OrderFactory {
+        private final int keyOffset;
+        private final OffHeapStructKeyType keyType;
+
+        /**
+         * Constructor
+         *
+         * @param keyOffset key offset
+         * @param keyType key type
+         */
+        private KeyOrderFactory(int keyOffset, OffHeapStructKeyType keyType) {
+            this.keyOffset = keyOffset;
+            this.keyType = keyType;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Order create(OffHeapStructCollection a) {
+            return new KeyOrder(a, keyOffset, keyType);
+        }
+    }
+
+    /**
+     * Order by primitive key, keys are compared as signed longs after conversion of radix keys
+     */
+    private static class KeyOrder extends Order {
+        private final int keyOffset;
+        private final OffHeapStructKeyType keyType;
+        private long pivot1;
+        private long pivot2;
+
+        /**
+         * Constructor
+         *
+         * @param a collection to sort
+         * @param keyOffset key offset
+         * @param keyType key type
+         */
+        private KeyOrder(OffHeapStructCollection a, int keyOffset, OffHeapStructKeyType keyType) {
+            super(a);
+            this.keyOffset = keyOffset;
+            this.keyType = keyType;
+        }
+
+        /**
+         * Reads key converting it into value with signed order
+         *
+         * @param i element index
+         * @return key
+         */
+        private long key(long i) {
+            return keyType.radixKey(a, i, keyOffset) ^ Long.MIN_VALUE;
+        }
+
+        /**
+         * Compares two keys
+         *
+         * @param k1 first key
+         * @param k2 second key
+         * @return negative, zero or positive value as in {@link Comparator}
+         */
+        private static int compareKeys(long k1, long k2) {
+            return k1 < k2 ? -1 : (k1 == k2 ? 0 : 1);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        int compare(long i, long j) {
+            return compareKeys(key(i), key(j));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        void setPivots(long i, long j) {
+            pivot1 = key(i);
+            pivot2 = key(j);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        int compareToPivot1(long i) {
+            return compareKeys(key(i), pivot1);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        int compareToPivot2(long i) {
+            return compareKeys(key(i), pivot2);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        boolean pivotsEqual() {
+            return pivot1 == pivot2;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        void sort(long fromIndex, long toIndex) {
+            keyType.sort(a, fromIndex, toIndex, keyOffset);
+        }
+    }
+
+    /**
+     * Factory for the comparator orders
+     */
+    private static class ComparatorOrderFactory implements OrderFactory {
+        private final Comparator<OffHeapStructAccessor> comparator;
+
+        /**
+         * Constructor
+         *
+         * @param comparator structs comparator
+         */
+        private ComparatorOrderFactory(Comparator<OffHeapStructAccessor> comparator) {
+            this.comparator = comparator;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Order create(OffHeapStructCollection a) {
+            return new ComparatorOrder(a, comparator);
+        }
+    }
+
+    /**
+     * Order using user provided comparator, pivots are copied into struct buffers
+     */
+    private static class ComparatorOrder extends Order {
+        private final Comparator<OffHeapStructAccessor> comparator;
+        private final OffHeapStructComparator comp;
+        private final byte[] pivot1;
+        private final byte[] pivot2;
+
+        /**
+         * Constructor
+         *
+         * @param a collection to sort
+         * @param comparator structs comparator
+         */
+        private ComparatorOrder(OffHeapStructCollection a, Comparator<OffHeapStructAccessor> comparator) {
+            super(a);
+            this.comparator = comparator;
+            this.comp = new OffHeapStructComparator(a, comparator);
+            this.pivot1 = new byte[a.structLength()];
+            this.pivot2 = new byte[a.structLength()];
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        int compare(long i, long j) {
+            if (comp.gt(i, j)) return 1;
+            return comp.gt(j, i) ? -1 : 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        void setPivots(long i, long j) {
+            a.get(i, pivot1);
+            a.get(j, pivot2);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        int compareToPivot1(long i) {
+            return comp.compare(i, pivot1);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        int compareToPivot2(long i) {
+            return comp.compare(i, pivot2);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        boolean pivotsEqual() {
+            return comp.eq(pivot1, pivot2);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        void sort(long fromIndex, long toIndex) {
+            OffHeapStructSorterWithComparator.sort(a, fromIndex, toIndex, comparator);
+        }
+    }
+}
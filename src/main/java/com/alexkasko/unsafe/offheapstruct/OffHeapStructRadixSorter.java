@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheapstruct;
+
+import com.alexkasko.unsafe.offheaplong.LongRadixDigits;
+
+import static com.alexkasko.unsafe.offheap.OffHeapUtils.free;
+
+/**
+ * LSD radix sort implementation for {@link OffHeapStructCollection} by primitive key.
+ * Uses 11-bit digits (6 passes for 64-bit keys and 3 passes for 32-bit keys), on each pass whole structs
+ * are moved between the collection and temporary struct array with the same size as the range to be sorted.
+ * Histograms for all the digits are collected in one pass over the data, passes for digits having the same
+ * value for all elements are skipped. Ranges shorter than {@link #RADIX_SORT_THRESHOLD} are sorted
+ * using stable key-index sort. Sort is stable.
+ *
+ * @see OffHeapStructSorter#radixSortByLongKey(OffHeapStructCollection, int)
+ */
+class OffHeapStructRadixSorter {
+    /**
+     * Ranges shorter than this will be sorted using key-index sort
+     */
+    static final int RADIX_SORT_THRESHOLD = 1 << 12;
+
+    /**
+     * Sorts the specified range of the collection
+     *
+     * @param a collection to sort
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset key offset
+     * @param keyType key type
+     * @param buffer temporary buffer with size not less than {@code toIndex - fromIndex} and the same
+     *               struct length, may be null, buffer will be allocated and freed internally in that case
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     *         or on invalid buffer
+     */
+    static void sort(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset,
+                     OffHeapStructKeyType keyType, OffHeapStructCollection buffer) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size()) {
+            throw new IllegalArgumentException("Illegal input, collection size: [" + a.size() + "], " +
+                    "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "]");
+        }
+        long len = toIndex - fromIndex;
+        if (len < RADIX_SORT_THRESHOLD) {
+            // quicksort is not stable
+            if (len > 1) OffHeapStructKeyIndexSorter.sort(a, fromIndex, toIndex, keyOffset, keyType);
+            return;
+        }
+        if (null != buffer && (buffer.size() < len || buffer.structLength() != a.structLength())) {
+            throw new IllegalArgumentException("Illegal buffer, size: [" + buffer.size() + "], " +
+                    "structLength: [" + buffer.structLength() + "], range length: [" + len + "], " +
+                    "collection structLength: [" + a.structLength() + "]");
+        }
+        int passes = LongRadixDigits.passes(keyType.bits());
+        long[][] offsets = histograms(a, fromIndex, toIndex, keyOffset, keyType, passes);
+        boolean[] skip = LongRadixDigits.toOffsets(offsets, len);
+        if (null == skip) return;
+        OffHeapStructArray allocated = null;
+        try {
+            OffHeapStructCollection buf = buffer;
+            if (null == buf) {
+                allocated = new OffHeapStructArray(len, a.structLength());
+                buf = allocated;
+            }
+            byte[] struct = new byte[a.structLength()];
+            OffHeapStructCollection src = a;
+            long srcBase = fromIndex;
+            OffHeapStructCollection dest = buf;
+            long destBase = 0;
+            for (int p = 0; p < passes; p++) {
+                if (skip[p]) continue;
+                long[] off = offsets[p];
+                for (long i = srcBase; i < srcBase + len; i++) {
+                    int digit = LongRadixDigits.digit(keyType.radixKey(src, i, keyOffset), p);
+                    src.get(i, struct);
+                    dest.set(destBase + off[digit]++, struct);
+                }
+                OffHeapStructCollection tmp = src;
+                src = dest;
+                dest = tmp;
+                long tmpBase = srcBase;
+                srcBase = destBase;
+                destBase = tmpBase;
+            }
+            // odd number of passes, sorted data is in the buffer
+            if (src != a) {
+                for (long i = 0; i < len; i++) {
+                    src.get(i, struct);
+                    a.set(fromIndex + i, struct);
+                }
+            }
+        } finally {
+            free(allocated);
+        }
+    }
+
+    /**
+     * Collects histograms for all the digits in one pass over the data
+     *
+     * @param a collection
+     * @param fromIndex start index, inclusive
+     * @param toIndex end index, exclusive
+     * @param keyOffset key offset
+     * @param keyType key type
+     * @param passes number of digits
+     * @return counts for each digit value for each pass
+     */
+    private static long[][] histograms(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset,
+                                       OffHeapStructKeyType keyType, int passes) {
+        long[][] counts = LongRadixDigits.histograms(passes);
+        for (long i = fromIndex; i < toIndex; i++) {
+            LongRadixDigits.count(counts, keyType.radixKey(a, i, keyOffset));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheapstruct;
+
+import com.alexkasko.unsafe.offheap.OffHeapDisposableIterator;
+import com.alexkasko.unsafe.offheap.OffHeapUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Merge iterator over the collection consisting of sorted runs (partially sorted by parallel workers).
+ * Runs are merged using {@link OffHeapStructLoserTree} with in-memory run sources, so merge costs
+ * {@code O(log(runs))} comparisons per element. Equal elements are returned in the order of runs.
+ * Run bounds for parallel workers are computed using {@link #runBounds(long, long, int)}.
+ *
+ * <p>{@link #free()} frees the underlying collection.
+ */
+class OffHeapStructRunMerger extends OffHeapStructLoserTree {
+    private final OffHeapStructCollection col;
+
+    /**
+     * Private constructor
+     *
+     * @param col partly sorted collection
+     * @param lefts start indices of the sorted runs, inclusive
+     * @param rights end indices of the sorted runs, inclusive
+     * @param comp comparator used to sort the runs
+     */
+    private OffHeapStructRunMerger(OffHeapStructCollection col, long[] lefts, long[] rights, Comparator<byte[]> comp) {
+        super(runs(col, lefts, rights), col.structLength(), comp, size(lefts, rights));
+        this.col = col;
+    }
+
+    /**
+     * Creates merge iterator over runs sorted by primitive key
+     *
+     * @param col partly sorted collection
+     * @param lefts start indices of the sorted runs, inclusive
+     * @param rights end indices of the sorted runs, inclusive
+     * @param keyOffset key offset
+     * @param keyType key type
+     * @return merge iterator
+     */
+    static OffHeapStructRunMerger byKey(OffHeapStructCollection col, long[] lefts, long[] rights, int keyOffset,
+                                        OffHeapStructKeyType keyType) {
+        if (null == keyType) throw new IllegalArgumentException("Provided key type is null");
+        return new OffHeapStructRunMerger(col, lefts, rights, keyType.comparator(keyOffset));
+    }
+
+    /**
+     * Creates merge iterator over runs sorted using comparator
+     *
+     * @param col partly sorted collection
+     * @param lefts start indices of the sorted runs, inclusive
+     * @param rights end indices of the sorted runs, inclusive
+     * @param comp comparator used to sort the runs
+     * @return merge iterator
+     */
+    static OffHeapStructRunMerger withComparator(OffHeapStructCollection col, long[] lefts, long[] rights,
+                                                 OffHeapStructComparator comp) {
+        if (null == comp) throw new IllegalArgumentException("Provided comparator is null");
+        return new OffHeapStructRunMerger(col, lefts, rights, comp.structsComparator());
+    }
+
+    /**
+     * Splits the range into runs to be sorted by parallel workers, each worker gets
+     * {@code (toIndex - 1 - fromIndex) / threads} elements, range is not split if it is
+     * shorter than number of threads
+     *
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @param threads number of worker threads
+     * @return two arrays: start indices and end indices of the runs, both inclusive
+     */
+    static long[][] runBounds(long fromIndex, long toIndex, int threads) {
+        long step = (toIndex - 1 - fromIndex) / threads;
+        if (0 == step) return new long[][]{{fromIndex}, {toIndex - 1}};
+        int count = (int) ((toIndex - fromIndex + step - 1) / step);
+        long[] lefts = new long[count];
+        long[] rights = new long[count];
+        for (int i = 0; i < count; i++) {
+            lefts[i] = fromIndex + i * step;
+            rights[i] = Math.min(lefts[i] + step - 1, toIndex - 1);
+        }
+        return new long[][]{lefts, rights};
+    }
+
+    /**
+     * Frees the underlying collection
+     */
+    @Override
+    public void free() {
+        super.free();
+        OffHeapUtils.free(col);
+    }
+
+    /**
+     * Creates run sources
+     *
+     * @param col partly sorted collection
+     * @param lefts start indices of the sorted runs, inclusive
+     * @param rights end indices of the sorted runs, inclusive
+     * @return run iterators
+     */
+    private static List<RunIter> runs(OffHeapStructCollection col, long[] lefts, long[] rights) {
+        if (lefts.length != rights.length) throw new IllegalArgumentException(
+                "Illegal input, lefts length: [" + lefts.length + "], rights length: [" + rights.length + "]");
+        List<RunIter> res = new ArrayList<RunIter>(lefts.length);
+        for (int i = 0; i < lefts.length; i++) {
+            res.add(new RunIter(col, lefts[i], rights[i]));
+        }
+        return res;
+    }
+
+    /**
+     * Counts elements in all runs
+     *
+     * @param lefts start indices of the sorted runs, inclusive
+     * @param rights end indices of the sorted runs, inclusive
+     * @return number of elements in all runs
+     */
+    private static long size(long[] lefts, long[] rights) {
+        long res = 0;
+        for (int i = 0; i < lefts.length; i++) {
+            res += Math.max(0, rights[i] - lefts[i] + 1);
+        }
+        return res;
+    }
+
+    /**
+     * In-memory run source, iterates over the range of the collection,
+     * collection is not freed on free
+     */
+    private static class RunIter implements OffHeapDisposableIterator<byte[]> {
+        private final OffHeapStructCollection col;
+        private final long right;
+        private final byte[] buf;
+        private long index;
+
+        /**
+         * Constructor
+         *
+         * @param col collection
+         * @param left start index, inclusive
+         * @param right end index, inclusive
+         */
+        RunIter(OffHeapStructCollection col, long left, long right) {
+            this.col = col;
+            this.index = left;
+            this.right = right;
+            this.buf = new byte[col.structLength()];
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return index <= right;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public byte[] next() {
+            if (index > right) throw new NoSuchElementException();
+            col.get(index++, buf);
+            return buf;
+        }
+
+        /**
+         * Remove operation is not supported
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long size() {
+            return Math.max(0, right - index + 1);
+        }
+
+        /**
+         * Does nothing, collection is owned by the merger
+         */
+        @Override
+        public void free() {
+            // no-op
+        }
+    }
+}
@@ -0,0 +1,456 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheapstruct;
+
+import com.alexkasko.unsafe.offheap.OffHeapDisposable;
+import com.alexkasko.unsafe.offheap.OffHeapDisposableIterator;
+import com.alexkasko.unsafe.offheap.OffHeapMemory;
+
+import java.util.Arrays;
+
+/**
+ * <p>Implementation of off-heap array list of structs (memory areas of equal sizes) using segments
+ * of {@link com.alexkasko.unsafe.offheap.OffHeapMemory}. Unlike {@link OffHeapStructArrayList}, list growth allocates
+ * new segment of {@code 2^segmentShift} structs instead of allocating larger memory area and copying all the data
+ * into it. Existing data is never moved, so {@link #add(byte[])} latency doesn't depend on list size and
+ * no additional memory is required during growth. Index is translated into segment number and segment
+ * offset using shift and mask, struct never spans multiple segments.
+ *
+ * <p>Default implementation uses {@code sun.misc.Unsafe}, with all operations guarded with {@code assert} keyword.
+ * With assertions enabled in runtime ({@code -ea} java switch) {@link AssertionError}
+ * will be thrown on illegal index access. Without assertions illegal index will crash JVM.
+ *
+ * <p>List won't be zeroed after creation (will contain garbage by default).
+ * Allocated memory may be freed manually using {@link #free()} (thread-safe
+ * and may be called multiple times) or it will be freed after list instance will be garbage collected.
+ */
+public class OffHeapStructSegmentedArrayList implements OffHeapStructCollection, OffHeapDisposable {
+    private static final int DEFAULT_SEGMENT_SHIFT = 16;
+    private static final int MIN_DIRECTORY_LENGTH = 4;
+
+    private final int structLength;
+    private final int segmentShift;
+    private final long segmentMask;
+    private OffHeapMemory[] segments;
+    private int segmentsCount;
+    private long size;
+
+    /**
+     * Constructor, segments of {@code 65536} structs are used
+     *
+     * @param structLength length of the single struct in bytes, must be >= {@code 8}
+     */
+    public OffHeapStructSegmentedArrayList(int structLength) {
+        this(DEFAULT_SEGMENT_SHIFT, structLength);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param segmentShift each segment will contain {@code 2^segmentShift} structs
+     * @param structLength length of the single struct in bytes, must be >= {@code 8}
+     */
+    public OffHeapStructSegmentedArrayList(int segmentShift, int structLength) {
+        if (segmentShift < 0 || segmentShift > 40) throw new IllegalArgumentException(
+                "Invalid segmentShift: [" + segmentShift + "]");
+        this.structLength = structLength;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+        this.segments = new OffHeapMemory[MIN_DIRECTORY_LENGTH];
+        addSegment();
+    }
+
+    /**
+     * Returns length of the single struct in bytes
+     *
+     * @return length of the single struct in bytes
+     */
+    @Override
+    public int structLength() {
+        return structLength;
+    }
+
+    /**
+     * Returns number of elements in this list
+     *
+     * @return number of elements in this list
+     */
+    @Override
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns max number of possible elements in this list without additional memory allocation
+     *
+     * @return max number of possible elements in this list without additional memory allocation
+     */
+    public long capacity() {
+        return ((long) segmentsCount) << segmentShift;
+    }
+
+    /**
+     * Frees allocated memory, may be called multiple times from any thread
+     */
+    @Override
+    public void free() {
+        for (int i = 0; i < segmentsCount; i++) {
+            segments[i].free();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OffHeapDisposableIterator<byte[]> iterator() {
+        return new OffHeapStructIterator(this);
+    }
+
+    /**
+     * Whether unsafe implementation of {@link OffHeapMemory} is used
+     *
+     * @return whether unsafe implementation of {@link OffHeapMemory} is used
+     */
+    public boolean isUnsafe() {
+        return segments[0].isUnsafe();
+    }
+
+    /**
+     * Copies struct on specified index into specified buffer
+     *
+     * @param index array index
+     * @param buffer buffer to copy struct into
+     */
+    @Override
+    public void get(long index, byte[] buffer) {
+        segment(index).get(offset(index), buffer);
+    }
+
+    /**
+     * Copies struct on specified index into specified buffer
+     *
+     * @param index array index
+     * @param buffer buffer to copy struct into
+     * @param bufferPos start position in specified buffer
+     */
+    public void get(long index, byte[] buffer, int bufferPos) {
+        segment(index).get(offset(index), buffer, bufferPos, structLength);
+    }
+
+    /**
+     * Copies part of struct on specified index into specified buffer
+     *
+     * @param index array index
+     * @param pos position in struct
+     * @param buffer buffer to copy struct into
+     * @param bufferPos start position in specified buffer
+     * @param length number of bytes to copy
+     */
+    @Override
+    public void get(long index, int pos, byte[] buffer, int bufferPos, int length) {
+        segment(index).get(offset(index) + pos, buffer, bufferPos, length);
+    }
+
+    /**
+     * Copies specified struct contents onto specified index
+     *
+     * @param index array index
+     * @param struct struct to copy into array
+     */
+    @Override
+    public void set(long index, byte[] struct) {
+        segment(index).put(offset(index), struct);
+    }
+
+    /**
+     * Copies specified struct contents onto specified index
+     *
+     * @param index array index
+     * @param struct struct to copy into array
+     * @param structPos start position in specified struct
+     */
+    public void set(long index, byte[] struct, int structPos) {
+        segment(index).put(offset(index), struct, structPos, structLength);
+    }
+
+    /**
+     * Gets byte from struct on specified index with specified offset
+     *
+     * @param index  array index
+     * @param offset struct offset
+     * @return byte
+     */
+    @Override
+    public byte getByte(long index, int offset) {
+        assert offset <= structLength - 1 : offset;
+        return segment(index).getByte(offset(index) + offset);
+    }
+
+    /**
+     * Puts byte into struct onto specified index with specified offset
+     *
+     * @param index  array index
+     * @param offset struct offset
+     * @param value  value
+     */
+    @Override
+    public void putByte(long index, int offset, byte value) {
+        assert offset <= structLength - 1 : offset;
+        segment(index).putByte(offset(index) + offset, value);
+    }
+
+    /**
+     * Gets one byte (stored as one signed byte) from struct on specified index
+     * with specified offset, converts it to unsigned and returns it as short
+     *
+     * @param index  array index
+     * @param offset struct offset
+     * @return unsigned byte as short
+     */
+    @Override
+    public short getUnsignedByte(long index, int offset) {
+        assert offset <= structLength - 1 : offset;
+        return segment(index).getUnsignedByte(offset(index) + offset);
+    }
+
+    /**
+     * Puts short with value from 0 to 255 inclusive into struct onto specified
+     * index with specified offset as one signed byte
+     *
+     * @param index  array index
+     * @param offset struct offset
+     * @param value  unsigned byte
+     */
+    @Override
+    public void putUnsignedByte(long index, int offset, short value) {
+        assert offset <= structLength - 1 : offset;
+        segment(index).putUnsignedByte(offset(index) + offset, value);
+    }
+
+    /**
+     * Gets two bytes as short from struct on specified index with specified offset
+     *
+     * @param index  array index
+     * @param offset struct offset
+     * @return short value
+     */
+    @Override
+    public short getShort(long index, int offset) {
+        assert offset <= structLength - 2 : offset;
+        return segment(index).getShort(offset(index) + offset);
+    }
+
+    /**
+     * Puts short into struct onto specified index with specified offset as two bytes
+     *
+     * @param index  array index
+     * @param offset struct offset
+     * @param value  short value
+     */
+    @Override
+    public void putShort(long index, int offset, short value) {
+        assert offset <= structLength - 2 : offset;
+        segment(index).putShort(offset(index) + offset, value);
+    }
+
+    /**
+     * Gets unsigned short (stored as two bytes) from struct on specified index
+     * with specified offset and returns it as int
+     *
+     * @param index  array index
+     * @param offset struct offset
+     * @return unsigned short as int
+     */
+    @Override
+    public int getUnsignedShort(long index, int offset) {
+        assert offset <= structLength - 2 : offset;
+        return segment(index).getUnsignedShort(offset(index) + offset);
+    }
+
+    /**
+     * Puts int with value from 0 to 65535 inclusive into struct onto specified
+     * index with specified offset as two bytes
+     *
+     * @param index  array index
+     * @param offset struct offset
+     * @param value  unsigned short as int
+     */
+    @Override
+    public void putUnsignedShort(long index, int offset, int value) {
+        assert offset <= structLength - 2 : offset;
+        segment(index).putUnsignedShort(offset(index) + offset, value);
+    }
+
+    /**
+     * Gets four bytes as int from struct on specified index with specified offset
+     *
+     * @param index  array index
+     * @param offset struct offset
+     * @return int value
+     */
+    @Override
+    public int getInt(long index, int offset) {
+        assert offset <= structLength - 4 : offset;
+        return segment(index).getInt(offset(index) + offset);
+    }
+
+    /**
+     * Puts int into struct onto specified index with specified offset as four bytes
+     *
+     * @param index  array index
+     * @param offset struct offset
+     * @param value  int value
+     */
+    @Override
+    public void putInt(long index, int offset, int value) {
+        assert offset <= structLength - 4 : offset;
+        segment(index).putInt(offset(index) + offset, value);
+    }
+
+    /**
+     * Gets unsigned int (stored as 4 bytes) and returns it as long
+     * from struct on specified index with specified offset
+     *
+     * @param index  array index
+     * @param offset struct offset
+     * @return unsigned int as long
+     */
+    @Override
+    public long getUnsignedInt(long index, int offset) {
+        assert offset <= structLength - 4 : offset;
+        return segment(index).getUnsignedInt(offset(index) + offset);
+    }
+
+    /**
+     * Puts long value from 0 to 4294967295 inclusive into struct onto specified index
+     * with specified offset as four bytes
+     *
+     * @param index  array index
+     * @param offset struct offset
+     * @param value  unsigned int as long
+     */
+    @Override
+    public void putUnsignedInt(long index, int offset, long value) {
+        assert offset <= structLength - 4 : offset;
+        segment(index).putUnsignedInt(offset(index) + offset, value);
+    }
+
+    /**
+     * Gets long from struct on specified index with specified offset
+     *
+     * @param index  array index
+     * @param offset struct offset
+     * @return long value
+     */
+    @Override
+    public long getLong(long index, int offset) {
+        assert offset <= structLength - 8 : offset;
+        return segment(index).getLong(offset(index) + offset);
+    }
+
+    /**
+     * Puts long into struct onto specified index with specified offset as eight bytes
+     *
+     * @param index  array index
+     * @param offset struct offset
+     * @param value  long value
+     */
+    @Override
+    public void putLong(long index, int offset, long value) {
+        assert offset <= structLength - 8 : offset;
+        segment(index).putLong(offset(index) + offset, value);
+    }
+
+    /**
+     * Adds element to the end of this list. New segment will be allocated on capacity exceed,
+     * existing segments won't be copied.
+     *
+     * @param struct to add
+     */
+    public void add(byte[] struct) {
+        add(struct, 0);
+    }
+
+    /**
+     * Adds element to the end of this list. New segment will be allocated on capacity exceed,
+     * existing segments won't be copied.
+     *
+     * @param struct struct to add
+     * @param structPos struct offset
+     */
+    public void add(byte[] struct, int structPos) {
+        long s = size;
+        if ((s >>> segmentShift) == segmentsCount) addSegment();
+        size = s + 1;
+        set(s, struct, structPos);
+    }
+
+    /**
+     * Resets the collection setting size to 0.
+     * Actual memory contents stays untouched.
+     */
+    public void reset() {
+        this.size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("OffHeapStructSegmentedArrayList");
+        sb.append("{structLength=").append(structLength);
+        sb.append(", size=").append(size);
+        sb.append(", capacity=").append(capacity());
+        sb.append(", segmentShift=").append(segmentShift);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Returns segment containing struct with specified index
+     *
+     * @param index list index
+     * @return segment
+     */
+    private OffHeapMemory segment(long index) {
+        return segments[(int) (index >>> segmentShift)];
+    }
+
+    /**
+     * Returns offset of struct with specified index in its segment
+     *
+     * @param index list index
+     * @return offset in bytes
+     */
+    private long offset(long index) {
+        return (index & segmentMask) * structLength;
+    }
+
+    /**
+     * Allocates new segment, doubles segments directory if necessary
+     */
+    private void addSegment() {
+        if (segmentsCount == segments.length) {
+            segments = Arrays.copyOf(segments, segments.length * 2);
+        }
+        segments[segmentsCount] = OffHeapMemory.allocateMemory((segmentMask + 1) * structLength);
+        segmentsCount += 1;
+    }
+}
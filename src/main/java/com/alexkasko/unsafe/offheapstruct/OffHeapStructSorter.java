@@ -18,6 +18,8 @@ package com.alexkasko.unsafe.offheapstruct;
 
 import com.alexkasko.unsafe.offheap.OffHeapDisposableIterable;
 import com.alexkasko.unsafe.offheap.OffHeapDisposableIterator;
+import com.alexkasko.unsafe.offheaplong.OffHeapLongAddressable;
+import com.alexkasko.unsafe.offheaplong.OffHeapLongArray;
 
 import java.util.*;
 import java.util.concurrent.Executor;
@@ -294,6 +296,487 @@ public class OffHeapStructSorter {
         OffHeapStructSorterUnsignedInt.sort(a, fromIndex, toIndex, keyOffset);
     }
 
+    /**
+     * Sorts the specified off-heap struct collection into ascending order using comparator in parallel.
+     * Collection is sorted in place using parallel Dual-Pivot Quicksort.
+     *
+     * @param executor executor to run worker threads
+     * @param threads number of worker threads to use
+     * @param collection off-heap struct collection
+     * @param comparator structs comparator, must be thread-safe
+     * @throws RuntimeException on worker thread error
+     */
+    public static void sortParallel(Executor executor, int threads, OffHeapStructCollection collection,
+                                    Comparator<OffHeapStructAccessor> comparator) {
+        OffHeapStructParallelSorter.sort(executor, threads, collection, 0, collection.size(), comparator);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap struct collection into ascending order using comparator in parallel.
+     * Range is sorted in place using parallel Dual-Pivot Quicksort.
+     *
+     * @param executor executor to run worker threads
+     * @param threads number of worker threads to use
+     * @param collection off-heap struct collection
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param comparator structs comparator, must be thread-safe
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > collection.size())}
+     * @throws RuntimeException on worker thread error
+     */
+    public static void sortParallel(Executor executor, int threads, OffHeapStructCollection collection, long fromIndex,
+                                    long toIndex, Comparator<OffHeapStructAccessor> comparator) {
+        OffHeapStructParallelSorter.sort(executor, threads, collection, fromIndex, toIndex, comparator);
+    }
+
+    /**
+     * Sorts the specified off-heap struct collection into ascending order using long struct key in parallel.
+     * Collection is sorted in place using parallel Dual-Pivot Quicksort.
+     *
+     * @param executor executor to run worker threads
+     * @param threads number of worker threads to use
+     * @param a the off-heap struct collection to be sorted
+     * @param keyOffset long key field offset within stuct bounds
+     * @throws RuntimeException on worker thread error
+     */
+    public static void sortByLongKeyParallel(Executor executor, int threads, OffHeapStructCollection a, int keyOffset) {
+        OffHeapStructParallelSorter.sort(executor, threads, a, 0, a.size(), keyOffset, OffHeapStructKeyType.LONG);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap struct collection into ascending order using long struct key
+     * in parallel. Range is sorted in place using parallel Dual-Pivot Quicksort.
+     *
+     * @param executor executor to run worker threads
+     * @param threads number of worker threads to use
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset long sort key field offset within stuct bounds
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     * @throws RuntimeException on worker thread error
+     */
+    public static void sortByLongKeyParallel(Executor executor, int threads, OffHeapStructCollection a, long fromIndex,
+                                             long toIndex, int keyOffset) {
+        OffHeapStructParallelSorter.sort(executor, threads, a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.LONG);
+    }
+
+    /**
+     * Sorts the specified off-heap struct collection into ascending order using unsigned long struct key in parallel.
+     * Collection is sorted in place using parallel Dual-Pivot Quicksort.
+     *
+     * @param executor executor to run worker threads
+     * @param threads number of worker threads to use
+     * @param a the off-heap struct collection to be sorted
+     * @param keyOffset long key field offset within stuct bounds
+     * @throws RuntimeException on worker thread error
+     */
+    public static void sortByUnsignedLongKeyParallel(Executor executor, int threads, OffHeapStructCollection a, int keyOffset) {
+        OffHeapStructParallelSorter.sort(executor, threads, a, 0, a.size(), keyOffset, OffHeapStructKeyType.UNSIGNED_LONG);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap struct collection into ascending order using unsigned long struct key
+     * in parallel. Range is sorted in place using parallel Dual-Pivot Quicksort.
+     *
+     * @param executor executor to run worker threads
+     * @param threads number of worker threads to use
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset long sort key field offset within stuct bounds
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     * @throws RuntimeException on worker thread error
+     */
+    public static void sortByUnsignedLongKeyParallel(Executor executor, int threads, OffHeapStructCollection a, long fromIndex,
+                                                     long toIndex, int keyOffset) {
+        OffHeapStructParallelSorter.sort(executor, threads, a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.UNSIGNED_LONG);
+    }
+
+    /**
+     * Sorts the specified off-heap struct collection into ascending order using int struct key in parallel.
+     * Collection is sorted in place using parallel Dual-Pivot Quicksort.
+     *
+     * @param executor executor to run worker threads
+     * @param threads number of worker threads to use
+     * @param a the off-heap struct collection to be sorted
+     * @param keyOffset int key field offset within stuct bounds
+     * @throws RuntimeException on worker thread error
+     */
+    public static void sortByIntKeyParallel(Executor executor, int threads, OffHeapStructCollection a, int keyOffset) {
+        OffHeapStructParallelSorter.sort(executor, threads, a, 0, a.size(), keyOffset, OffHeapStructKeyType.INT);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap struct collection into ascending order using int struct key
+     * in parallel. Range is sorted in place using parallel Dual-Pivot Quicksort.
+     *
+     * @param executor executor to run worker threads
+     * @param threads number of worker threads to use
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset int sort key field offset within stuct bounds
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     * @throws RuntimeException on worker thread error
+     */
+    public static void sortByIntKeyParallel(Executor executor, int threads, OffHeapStructCollection a, long fromIndex,
+                                            long toIndex, int keyOffset) {
+        OffHeapStructParallelSorter.sort(executor, threads, a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.INT);
+    }
+
+    /**
+     * Sorts the specified off-heap struct collection into ascending order using unsigned int struct key in parallel.
+     * Collection is sorted in place using parallel Dual-Pivot Quicksort.
+     *
+     * @param executor executor to run worker threads
+     * @param threads number of worker threads to use
+     * @param a the off-heap struct collection to be sorted
+     * @param keyOffset int key field offset within stuct bounds
+     * @throws RuntimeException on worker thread error
+     */
+    public static void sortByUnsignedIntKeyParallel(Executor executor, int threads, OffHeapStructCollection a, int keyOffset) {
+        OffHeapStructParallelSorter.sort(executor, threads, a, 0, a.size(), keyOffset, OffHeapStructKeyType.UNSIGNED_INT);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap struct collection into ascending order using unsigned int struct key
+     * in parallel. Range is sorted in place using parallel Dual-Pivot Quicksort.
+     *
+     * @param executor executor to run worker threads
+     * @param threads number of worker threads to use
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset int sort key field offset within stuct bounds
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     * @throws RuntimeException on worker thread error
+     */
+    public static void sortByUnsignedIntKeyParallel(Executor executor, int threads, OffHeapStructCollection a, long fromIndex,
+                                                    long toIndex, int keyOffset) {
+        OffHeapStructParallelSorter.sort(executor, threads, a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.UNSIGNED_INT);
+    }
+
+    /**
+     * Sorts the specified off-heap struct collection into ascending order using long struct key
+     * and LSD radix sort. Temporary off-heap struct array with the same size as collection will be allocated.
+     * Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param keyOffset long key field offset within stuct bounds
+     */
+    public static void radixSortByLongKey(OffHeapStructCollection a, int keyOffset) {
+        OffHeapStructRadixSorter.sort(a, 0, a.size(), keyOffset, OffHeapStructKeyType.LONG, null);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap struct collection into ascending order using long struct key
+     * and LSD radix sort. On each radix pass whole structs are moved between collection and buffer.
+     * The range to be sorted extends from the index {@code fromIndex}, inclusive, to
+     * the index {@code toIndex}, exclusive. If {@code fromIndex == toIndex},
+     * the range to be sorted is empty (and the call is a no-op). Ranges shorter than
+     * {@code 4096} elements are sorted using key-index sort without the buffer. Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset long sort key field offset within stuct bounds
+     * @param buffer temporary struct collection with size not less than {@code toIndex - fromIndex}
+     *               and the same struct length, if {@code null} buffer will be allocated and freed internally
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     *         or on invalid buffer
+     */
+    public static void radixSortByLongKey(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset,
+                                          OffHeapStructCollection buffer) {
+        OffHeapStructRadixSorter.sort(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.LONG, buffer);
+    }
+
+    /**
+     * Sorts the specified off-heap struct collection into ascending order using unsigned long struct key
+     * and LSD radix sort. Temporary off-heap struct array with the same size as collection will be allocated.
+     * Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param keyOffset long key field offset within stuct bounds
+     */
+    public static void radixSortByUnsignedLongKey(OffHeapStructCollection a, int keyOffset) {
+        OffHeapStructRadixSorter.sort(a, 0, a.size(), keyOffset, OffHeapStructKeyType.UNSIGNED_LONG, null);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap struct collection into ascending order using unsigned long struct key
+     * and LSD radix sort. On each radix pass whole structs are moved between collection and buffer.
+     * The range to be sorted extends from the index {@code fromIndex}, inclusive, to
+     * the index {@code toIndex}, exclusive. If {@code fromIndex == toIndex},
+     * the range to be sorted is empty (and the call is a no-op). Ranges shorter than
+     * {@code 4096} elements are sorted using key-index sort without the buffer. Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset long sort key field offset within stuct bounds
+     * @param buffer temporary struct collection with size not less than {@code toIndex - fromIndex}
+     *               and the same struct length, if {@code null} buffer will be allocated and freed internally
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     *         or on invalid buffer
+     */
+    public static void radixSortByUnsignedLongKey(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset,
+                                                  OffHeapStructCollection buffer) {
+        OffHeapStructRadixSorter.sort(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.UNSIGNED_LONG, buffer);
+    }
+
+    /**
+     * Sorts the specified off-heap struct collection into ascending order using int struct key
+     * and LSD radix sort. Temporary off-heap struct array with the same size as collection will be allocated.
+     * Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param keyOffset int key field offset within stuct bounds
+     */
+    public static void radixSortByIntKey(OffHeapStructCollection a, int keyOffset) {
+        OffHeapStructRadixSorter.sort(a, 0, a.size(), keyOffset, OffHeapStructKeyType.INT, null);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap struct collection into ascending order using int struct key
+     * and LSD radix sort. On each radix pass whole structs are moved between collection and buffer.
+     * The range to be sorted extends from the index {@code fromIndex}, inclusive, to
+     * the index {@code toIndex}, exclusive. If {@code fromIndex == toIndex},
+     * the range to be sorted is empty (and the call is a no-op). Ranges shorter than
+     * {@code 4096} elements are sorted using key-index sort without the buffer. Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset int sort key field offset within stuct bounds
+     * @param buffer temporary struct collection with size not less than {@code toIndex - fromIndex}
+     *               and the same struct length, if {@code null} buffer will be allocated and freed internally
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     *         or on invalid buffer
+     */
+    public static void radixSortByIntKey(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset,
+                                         OffHeapStructCollection buffer) {
+        OffHeapStructRadixSorter.sort(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.INT, buffer);
+    }
+
+    /**
+     * Sorts the specified off-heap struct collection into ascending order using unsigned int struct key
+     * and LSD radix sort. Temporary off-heap struct array with the same size as collection will be allocated.
+     * Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param keyOffset int key field offset within stuct bounds
+     */
+    public static void radixSortByUnsignedIntKey(OffHeapStructCollection a, int keyOffset) {
+        OffHeapStructRadixSorter.sort(a, 0, a.size(), keyOffset, OffHeapStructKeyType.UNSIGNED_INT, null);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap struct collection into ascending order using unsigned int struct key
+     * and LSD radix sort. On each radix pass whole structs are moved between collection and buffer.
+     * The range to be sorted extends from the index {@code fromIndex}, inclusive, to
+     * the index {@code toIndex}, exclusive. If {@code fromIndex == toIndex},
+     * the range to be sorted is empty (and the call is a no-op). Ranges shorter than
+     * {@code 4096} elements are sorted using key-index sort without the buffer. Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset int sort key field offset within stuct bounds
+     * @param buffer temporary struct collection with size not less than {@code toIndex - fromIndex}
+     *               and the same struct length, if {@code null} buffer will be allocated and freed internally
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     *         or on invalid buffer
+     */
+    public static void radixSortByUnsignedIntKey(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset,
+                                                 OffHeapStructCollection buffer) {
+        OffHeapStructRadixSorter.sort(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.UNSIGNED_INT, buffer);
+    }
+
+    /**
+     * Sorts the specified off-heap struct collection into ascending order using long struct key.
+     * {@code (key, index)} pairs are sorted in temporary off-heap long array and then structs are moved
+     * in place following permutation cycles, so each struct is moved only once. Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param keyOffset long key field offset within stuct bounds
+     */
+    public static void keyIndexSortByLongKey(OffHeapStructCollection a, int keyOffset) {
+        OffHeapStructKeyIndexSorter.sort(a, 0, a.size(), keyOffset, OffHeapStructKeyType.LONG);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap struct collection into ascending order using long struct key.
+     * {@code (key, index)} pairs are sorted in temporary off-heap long array and then structs are moved
+     * in place following permutation cycles, so each struct is moved only once. Sort is stable.
+     * The range to be sorted extends from the index {@code fromIndex}, inclusive, to
+     * the index {@code toIndex}, exclusive. If {@code fromIndex == toIndex},
+     * the range to be sorted is empty (and the call is a no-op).
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset long sort key field offset within stuct bounds
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static void keyIndexSortByLongKey(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset) {
+        OffHeapStructKeyIndexSorter.sort(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.LONG);
+    }
+
+    /**
+     * Copies the specified range of the off-heap struct collection into new struct array sorting it
+     * into ascending order using long struct key. {@code (key, index)} pairs are sorted in temporary
+     * off-heap long array and then structs are copied once in sorted order. Collection is not changed. Sort is stable.
+     *
+     * @param a the off-heap struct collection
+     * @param fromIndex the index of the first element, inclusive, to be copied
+     * @param toIndex the index of the last element, exclusive, to be copied
+     * @param keyOffset long sort key field offset within stuct bounds
+     * @return new sorted struct array, should be freed by caller
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static OffHeapStructArray sortedCopyByLongKey(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset) {
+        return OffHeapStructKeyIndexSorter.sortedCopy(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.LONG);
+    }
+
+    /**
+     * Sorts the specified off-heap struct collection into ascending order using unsigned long struct key.
+     * {@code (key, index)} pairs are sorted in temporary off-heap long array and then structs are moved
+     * in place following permutation cycles, so each struct is moved only once. Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param keyOffset long key field offset within stuct bounds
+     */
+    public static void keyIndexSortByUnsignedLongKey(OffHeapStructCollection a, int keyOffset) {
+        OffHeapStructKeyIndexSorter.sort(a, 0, a.size(), keyOffset, OffHeapStructKeyType.UNSIGNED_LONG);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap struct collection into ascending order using unsigned long struct key.
+     * {@code (key, index)} pairs are sorted in temporary off-heap long array and then structs are moved
+     * in place following permutation cycles, so each struct is moved only once. Sort is stable.
+     * The range to be sorted extends from the index {@code fromIndex}, inclusive, to
+     * the index {@code toIndex}, exclusive. If {@code fromIndex == toIndex},
+     * the range to be sorted is empty (and the call is a no-op).
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset long sort key field offset within stuct bounds
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static void keyIndexSortByUnsignedLongKey(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset) {
+        OffHeapStructKeyIndexSorter.sort(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.UNSIGNED_LONG);
+    }
+
+    /**
+     * Copies the specified range of the off-heap struct collection into new struct array sorting it
+     * into ascending order using unsigned long struct key. {@code (key, index)} pairs are sorted in temporary
+     * off-heap long array and then structs are copied once in sorted order. Collection is not changed. Sort is stable.
+     *
+     * @param a the off-heap struct collection
+     * @param fromIndex the index of the first element, inclusive, to be copied
+     * @param toIndex the index of the last element, exclusive, to be copied
+     * @param keyOffset long sort key field offset within stuct bounds
+     * @return new sorted struct array, should be freed by caller
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static OffHeapStructArray sortedCopyByUnsignedLongKey(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset) {
+        return OffHeapStructKeyIndexSorter.sortedCopy(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.UNSIGNED_LONG);
+    }
+
+    /**
+     * Sorts the specified off-heap struct collection into ascending order using int struct key.
+     * {@code (key, index)} pairs are sorted in temporary off-heap long array and then structs are moved
+     * in place following permutation cycles, so each struct is moved only once. Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param keyOffset int key field offset within stuct bounds
+     */
+    public static void keyIndexSortByIntKey(OffHeapStructCollection a, int keyOffset) {
+        OffHeapStructKeyIndexSorter.sort(a, 0, a.size(), keyOffset, OffHeapStructKeyType.INT);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap struct collection into ascending order using int struct key.
+     * {@code (key, index)} pairs are sorted in temporary off-heap long array and then structs are moved
+     * in place following permutation cycles, so each struct is moved only once. Sort is stable.
+     * The range to be sorted extends from the index {@code fromIndex}, inclusive, to
+     * the index {@code toIndex}, exclusive. If {@code fromIndex == toIndex},
+     * the range to be sorted is empty (and the call is a no-op).
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset int sort key field offset within stuct bounds
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static void keyIndexSortByIntKey(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset) {
+        OffHeapStructKeyIndexSorter.sort(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.INT);
+    }
+
+    /**
+     * Copies the specified range of the off-heap struct collection into new struct array sorting it
+     * into ascending order using int struct key. {@code (key, index)} pairs are sorted in temporary
+     * off-heap long array and then structs are copied once in sorted order. Collection is not changed. Sort is stable.
+     *
+     * @param a the off-heap struct collection
+     * @param fromIndex the index of the first element, inclusive, to be copied
+     * @param toIndex the index of the last element, exclusive, to be copied
+     * @param keyOffset int sort key field offset within stuct bounds
+     * @return new sorted struct array, should be freed by caller
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static OffHeapStructArray sortedCopyByIntKey(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset) {
+        return OffHeapStructKeyIndexSorter.sortedCopy(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.INT);
+    }
+
+    /**
+     * Sorts the specified off-heap struct collection into ascending order using unsigned int struct key.
+     * {@code (key, index)} pairs are sorted in temporary off-heap long array and then structs are moved
+     * in place following permutation cycles, so each struct is moved only once. Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param keyOffset int key field offset within stuct bounds
+     */
+    public static void keyIndexSortByUnsignedIntKey(OffHeapStructCollection a, int keyOffset) {
+        OffHeapStructKeyIndexSorter.sort(a, 0, a.size(), keyOffset, OffHeapStructKeyType.UNSIGNED_INT);
+    }
+
+    /**
+     * Sorts the specified range of the off-heap struct collection into ascending order using unsigned int struct key.
+     * {@code (key, index)} pairs are sorted in temporary off-heap long array and then structs are moved
+     * in place following permutation cycles, so each struct is moved only once. Sort is stable.
+     * The range to be sorted extends from the index {@code fromIndex}, inclusive, to
+     * the index {@code toIndex}, exclusive. If {@code fromIndex == toIndex},
+     * the range to be sorted is empty (and the call is a no-op).
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset int sort key field offset within stuct bounds
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static void keyIndexSortByUnsignedIntKey(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset) {
+        OffHeapStructKeyIndexSorter.sort(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.UNSIGNED_INT);
+    }
+
+    /**
+     * Copies the specified range of the off-heap struct collection into new struct array sorting it
+     * into ascending order using unsigned int struct key. {@code (key, index)} pairs are sorted in temporary
+     * off-heap long array and then structs are copied once in sorted order. Collection is not changed. Sort is stable.
+     *
+     * @param a the off-heap struct collection
+     * @param fromIndex the index of the first element, inclusive, to be copied
+     * @param toIndex the index of the last element, exclusive, to be copied
+     * @param keyOffset int sort key field offset within stuct bounds
+     * @return new sorted struct array, should be freed by caller
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static OffHeapStructArray sortedCopyByUnsignedIntKey(OffHeapStructCollection a, long fromIndex, long toIndex, int keyOffset) {
+        return OffHeapStructKeyIndexSorter.sortedCopy(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.UNSIGNED_INT);
+    }
+
     /**
      * Sorts collection using additional {@link com.alexkasko.unsafe.offheaplong.OffHeapLongArray} with the same size
      * as collection itself as an array of references (indices) of the collection
@@ -323,4 +806,284 @@ public class OffHeapStructSorter {
                                                                         long toIndex, Comparator<OffHeapStructAccessor> comparator) {
         return OffHeapStructSorterByReference.sortedIterable(a, fromIndex, toIndex, comparator);
     }
+
+    /**
+     * Sorts collection by long struct key using additional {@link com.alexkasko.unsafe.offheaplong.OffHeapLongArray}
+     * with the same size as collection itself as an array of references (indices) of the collection.
+     * {@code (key, index)} pairs are sorted directly without comparator calls, collection is not changed.
+     * Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param keyOffset long key field offset within stuct bounds
+     * @return sorted iterable over the collection
+     */
+    public static OffHeapDisposableIterable<byte[]> sortedByRefIterableByLongKey(OffHeapStructCollection a, int keyOffset) {
+        return OffHeapStructSorterByReference.sortedIterable(a, 0, a.size(), keyOffset, OffHeapStructKeyType.LONG);
+    }
+
+    /**
+     * Sorts the specified range of the collection by long struct key using additional
+     * {@link com.alexkasko.unsafe.offheaplong.OffHeapLongArray} with the same size as the range
+     * as an array of references (indices) of the collection. {@code (key, index)} pairs are sorted
+     * directly without comparator calls, collection is not changed. Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset long key field offset within stuct bounds
+     * @return sorted iterable over the collection
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static OffHeapDisposableIterable<byte[]> sortedByRefIterableByLongKey(OffHeapStructCollection a, long fromIndex,
+                                                                                 long toIndex, int keyOffset) {
+        return OffHeapStructSorterByReference.sortedIterable(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.LONG);
+    }
+
+    /**
+     * Returns indices of the range elements in the order those elements would have in the range
+     * sorted by long struct key. Collection is not changed. Sort is stable. Returned indices are
+     * the indices in the collection (not in the range), so they may be used with
+     * {@link #applyPermutation(OffHeapStructCollection, long, OffHeapLongAddressable)} with the same {@code fromIndex}.
+     *
+     * @param a the off-heap struct collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @param keyOffset long key field offset within stuct bounds
+     * @return new array of {@code toIndex - fromIndex} indices, should be freed by caller
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static OffHeapLongArray sortedByRefIndicesByLongKey(OffHeapStructCollection a, long fromIndex, long toIndex,
+                                                               int keyOffset) {
+        return OffHeapStructKeyIndexSorter.sortedIndices(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.LONG);
+    }
+
+    /**
+     * Sorts collection by unsigned long struct key using additional {@link com.alexkasko.unsafe.offheaplong.OffHeapLongArray}
+     * with the same size as collection itself as an array of references (indices) of the collection.
+     * {@code (key, index)} pairs are sorted directly without comparator calls, collection is not changed.
+     * Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param keyOffset long key field offset within stuct bounds
+     * @return sorted iterable over the collection
+     */
+    public static OffHeapDisposableIterable<byte[]> sortedByRefIterableByUnsignedLongKey(OffHeapStructCollection a, int keyOffset) {
+        return OffHeapStructSorterByReference.sortedIterable(a, 0, a.size(), keyOffset, OffHeapStructKeyType.UNSIGNED_LONG);
+    }
+
+    /**
+     * Sorts the specified range of the collection by unsigned long struct key using additional
+     * {@link com.alexkasko.unsafe.offheaplong.OffHeapLongArray} with the same size as the range
+     * as an array of references (indices) of the collection. {@code (key, index)} pairs are sorted
+     * directly without comparator calls, collection is not changed. Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset long key field offset within stuct bounds
+     * @return sorted iterable over the collection
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static OffHeapDisposableIterable<byte[]> sortedByRefIterableByUnsignedLongKey(OffHeapStructCollection a, long fromIndex,
+                                                                                         long toIndex, int keyOffset) {
+        return OffHeapStructSorterByReference.sortedIterable(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.UNSIGNED_LONG);
+    }
+
+    /**
+     * Returns indices of the range elements in the order those elements would have in the range
+     * sorted by unsigned long struct key. Collection is not changed. Sort is stable. Returned indices are
+     * the indices in the collection (not in the range), so they may be used with
+     * {@link #applyPermutation(OffHeapStructCollection, long, OffHeapLongAddressable)} with the same {@code fromIndex}.
+     *
+     * @param a the off-heap struct collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @param keyOffset long key field offset within stuct bounds
+     * @return new array of {@code toIndex - fromIndex} indices, should be freed by caller
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static OffHeapLongArray sortedByRefIndicesByUnsignedLongKey(OffHeapStructCollection a, long fromIndex, long toIndex,
+                                                                       int keyOffset) {
+        return OffHeapStructKeyIndexSorter.sortedIndices(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.UNSIGNED_LONG);
+    }
+
+    /**
+     * Sorts collection by int struct key using additional {@link com.alexkasko.unsafe.offheaplong.OffHeapLongArray}
+     * with the same size as collection itself as an array of references (indices) of the collection.
+     * {@code (key, index)} pairs are sorted directly without comparator calls, collection is not changed.
+     * Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param keyOffset int key field offset within stuct bounds
+     * @return sorted iterable over the collection
+     */
+    public static OffHeapDisposableIterable<byte[]> sortedByRefIterableByIntKey(OffHeapStructCollection a, int keyOffset) {
+        return OffHeapStructSorterByReference.sortedIterable(a, 0, a.size(), keyOffset, OffHeapStructKeyType.INT);
+    }
+
+    /**
+     * Sorts the specified range of the collection by int struct key using additional
+     * {@link com.alexkasko.unsafe.offheaplong.OffHeapLongArray} with the same size as the range
+     * as an array of references (indices) of the collection. {@code (key, index)} pairs are sorted
+     * directly without comparator calls, collection is not changed. Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset int key field offset within stuct bounds
+     * @return sorted iterable over the collection
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static OffHeapDisposableIterable<byte[]> sortedByRefIterableByIntKey(OffHeapStructCollection a, long fromIndex,
+                                                                                long toIndex, int keyOffset) {
+        return OffHeapStructSorterByReference.sortedIterable(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.INT);
+    }
+
+    /**
+     * Returns indices of the range elements in the order those elements would have in the range
+     * sorted by int struct key. Collection is not changed. Sort is stable. Returned indices are
+     * the indices in the collection (not in the range), so they may be used with
+     * {@link #applyPermutation(OffHeapStructCollection, long, OffHeapLongAddressable)} with the same {@code fromIndex}.
+     *
+     * @param a the off-heap struct collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @param keyOffset int key field offset within stuct bounds
+     * @return new array of {@code toIndex - fromIndex} indices, should be freed by caller
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static OffHeapLongArray sortedByRefIndicesByIntKey(OffHeapStructCollection a, long fromIndex, long toIndex,
+                                                              int keyOffset) {
+        return OffHeapStructKeyIndexSorter.sortedIndices(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.INT);
+    }
+
+    /**
+     * Sorts collection by unsigned int struct key using additional {@link com.alexkasko.unsafe.offheaplong.OffHeapLongArray}
+     * with the same size as collection itself as an array of references (indices) of the collection.
+     * {@code (key, index)} pairs are sorted directly without comparator calls, collection is not changed.
+     * Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param keyOffset int key field offset within stuct bounds
+     * @return sorted iterable over the collection
+     */
+    public static OffHeapDisposableIterable<byte[]> sortedByRefIterableByUnsignedIntKey(OffHeapStructCollection a, int keyOffset) {
+        return OffHeapStructSorterByReference.sortedIterable(a, 0, a.size(), keyOffset, OffHeapStructKeyType.UNSIGNED_INT);
+    }
+
+    /**
+     * Sorts the specified range of the collection by unsigned int struct key using additional
+     * {@link com.alexkasko.unsafe.offheaplong.OffHeapLongArray} with the same size as the range
+     * as an array of references (indices) of the collection. {@code (key, index)} pairs are sorted
+     * directly without comparator calls, collection is not changed. Sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset int key field offset within stuct bounds
+     * @return sorted iterable over the collection
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static OffHeapDisposableIterable<byte[]> sortedByRefIterableByUnsignedIntKey(OffHeapStructCollection a, long fromIndex,
+                                                                                        long toIndex, int keyOffset) {
+        return OffHeapStructSorterByReference.sortedIterable(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.UNSIGNED_INT);
+    }
+
+    /**
+     * Returns indices of the range elements in the order those elements would have in the range
+     * sorted by unsigned int struct key. Collection is not changed. Sort is stable. Returned indices are
+     * the indices in the collection (not in the range), so they may be used with
+     * {@link #applyPermutation(OffHeapStructCollection, long, OffHeapLongAddressable)} with the same {@code fromIndex}.
+     *
+     * @param a the off-heap struct collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @param keyOffset int key field offset within stuct bounds
+     * @return new array of {@code toIndex - fromIndex} indices, should be freed by caller
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static OffHeapLongArray sortedByRefIndicesByUnsignedIntKey(OffHeapStructCollection a, long fromIndex, long toIndex,
+                                                                      int keyOffset) {
+        return OffHeapStructKeyIndexSorter.sortedIndices(a, fromIndex, toIndex, keyOffset, OffHeapStructKeyType.UNSIGNED_INT);
+    }
+
+    /**
+     * Sorts collection in place using additional {@link com.alexkasko.unsafe.offheaplong.OffHeapLongArray}
+     * with the same size as collection itself. Indices are sorted by reference first and then
+     * structs are moved once following permutation cycles using single temporary struct,
+     * so no second copy of the collection is required.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param comparator structs comparator
+     */
+    public static void sortByRef(OffHeapStructCollection a, Comparator<OffHeapStructAccessor> comparator) {
+        OffHeapStructSorterByReference.sort(a, 0, a.size(), comparator);
+    }
+
+    /**
+     * Sorts the specified range of the collection in place using additional
+     * {@link com.alexkasko.unsafe.offheaplong.OffHeapLongArray} with the same size as the range.
+     * Indices are sorted by reference first and then structs are moved once following
+     * permutation cycles using single temporary struct, so no second copy of the collection is required.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param comparator structs comparator
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static void sortByRef(OffHeapStructCollection a, long fromIndex, long toIndex,
+                                 Comparator<OffHeapStructAccessor> comparator) {
+        OffHeapStructSorterByReference.sort(a, fromIndex, toIndex, comparator);
+    }
+
+    /**
+     * Returns indices of the range elements in the order those elements would have in sorted range.
+     * Collection is not changed. Returned indices are the indices in the collection (not in the range),
+     * so they may be used with {@link #applyPermutation(OffHeapStructCollection, long, OffHeapLongAddressable)}
+     * with the same {@code fromIndex}.
+     *
+     * @param a the off-heap struct collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @param comparator structs comparator
+     * @return new array of {@code toIndex - fromIndex} indices, should be freed by caller
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    public static OffHeapLongArray sortedByRefIndices(OffHeapStructCollection a, long fromIndex, long toIndex,
+                                                      Comparator<OffHeapStructAccessor> comparator) {
+        return OffHeapStructSorterByReference.sortedIndices(a, fromIndex, toIndex, comparator);
+    }
+
+    /**
+     * Reorders the collection in place so that struct {@code i} becomes equal to the struct
+     * {@code perm[i]} of the original collection. Each struct is moved once following permutation
+     * cycles using single temporary struct. Visited positions are marked in permutation itself,
+     * permutation contents is restored before return.
+     *
+     * @param a the off-heap struct collection to reorder
+     * @param perm permutation of indices from {@code 0} to {@code perm.size() - 1}
+     * @throws IllegalArgumentException {@code if (perm.size() > a.size())} or if {@code perm} is not a permutation
+     */
+    public static void applyPermutation(OffHeapStructCollection a, OffHeapLongAddressable perm) {
+        OffHeapStructKeyIndexSorter.permute(a, 0, perm);
+    }
+
+    /**
+     * Reorders the range of the collection starting from {@code fromIndex} in place so that struct
+     * {@code fromIndex + i} becomes equal to the struct {@code perm[i]} of the original collection.
+     * Each struct is moved once following permutation cycles using single temporary struct.
+     * Visited positions are marked in permutation itself, permutation contents is restored before return.
+     * Permutation is validated before the collection is changed.
+     *
+     * @param a the off-heap struct collection to reorder
+     * @param fromIndex the index of the first struct of the range
+     * @param perm permutation of indices from {@code fromIndex} to {@code fromIndex + perm.size() - 1},
+     *             for example one returned by {@link #sortedByRefIndices(OffHeapStructCollection, long, long, Comparator)}
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex + perm.size() > a.size())}
+     *         or if {@code perm} is not a permutation
+     */
+    public static void applyPermutation(OffHeapStructCollection a, long fromIndex, OffHeapLongAddressable perm) {
+        OffHeapStructKeyIndexSorter.permute(a, fromIndex, perm);
+    }
 }
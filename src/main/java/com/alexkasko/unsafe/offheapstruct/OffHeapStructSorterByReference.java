@@ -74,6 +74,61 @@ public class OffHeapStructSorterByReference {
      */
     static OffHeapDisposableIterable<byte[]> sortedIterable(OffHeapStructCollection a, long fromIndex,
                                            long toIndex, Comparator<OffHeapStructAccessor> comparator) {
+        OffHeapLongArray indices = sortedIndices(a, fromIndex, toIndex, comparator);
+        return new ReferenceIterable(a, indices);
+    }
+
+    /**
+     * Sorts collection range by primitive key using additional {@link com.alexkasko.unsafe.offheaplong.OffHeapLongArray}
+     * with the same size as the range as an array of references (indices) of the collection.
+     * {@code (key, index)} pairs are sorted directly without comparator calls, sort is stable.
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param keyOffset key offset
+     * @param keyType key type
+     * @return sorted iterable over the collection
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    static OffHeapDisposableIterable<byte[]> sortedIterable(OffHeapStructCollection a, long fromIndex, long toIndex,
+                                                            int keyOffset, OffHeapStructKeyType keyType) {
+        OffHeapLongArray indices = OffHeapStructKeyIndexSorter.sortedIndices(a, fromIndex, toIndex, keyOffset, keyType);
+        return new ReferenceIterable(a, indices);
+    }
+
+    /**
+     * Sorts the specified range of the collection in place: indices are sorted first
+     * and then structs are moved once following permutation cycles
+     *
+     * @param a the off-heap struct collection to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     * @param comparator structs comparator
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    static void sort(OffHeapStructCollection a, long fromIndex, long toIndex, Comparator<OffHeapStructAccessor> comparator) {
+        OffHeapLongArray indices = sortedIndices(a, fromIndex, toIndex, comparator);
+        try {
+            OffHeapStructKeyIndexSorter.permute(a, fromIndex, indices);
+        } finally {
+            indices.free();
+        }
+    }
+
+    /**
+     * Returns indices of the range elements in the order those elements would have in sorted range.
+     * Returned indices are the indices in the collection (not in the range).
+     *
+     * @param a the off-heap struct collection
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @param comparator structs comparator
+     * @return new array of {@code toIndex - fromIndex} indices, should be freed by caller
+     * @throws IllegalArgumentException {@code if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size())}
+     */
+    static OffHeapLongArray sortedIndices(OffHeapStructCollection a, long fromIndex, long toIndex,
+                                          Comparator<OffHeapStructAccessor> comparator) {
         if(null == comparator) throw new IllegalArgumentException("Provided comparator is null");
         if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.size()) {
             throw new IllegalArgumentException("Illegal input, collection size: [" + a.size() + "], " +
@@ -81,11 +136,11 @@ public class OffHeapStructSorterByReference {
         }
         OffHeapLongArray indices = new OffHeapLongArray(toIndex - fromIndex);
         for (long i = fromIndex; i < toIndex; i++) {
-            indices.set(i, i);
+            indices.set(i - fromIndex, i);
         }
         OffHeapLongComparator indexComp = new OffHeapReferenceComparator(a, comparator);
         OffHeapLongSorter.sort(indices, indexComp);
-        return new ReferenceIterable(a, indices);
+        return indices;
     }
 
     /**
@@ -1,11 +1,9 @@
 package com.alexkasko.unsafe.offheapstruct;
 
 import com.alexkasko.unsafe.offheap.OffHeapDisposableIterator;
-import com.alexkasko.unsafe.offheap.OffHeapUtils;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.NoSuchElementException;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -66,21 +64,22 @@ class OffHeapStructSorterInt {
                     "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "]");
         }
         int len = a.structLength();
-        long step = (toIndex - 1 - fromIndex) / threads;
-        if (0 == step) {
-            doSort(a, fromIndex, toIndex - 1, keyOffset, new byte[len], new byte[len],
+        long[][] bounds = OffHeapStructRunMerger.runBounds(fromIndex, toIndex, threads);
+        long[] lefts = bounds[0];
+        long[] rights = bounds[1];
+        if (1 == lefts.length) {
+            doSort(a, lefts[0], rights[0], keyOffset, new byte[len], new byte[len],
                     new byte[len], new byte[len], new byte[len], new byte[len], new byte[len]);
-            return a.iterator();
         } else {
             List<Worker> workers = new ArrayList<Worker>();
-            for (int start = 0; start < toIndex; start += step) {
-                Worker worker = new Worker(a, start, Math.min(start + step - 1, toIndex - 1), keyOffset,
+            for (int i = 0; i < lefts.length; i++) {
+                Worker worker = new Worker(a, lefts[i], rights[i], keyOffset,
                         new byte[len], new byte[len], new byte[len], new byte[len], new byte[len], new byte[len], new byte[len]);
                 workers.add(worker);
             }
             Worker.invokeAndWait(executor, workers);
-            return new MergeIter(a, keyOffset, workers);
         }
+        return OffHeapStructRunMerger.byKey(a, lefts, rights, keyOffset, OffHeapStructKeyType.INT);
     }
 
     /**
@@ -482,85 +481,4 @@ class OffHeapStructSorterInt {
             }
         }
     }
-
-    /**
-     * Merge-sort iterator over partly sorted collection
-     */
-    private static class MergeIter implements OffHeapDisposableIterator<byte[]> {
-        private final OffHeapStructCollection col;
-        private final int keyOffset;
-        private final List<Worker> bounds;
-        private final long[] indices;
-        private final byte[] buf;
-
-        /**
-         * Private constructor
-         *
-         * @param col partly sorted collection
-         * @param keyOffset key offset used to partially sort collection
-         * @param bounds collection sorted parts bounds
-         */
-        private MergeIter(OffHeapStructCollection col, int keyOffset, List<Worker> bounds) {
-            this.col = col;
-            this.keyOffset = keyOffset;
-            this.bounds = bounds;
-            this.buf = new byte[col.structLength()];
-            this.indices = new long[bounds.size()];
-            for (int i = 0; i < bounds.size(); i++) {
-                indices[i] = bounds.get(i).left;
-            }
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public boolean hasNext() {
-            for (int i = 0; i < indices.length; i++) {
-                if (indices[i] <= bounds.get(i).right) return true;
-            }
-            return false;
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public byte[] next() {
-            int minind = -1;
-            for (int i = 0; i < indices.length; i++) {
-                if (indices[i] > bounds.get(i).right) continue;
-                if (-1 == minind) minind = i;
-                if (col.getInt(indices[minind], keyOffset) > col.getInt(indices[i], keyOffset)) minind = i;
-            }
-            if (-1 == minind) throw new NoSuchElementException();
-            col.get(indices[minind], buf);
-            indices[minind] += 1;
-            return buf;
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public void remove() {
-            throw new UnsupportedOperationException("remove");
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public void free() {
-            OffHeapUtils.free(col);
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public long size() {
-            return col.size();
-        }
-    }
 }
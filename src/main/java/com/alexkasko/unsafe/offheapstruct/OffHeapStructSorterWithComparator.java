@@ -17,12 +17,10 @@
 package com.alexkasko.unsafe.offheapstruct;
 
 import com.alexkasko.unsafe.offheap.OffHeapDisposableIterator;
-import com.alexkasko.unsafe.offheap.OffHeapUtils;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.NoSuchElementException;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -84,21 +82,22 @@ class OffHeapStructSorterWithComparator {
                     "fromIndex: [" + fromIndex + "], toIndex: [" + toIndex + "]");
         }
         int len = a.structLength();
-        long step = (toIndex - 1 - fromIndex)/threads;
-        if(0 == step) {
-            doSort(a, fromIndex, toIndex - 1, new OffHeapStructComparator(a, comparator), new byte[len], new byte[len],
+        long[][] bounds = OffHeapStructRunMerger.runBounds(fromIndex, toIndex, threads);
+        long[] lefts = bounds[0];
+        long[] rights = bounds[1];
+        if(1 == lefts.length) {
+            doSort(a, lefts[0], rights[0], new OffHeapStructComparator(a, comparator), new byte[len], new byte[len],
                     new byte[len], new byte[len], new byte[len], new byte[len], new byte[len]);
-            return a.iterator();
         } else {
             List<Worker> workers = new ArrayList<Worker>();
-            for(int start = 0; start < toIndex; start += step) {
-                Worker worker = new Worker(a, start, Math.min(start + step - 1, toIndex - 1), new OffHeapStructComparator(a, comparator),
+            for(int i = 0; i < lefts.length; i++) {
+                Worker worker = new Worker(a, lefts[i], rights[i], new OffHeapStructComparator(a, comparator),
                         new byte[len], new byte[len], new byte[len], new byte[len], new byte[len], new byte[len], new byte[len]);
                 workers.add(worker);
             }
             invokeAndWait(executor, workers);
-            return new MergeIter(a, new OffHeapStructComparator(a, comparator), workers);
         }
+        return OffHeapStructRunMerger.withComparator(a, lefts, rights, new OffHeapStructComparator(a, comparator));
     }
 
     /**
@@ -500,87 +499,4 @@ class OffHeapStructSorterWithComparator {
             return null;
         }
     }
-
-    /**
-     * Merge-sort iterator over partly sorted collection
-     */
-    private static class MergeIter implements OffHeapDisposableIterator<byte[]> {
-        private final OffHeapStructCollection col;
-        private final OffHeapStructComparator comp;
-        private final List<Worker> bounds;
-        private final long[] indices;
-        private final byte[] buf;
-
-
-        /**
-         * Private constructor
-         *
-         * @param col    partly sorted collection
-         * @param comp   comparator used to partially sort collection
-         * @param bounds collection sorted parts bounds
-         */
-        private MergeIter(OffHeapStructCollection col, OffHeapStructComparator comp, List<Worker> bounds) {
-            this.col = col;
-            this.comp = comp;
-            this.bounds = bounds;
-            this.buf = new byte[col.structLength()];
-            this.indices = new long[bounds.size()];
-            for (int i = 0; i < bounds.size(); i++) {
-                indices[i] = bounds.get(i).left;
-            }
-
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public boolean hasNext() {
-            for (int i = 0; i < indices.length; i++) {
-                if (indices[i] <= bounds.get(i).right) return true;
-            }
-            return false;
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public byte[] next() {
-            int minind = -1;
-            for (int i = 0; i < indices.length; i++) {
-                if (indices[i] > bounds.get(i).right) continue;
-                if (-1 == minind) minind = i;
-                if (comp.gt(indices[minind], indices[i])) minind = i;
-            }
-            if (-1 == minind) throw new NoSuchElementException();
-            col.get(indices[minind], buf);
-            indices[minind] += 1;
-            return buf;
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public void remove() {
-            throw new UnsupportedOperationException("remove");
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public void free() {
-            OffHeapUtils.free(col);
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public long size() {
-            return col.size();
-        }
-    }
 }
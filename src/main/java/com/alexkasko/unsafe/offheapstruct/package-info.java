@@ -21,6 +21,8 @@
  * <p>This package contains implementations of fixed-sized array of "structs" ({@link com.alexkasko.unsafe.offheapstruct.OffHeapStructArray})
  * and growing array list of structs ({@link com.alexkasko.unsafe.offheapstruct.OffHeapStructArrayList}). Both classes are implemented on top of
  * {@link com.alexkasko.unsafe.offheap.OffHeapMemory}.
+ * Array list that grows by adding fixed-size segments without copying is implemented in
+ * {@link com.alexkasko.unsafe.offheapstruct.OffHeapStructSegmentedArrayList}.
  *
  * <h2>Structs</h2>
  * <p>Struct here means a memory area (located in off-heap memory or loaded into byte array) of limited size
@@ -44,9 +46,22 @@
  *     <li>sorting using {@link com.alexkasko.unsafe.offheapstruct.OffHeapStructSorter}: implementation of Dual-Pivot quicksort algorithm
  *      adapted to off-heap collections. May use long or int fields from struct as sort keys with signed or unsigned comparison.
  *      May also use user-provided {@link java.util.Comparator}'s for structs.</li>
+ *     <li>parallel in-place sorting using shared work queue of Dual-Pivot Quicksort partitions:
+ *     {@link com.alexkasko.unsafe.offheapstruct.OffHeapStructSorter#sortByLongKeyParallel(java.util.concurrent.Executor, int, com.alexkasko.unsafe.offheapstruct.OffHeapStructCollection, int)}</li>
+ *     <li>stable LSD radix sorting by long or int keys using temporary struct array:
+ *     {@link com.alexkasko.unsafe.offheapstruct.OffHeapStructSorter#radixSortByLongKey(com.alexkasko.unsafe.offheapstruct.OffHeapStructCollection, int)}</li>
+ *     <li>key-index sorting of wide structs: {@code (key, index)} pairs are sorted in compact long array and then
+ *     structs are moved only once in place or into the new array:
+ *     {@link com.alexkasko.unsafe.offheapstruct.OffHeapStructSorter#keyIndexSortByLongKey(com.alexkasko.unsafe.offheapstruct.OffHeapStructCollection, int)}</li>
  *     <li>sorting struct collection "by-reference" using additional {@link com.alexkasko.unsafe.offheaplong.OffHeapLongArray}
  *     to hold collection indices. Indices are sorted using data from the collection, collection itself stays
- *     unchanged. This sorter returns {@link com.alexkasko.unsafe.offheap.OffHeapDisposableIterable} over the data.</li>
+ *     unchanged. This sorter returns {@link com.alexkasko.unsafe.offheap.OffHeapDisposableIterable} over the data.
+ *     Long and int struct fields may be used as keys directly without comparator:
+ *     {@link com.alexkasko.unsafe.offheapstruct.OffHeapStructSorter#sortedByRefIterableByLongKey(com.alexkasko.unsafe.offheapstruct.OffHeapStructCollection, int)}.
+ *     Sorted indices may be applied to the collection in place moving each struct only once:
+ *     {@link com.alexkasko.unsafe.offheapstruct.OffHeapStructSorter#sortByRef(com.alexkasko.unsafe.offheapstruct.OffHeapStructCollection, java.util.Comparator)}</li>
+ *     <li>external merge sorting of structs those doesn't fit into memory using temporary files:
+ *     {@link com.alexkasko.unsafe.offheapstruct.OffHeapStructExternalSorter}</li>
  *     <li>binary search over sorted collections using {@link com.alexkasko.unsafe.offheapstruct.OffHeapStructBinarySearch}.
  *      May use long or int field from struct to search on it. May also use user-provided {@link java.util.Comparator}'s for structs.</li>
  *     <li>binary search returning ranges of equal values:
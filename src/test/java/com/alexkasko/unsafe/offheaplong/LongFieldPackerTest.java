@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static com.alexkasko.unsafe.offheap.OffHeapUtils.freeAll;
+import static org.junit.Assert.assertEquals;
+
+public class LongFieldPackerTest {
+    private static final int LENGTH = 10000;
+
+    @Test
+    public void testSortOrder() {
+        // 64 bits total, signed first field
+        check(new int[]{20, 4, 40}, new boolean[]{true, false, false});
+        // 40 bits total, signed last field
+        check(new int[]{3, 30, 7}, new boolean[]{false, false, true});
+        check(new int[]{64}, new boolean[]{true});
+        check(new int[]{64}, new boolean[]{false});
+    }
+
+    @Test
+    public void testRanges() {
+        LongFieldPacker packer = new LongFieldPacker(new int[]{16, 16}, new boolean[]{false, true});
+        OffHeapLongArray f1 = new OffHeapLongArray(100);
+        OffHeapLongArray f2 = new OffHeapLongArray(100);
+        OffHeapLongArray packed = new OffHeapLongArray(110);
+        OffHeapLongArray u2 = new OffHeapLongArray(100);
+        try {
+            for (int i = 0; i < 100; i++) {
+                f1.set(i, i * 100);
+                f2.set(i, -i * 100);
+            }
+            packer.pack(new OffHeapLongAddressable[]{f1, f2}, 0, 100, packed, 10);
+            assertEquals(packer.pack(4200, -4200), packed.get(52));
+            packer.unpack(packed, 10, 110, new OffHeapLongAddressable[]{null, u2}, 0);
+            for (int i = 0; i < 100; i++) {
+                assertEquals(f2.get(i), u2.get(i));
+            }
+        } finally {
+            freeAll(f1, f2, packed, u2);
+        }
+    }
+
+    private static void check(int[] widths, boolean[] signed) {
+        LongFieldPacker packer = new LongFieldPacker(widths, signed);
+        Random random = new Random(42);
+        int count = packer.fieldsCount();
+        long[][] rows = new long[LENGTH][];
+        OffHeapLongArray packed = new OffHeapLongArray(LENGTH);
+        try {
+            for (int i = 0; i < LENGTH; i++) {
+                long[] row = new long[count];
+                for (int f = 0; f < count; f++) {
+                    // small ranges to get equal high fields
+                    int range = widths[f] >= 3 ? 8 : 1 << widths[f];
+                    long val = random.nextInt(range);
+                    if (signed[f]) val -= range / 2;
+                    if (64 == widths[f] && 0 == i % 2) {
+                        val = signed[f] ? random.nextLong() : random.nextLong() >>> 1;
+                    }
+                    row[f] = val;
+                }
+                rows[i] = row;
+                packed.set(i, packer.pack(row));
+            }
+            OffHeapLongSorter.sort(packed);
+            Arrays.sort(rows, new Comparator<long[]>() {
+                @Override
+                public int compare(long[] o1, long[] o2) {
+                    for (int f = 0; f < o1.length; f++) {
+                        if (o1[f] != o2[f]) return o1[f] < o2[f] ? -1 : 1;
+                    }
+                    return 0;
+                }
+            });
+            long[] out = new long[count];
+            for (int i = 0; i < LENGTH; i++) {
+                packer.unpack(packed.get(i), out);
+                for (int f = 0; f < count; f++) {
+                    assertEquals(rows[i][f], out[f]);
+                }
+            }
+        } finally {
+            freeAll(packed);
+        }
+    }
+}
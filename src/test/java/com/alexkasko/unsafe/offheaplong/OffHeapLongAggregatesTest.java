@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.alexkasko.unsafe.offheap.OffHeapUtils.freeAll;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class OffHeapLongAggregatesTest {
+    private static final int LENGTH = 100003;
+
+    @Test
+    public void test() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        OffHeapLongArray la = null;
+        OffHeapLongArray dest = null;
+        try {
+            Random random = new Random(42);
+            long[] heap = new long[LENGTH];
+            la = new OffHeapLongArray(LENGTH);
+            for (int i = 0; i < LENGTH; i++) {
+                heap[i] = random.nextInt(2000) - 1000;
+                la.set(i, heap[i]);
+            }
+            long sum = 0;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            long even = 0;
+            long[] hist = new long[10];
+            for (long val : heap) {
+                sum += val;
+                min = Math.min(min, val);
+                max = Math.max(max, val);
+                if (0 == val % 2) even += 1;
+                hist[(int) Math.min(9, Math.max(0, (val + 500) / 100))] += 1;
+            }
+            EvenPredicate pred = new EvenPredicate();
+            assertEquals(sum, OffHeapLongAggregates.sum(la));
+            assertEquals(sum, OffHeapLongAggregates.sumParallel(executor, 4, la));
+            assertEquals(heap[1] + heap[2] + heap[3], OffHeapLongAggregates.sum(la, 1, 4));
+            assertEquals(min, OffHeapLongAggregates.min(la));
+            assertEquals(min, OffHeapLongAggregates.minParallel(executor, 4, la));
+            assertEquals(max, OffHeapLongAggregates.max(la));
+            assertEquals(max, OffHeapLongAggregates.maxParallel(executor, 4, la));
+            assertEquals(Long.MAX_VALUE, OffHeapLongAggregates.min(la, 5, 5));
+            assertEquals(even, OffHeapLongAggregates.countIf(la, pred));
+            assertEquals(even, OffHeapLongAggregates.countIfParallel(executor, 4, la, pred));
+            assertArrayEquals(hist, OffHeapLongAggregates.histogram(la, -500, 100, 10));
+            assertArrayEquals(hist, OffHeapLongAggregates.histogramParallel(executor, 4, la, -500, 100, 10));
+            // prefix sums
+            dest = new OffHeapLongArray(LENGTH);
+            assertEquals(sum, OffHeapLongAggregates.prefixSum(la, dest, true));
+            checkPrefix(heap, dest, true);
+            assertEquals(sum, OffHeapLongAggregates.prefixSumParallel(executor, 3, la, dest, false));
+            checkPrefix(heap, dest, false);
+            // in place
+            assertEquals(sum, OffHeapLongAggregates.prefixSumParallel(executor, 3, la, la, true));
+            checkPrefix(heap, la, true);
+        } finally {
+            executor.shutdown();
+            freeAll(la, dest);
+        }
+    }
+
+    @Test
+    public void testArrayFastPath() {
+        OffHeapLongArray la = null;
+        OffHeapLongArrayList list = null;
+        try {
+            Random random = new Random(42);
+            la = new OffHeapLongArray(LENGTH);
+            // list is read through generic loops
+            list = new OffHeapLongArrayList();
+            for (int i = 0; i < LENGTH; i++) {
+                long val = random.nextLong();
+                la.set(i, val);
+                list.add(val);
+            }
+            EvenPredicate pred = new EvenPredicate();
+            // ranges of all lengths modulo unroll width at different offsets
+            for (int from = 0; from < 9; from++) {
+                for (int len = 0; len < 40; len++) {
+                    checkFastPath(la, list, from, from + len, pred);
+                }
+            }
+            checkFastPath(la, list, 3, LENGTH - 5, pred);
+            checkFastPath(la, list, 0, LENGTH, pred);
+        } finally {
+            freeAll(la, list);
+        }
+    }
+
+    private static void checkFastPath(OffHeapLongArray la, OffHeapLongArrayList list, int from, int to,
+                                      OffHeapLongPredicate pred) {
+        assertEquals(OffHeapLongAggregates.sum(list, from, to), OffHeapLongAggregates.sum(la, from, to));
+        assertEquals(OffHeapLongAggregates.min(list, from, to), OffHeapLongAggregates.min(la, from, to));
+        assertEquals(OffHeapLongAggregates.max(list, from, to), OffHeapLongAggregates.max(la, from, to));
+        assertEquals(OffHeapLongAggregates.countIf(list, from, to, pred), OffHeapLongAggregates.countIf(la, from, to, pred));
+    }
+
+    private static void checkPrefix(long[] heap, OffHeapLongArray dest, boolean inclusive) {
+        long acc = 0;
+        for (int i = 0; i < heap.length; i++) {
+            if (inclusive) acc += heap[i];
+            assertEquals(acc, dest.get(i));
+            if (!inclusive) acc += heap[i];
+        }
+    }
+
+    private static class EvenPredicate implements OffHeapLongPredicate {
+        @Override
+        public boolean apply(long value) {
+            return 0 == value % 2;
+        }
+    }
+}
@@ -99,4 +99,38 @@ public class OffHeapLongBinarySearchTest {
             free(oha);
         }
     }
+
+    @Test
+    public void testBatch() {
+        OffHeapLongArray oha = null;
+        try {
+            oha = new OffHeapLongArray(LENGTH);
+            Random random = new Random(42);
+            long[] arr = new long[LENGTH];
+            for (int i = 0; i < LENGTH; i++) {
+                // duplicates and gaps
+                long ra = random.nextInt(LENGTH) * 2;
+                arr[i] = ra;
+                oha.set(i, ra);
+            }
+            Arrays.sort(arr);
+            OffHeapLongSorter.sort(oha);
+            long[] values = new long[1001];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(LENGTH * 2 + 4) - 2;
+            }
+            long[] results = new long[values.length];
+            OffHeapLongBinarySearch.binarySearchBatch(oha, values, results);
+            for (int i = 0; i < values.length; i++) {
+                int lb = 0;
+                while (lb < LENGTH && arr[lb] < values[i]) lb++;
+                long expected = lb < LENGTH && arr[lb] == values[i] ? lb : -lb - 1;
+                assertEquals(expected, results[i]);
+            }
+            OffHeapLongBinarySearch.binarySearchBatch(oha, 42, 42, values, results);
+            assertEquals(-43, results[0]);
+        } finally {
+            free(oha);
+        }
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OffHeapLongConcurrentArrayListTest {
+    private static final int COUNT = 1 << 16;
+
+    @Test
+    public void test() {
+        OffHeapLongConcurrentArrayList list = new OffHeapLongConcurrentArrayList(2);
+        try {
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i, list.add(i));
+            }
+            assertEquals(1000, list.addAll(new long[]{42, 43, 44}, 1, 2));
+            assertEquals(1002, list.size());
+            assertTrue(list.capacity() >= 1002);
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i, list.get(i));
+            }
+            assertEquals(43, list.get(1000));
+            assertEquals(44, list.get(1001));
+            list.set(1001, 45);
+            assertEquals(45, list.get(1001));
+            long sum = 0;
+            for (long l : list) {
+                sum += l;
+            }
+            assertEquals(999 * 1000 / 2 + 43 + 45, sum);
+        } finally {
+            list.free();
+        }
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        final int producers = 4;
+        final OffHeapLongConcurrentArrayList list = new OffHeapLongConcurrentArrayList(4);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int p = 0; p < producers; p++) {
+                final long id = p;
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        long[] batch = new long[7];
+                        int next = 0;
+                        while (next < COUNT) {
+                            if (0 == next % 2) {
+                                list.add(id << 32 | next);
+                                next += 1;
+                            } else {
+                                int len = Math.min(batch.length, COUNT - next);
+                                for (int i = 0; i < len; i++) batch[i] = id << 32 | (next + i);
+                                list.addAll(batch, 0, len);
+                                next += len;
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+            // read published prefix while adding is in progress
+            long[] expected = new long[producers];
+            long read = 0;
+            while (read < (long) COUNT * producers) {
+                long size = list.size();
+                if (read == size) Thread.yield();
+                for (; read < size; read++) {
+                    long val = list.get(read);
+                    int id = (int) (val >>> 32);
+                    assertEquals(expected[id]++, val & 0xffffffffL);
+                }
+            }
+            for (Future<?> fu : futures) {
+                fu.get();
+            }
+            assertEquals((long) COUNT * producers, list.size());
+        } finally {
+            executor.shutdown();
+            list.free();
+        }
+    }
+
+    @Test
+    public void testCapacityExceeded() {
+        // segments of 4 and 8 elements
+        OffHeapLongConcurrentArrayList list = new OffHeapLongConcurrentArrayList(2, 2);
+        try {
+            for (int i = 0; i < 10; i++) {
+                list.add(i);
+            }
+            try {
+                list.addAll(new long[3], 0, 3);
+                fail();
+            } catch (IllegalStateException e) {
+                // expected
+            }
+            assertEquals(10, list.size());
+            assertEquals(10, list.addAll(new long[]{10, 11}, 0, 2));
+            try {
+                list.add(12);
+                fail();
+            } catch (IllegalStateException e) {
+                // expected
+            }
+            // failed additions don't block the list
+            assertEquals(12, list.size());
+            for (int i = 0; i < 12; i++) {
+                assertEquals(i, list.get(i));
+            }
+        } finally {
+            list.free();
+        }
+    }
+
+    @Test
+    public void testSegmentsOutOfOrder() {
+        // segments of 4, 8 and 16 elements
+        OffHeapLongConcurrentArrayList list = new OffHeapLongConcurrentArrayList(2, 3);
+        // position in the third segment is written before the second segment is allocated,
+        // as with concurrent block additions
+        list.write(12, 42);
+        assertEquals(20, list.capacity());
+        list.free();
+        if (list.isUnsafe()) {
+            // segment after the gap is freed too
+            boolean freed = false;
+            try {
+                list.write(12, 43);
+            } catch (AssertionError e) {
+                freed = true;
+            }
+            assertTrue(freed);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.alexkasko.unsafe.offheap.OffHeapUtils.freeAll;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class OffHeapLongEliasFanoTest {
+
+    @Test
+    public void test() {
+        Random random = new Random(42);
+        // dense with duplicates
+        check(random, 10000, 3, -100);
+        // sparse
+        check(random, 10000, 1 << 20, 42);
+        // wide values
+        check(random, 1000, Integer.MAX_VALUE, Long.MIN_VALUE / 2);
+        check(random, 1, 100, 0);
+        check(random, 0, 100, 0);
+    }
+
+    private static void check(Random random, int len, int maxGap, long start) {
+        OffHeapLongArray oha = null;
+        OffHeapLongEliasFano ef = null;
+        try {
+            oha = new OffHeapLongArray(len);
+            long val = start;
+            for (int i = 0; i < len; i++) {
+                val += random.nextInt(maxGap);
+                oha.set(i, val);
+            }
+            ef = new OffHeapLongEliasFano(oha);
+            assertEquals(len, ef.size());
+            for (int i = 0; i < len; i++) {
+                assertEquals(oha.get(i), ef.get(i));
+            }
+            OffHeapLongCursor cursor = ef.cursor();
+            for (int i = 0; i < len; i++) {
+                assertEquals(oha.get(i), cursor.next());
+            }
+            assertFalse(cursor.hasNext());
+            if (len > 10) {
+                cursor = ef.cursor(len / 2);
+                assertEquals(oha.get(len / 2), cursor.next());
+            }
+            for (int i = 0; i < 1000 && len > 0; i++) {
+                long key = oha.get(random.nextInt(len)) + random.nextInt(3) - 1;
+                assertEquals(lowerBound(oha, key), ef.nextGEQ(key));
+            }
+            assertEquals(0, ef.nextGEQ(Long.MIN_VALUE));
+            assertEquals(len, ef.nextGEQ(Long.MAX_VALUE));
+        } finally {
+            freeAll(oha, ef);
+        }
+    }
+
+    private static long lowerBound(OffHeapLongArray oha, long val) {
+        long res = OffHeapLongBinarySearch.binarySearch(oha, val);
+        if (res < 0) return ~res;
+        while (res > 0 && oha.get(res - 1) == val) res--;
+        return res;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class OffHeapLongExternalSorterTest {
+    private static final int COUNT = 100000;
+
+    private File dir;
+
+    @Before
+    public void createDir() throws IOException {
+        dir = File.createTempFile("OffHeapLongExternalSorterTest", "");
+        assertEquals(true, dir.delete());
+        assertEquals(true, dir.mkdir());
+    }
+
+    @After
+    public void deleteDir() {
+        File[] files = dir.listFiles();
+        if (null != files) {
+            for (File fi : files) {
+                fi.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void testCursor() throws IOException {
+        long[] data = gendata();
+        // 1000 elements in memory, 100 runs, 2 merge passes
+        OffHeapLongExternalSorter sorter = new OffHeapLongExternalSorter(dir, 8000, 8, null);
+        OffHeapLongCursor sorted = sorter.sort(new ArrayCursor(data));
+        long[] res = new long[COUNT];
+        try {
+            for (int i = 0; i < COUNT; i++) {
+                res[i] = sorted.next();
+            }
+            assertFalse(sorted.hasNext());
+        } finally {
+            sorted.free();
+        }
+        Arrays.sort(data);
+        assertArrayEquals(data, res);
+        assertEquals(0, dir.listFiles().length);
+    }
+
+    @Test
+    public void testInMemory() throws IOException {
+        long[] data = gendata();
+        OffHeapLongExternalSorter sorter = new OffHeapLongExternalSorter(dir, COUNT * 8);
+        OffHeapLongCursor sorted = sorter.sort(new ArrayCursor(data));
+        try {
+            assertEquals(0, dir.listFiles().length);
+            Arrays.sort(data);
+            for (int i = 0; i < COUNT; i++) {
+                assertEquals(data[i], sorted.next());
+            }
+            assertFalse(sorted.hasNext());
+        } finally {
+            sorted.free();
+        }
+    }
+
+    @Test
+    public void testHugeLimit() throws IOException {
+        // limit is not allocated up front
+        OffHeapLongExternalSorter sorter = new OffHeapLongExternalSorter(dir, 1L << 50);
+        OffHeapLongCursor sorted = sorter.sort(new ArrayCursor(new long[]{3, 1, 2}));
+        try {
+            assertEquals(1, sorted.next());
+            assertEquals(2, sorted.next());
+            assertEquals(3, sorted.next());
+            assertFalse(sorted.hasNext());
+        } finally {
+            sorted.free();
+        }
+    }
+
+    @Test
+    public void testFiles() throws IOException {
+        long[] data = gendata();
+        File input = new File(dir, "input");
+        File output = new File(dir, "output");
+        DataOutputStream os = new DataOutputStream(new FileOutputStream(input));
+        try {
+            for (long l : data) {
+                os.writeLong(l);
+            }
+        } finally {
+            os.close();
+        }
+        OffHeapLongExternalSorter sorter = new OffHeapLongExternalSorter(dir, 80000, 4, new ReverseComp());
+        sorter.sort(input, output);
+        assertEquals(2, dir.listFiles().length);
+        assertEquals(COUNT * 8, output.length());
+        Arrays.sort(data);
+        DataInputStream is = new DataInputStream(new FileInputStream(output));
+        try {
+            for (int i = COUNT - 1; i >= 0; i--) {
+                assertEquals(data[i], is.readLong());
+            }
+        } finally {
+            is.close();
+        }
+    }
+
+    private static long[] gendata() {
+        Random random = new Random(42);
+        long[] res = new long[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            res[i] = 0 == i % 3 ? random.nextInt(100) : random.nextLong();
+        }
+        return res;
+    }
+
+    private static class ArrayCursor implements OffHeapLongCursor {
+        private final long[] data;
+        private int index = 0;
+
+        private ArrayCursor(long[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < data.length;
+        }
+
+        @Override
+        public long next() {
+            return data[index++];
+        }
+
+        @Override
+        public void free() {
+        }
+    }
+
+    private static class ReverseComp implements OffHeapLongComparator {
+        @Override
+        public int compare(long l1, long l2) {
+            if (l1 > l2) return -1;
+            if (l1 < l2) return 1;
+            return 0;
+        }
+    }
+}
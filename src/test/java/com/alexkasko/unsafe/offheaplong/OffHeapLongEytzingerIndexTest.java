@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.alexkasko.unsafe.offheap.OffHeapUtils.freeAll;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+public class OffHeapLongEytzingerIndexTest {
+
+    @Test
+    public void test() {
+        Random random = new Random(42);
+        // all tree shapes for small sizes, then bigger one
+        for (int len = 0; len < 70; len++) {
+            check(random, len);
+        }
+        check(random, 10007);
+    }
+
+    @Test
+    public void testRange() {
+        OffHeapLongArray oha = null;
+        OffHeapLongEytzingerIndex index = null;
+        try {
+            oha = new OffHeapLongArray(6);
+            oha.set(0, 41);
+            oha.set(1, 41);
+            oha.set(2, 42);
+            oha.set(3, 42);
+            oha.set(4, 42);
+            oha.set(5, 43);
+            index = new OffHeapLongEytzingerIndex(oha);
+            OffHeapLongBinarySearch.IndexRange range = new OffHeapLongBinarySearch.IndexRange();
+            index.searchRange(42, range);
+            assertTrue(range.isNotEmpty());
+            assertEquals(2, range.getFromIndex());
+            assertEquals(4, range.getToIndex());
+            index.searchRange(44, range);
+            assertTrue(range.isEmpty());
+            assertEquals(-7, range.getFromIndex());
+            index.searchRange(40, 42, range);
+            assertTrue(range.isNotEmpty());
+            assertEquals(0, range.getFromIndex());
+            assertEquals(4, range.getToIndex());
+            index.searchRange(45, 50, range);
+            assertTrue(range.isEmpty());
+        } finally {
+            freeAll(oha, index);
+        }
+    }
+
+    private static void check(Random random, int len) {
+        OffHeapLongArray oha = null;
+        OffHeapLongEytzingerIndex index = null;
+        try {
+            oha = new OffHeapLongArray(len);
+            for (int i = 0; i < len; i++) {
+                // many duplicates
+                oha.set(i, random.nextInt(len + 1) * 2);
+            }
+            OffHeapLongSorter.sort(oha);
+            index = new OffHeapLongEytzingerIndex(oha);
+            assertEquals(len, index.size());
+            for (long val = -1; val <= len * 2 + 2; val++) {
+                assertEquals(lowerBound(oha, val), index.lowerBound(val));
+                assertEquals(lowerBound(oha, val + 1), index.upperBound(val));
+                long lb = lowerBound(oha, val);
+                long expected = lb < len && val == oha.get(lb) ? lb : -lb - 1;
+                assertEquals(expected, index.search(val));
+            }
+        } finally {
+            freeAll(oha, index);
+        }
+    }
+
+    private static long lowerBound(OffHeapLongArray oha, long val) {
+        long i = 0;
+        while (i < oha.size() && oha.get(i) < val) i++;
+        return i;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static com.alexkasko.unsafe.offheap.OffHeapUtils.freeAll;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapLongHeapTest {
+
+    @Test
+    public void test() {
+        OffHeapLongHeap heap = new OffHeapLongHeap();
+        try {
+            Random random = new Random(42);
+            PriorityQueue<Long> expected = new PriorityQueue<Long>();
+            for (int i = 0; i < 100000; i++) {
+                if (random.nextInt(3) > 0 || expected.isEmpty()) {
+                    long val = random.nextInt(10000);
+                    heap.push(val);
+                    expected.add(val);
+                } else {
+                    assertEquals(expected.peek().longValue(), heap.peek());
+                    assertEquals(expected.poll().longValue(), heap.pop());
+                }
+                assertEquals(expected.size(), heap.size());
+            }
+            while (!expected.isEmpty()) {
+                assertEquals(expected.poll().longValue(), heap.pop());
+            }
+            assertTrue(heap.isEmpty());
+        } finally {
+            heap.free();
+        }
+    }
+
+    @Test
+    public void testHeapify() {
+        OffHeapLongArray data = null;
+        OffHeapLongHeap heap = null;
+        try {
+            Random random = new Random(42);
+            data = new OffHeapLongArray(10001);
+            for (int i = 0; i < data.size(); i++) {
+                data.set(i, random.nextLong());
+            }
+            heap = new OffHeapLongHeap(data, new ReverseComp());
+            OffHeapLongSorter.sort(data);
+            for (long i = data.size() - 1; i >= 0; i--) {
+                assertEquals(data.get(i), heap.pop());
+            }
+            assertTrue(heap.isEmpty());
+        } finally {
+            freeAll(data, heap);
+        }
+    }
+
+    @Test
+    public void testHeapifyInPlace() {
+        OffHeapLongHeap heap = null;
+        try {
+            Random random = new Random(42);
+            OffHeapLongArray data = new OffHeapLongArray(10001);
+            long[] expected = new long[(int) data.size()];
+            for (int i = 0; i < data.size(); i++) {
+                expected[i] = random.nextLong();
+                data.set(i, expected[i]);
+            }
+            heap = OffHeapLongHeap.heapify(data, null);
+            assertEquals(expected.length, heap.size());
+            // grows over the array memory
+            heap.push(Long.MIN_VALUE);
+            assertEquals(Long.MIN_VALUE, heap.pop());
+            Arrays.sort(expected);
+            for (long val : expected) {
+                assertEquals(val, heap.pop());
+            }
+            assertTrue(heap.isEmpty());
+        } finally {
+            freeAll(heap);
+        }
+    }
+
+    private static class ReverseComp implements OffHeapLongComparator {
+        @Override
+        public int compare(long l1, long l2) {
+            return l1 > l2 ? -1 : (l1 == l2 ? 0 : 1);
+        }
+    }
+}
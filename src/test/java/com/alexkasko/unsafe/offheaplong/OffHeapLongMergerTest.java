@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.alexkasko.unsafe.offheap.OffHeapUtils.free;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class OffHeapLongMergerTest {
+
+    @Test
+    public void test() {
+        Random random = new Random(42);
+        for (int k = 0; k < 10; k++) {
+            check(random, k);
+        }
+        check(random, 33);
+    }
+
+    private static void check(Random random, int k) {
+        List<OffHeapLongArray> runs = new ArrayList<OffHeapLongArray>();
+        OffHeapLongArrayList res = null;
+        OffHeapLongCursor cursor = null;
+        try {
+            List<Long> all = new ArrayList<Long>();
+            for (int i = 0; i < k; i++) {
+                // includes empty runs
+                int len = random.nextInt(1000);
+                OffHeapLongArray run = new OffHeapLongArray(len);
+                for (int j = 0; j < len; j++) {
+                    long val = random.nextInt(2000) - 1000;
+                    run.set(j, val);
+                    all.add(val);
+                }
+                OffHeapLongSorter.sort(run);
+                runs.add(run);
+            }
+            long[] expected = new long[all.size()];
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] = all.get(i);
+            }
+            Arrays.sort(expected);
+            res = OffHeapLongMerger.merge(runs, false);
+            assertEquals(expected.length, res.size());
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], res.get(i));
+            }
+            cursor = OffHeapLongMerger.cursor(runs, true);
+            int i = 0;
+            while (i < expected.length) {
+                assertEquals(expected[i], cursor.next());
+                long val = expected[i];
+                while (i < expected.length && val == expected[i]) i++;
+            }
+            assertFalse(cursor.hasNext());
+        } finally {
+            free(res);
+            free(cursor);
+            for (OffHeapLongArray ru : runs) {
+                free(ru);
+            }
+        }
+    }
+}
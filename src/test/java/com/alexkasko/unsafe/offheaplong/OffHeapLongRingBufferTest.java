@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapLongRingBufferTest {
+    private static final int COUNT = 1 << 18;
+
+    @Test
+    public void testSingleThread() {
+        OffHeapLongRingBuffer rb = OffHeapLongRingBuffer.singleProducer(5);
+        try {
+            assertEquals(8, rb.capacity());
+            assertTrue(rb.isEmpty());
+            for (int i = 0; i < 8; i++) {
+                assertTrue(rb.offer(i));
+            }
+            assertFalse(rb.offer(8));
+            assertEquals(8, rb.size());
+            assertEquals(0, rb.poll());
+            assertEquals(1, rb.offer(new long[]{8, 9}, 0, 2));
+            long[] dest = new long[16];
+            assertEquals(8, rb.drainTo(dest, 0, 16));
+            for (int i = 0; i < 8; i++) {
+                assertEquals(i + 1, dest[i]);
+            }
+            assertTrue(rb.isEmpty());
+        } finally {
+            rb.free();
+        }
+    }
+
+    @Test
+    public void testSingleProducer() throws Exception {
+        final OffHeapLongRingBuffer rb = OffHeapLongRingBuffer.singleProducer(1024);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> fu = executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    long[] batch = new long[100];
+                    long next = 0;
+                    while (next < COUNT) {
+                        if (0 == next % 3) {
+                            if (rb.offer(next)) next += 1;
+                            else Thread.yield();
+                        } else {
+                            int len = (int) Math.min(batch.length, COUNT - next);
+                            for (int i = 0; i < len; i++) batch[i] = next + i;
+                            int added = rb.offer(batch, 0, len);
+                            if (0 == added) Thread.yield();
+                            next += added;
+                        }
+                    }
+                }
+            });
+            long[] dest = new long[64];
+            long expected = 0;
+            while (expected < COUNT) {
+                if (0 == expected % 2) {
+                    if (!rb.isEmpty()) assertEquals(expected++, rb.poll());
+                    else Thread.yield();
+                } else {
+                    int count = rb.drainTo(dest, 0, dest.length);
+                    if (0 == count) Thread.yield();
+                    for (int i = 0; i < count; i++) assertEquals(expected++, dest[i]);
+                }
+            }
+            fu.get();
+            assertTrue(rb.isEmpty());
+        } finally {
+            executor.shutdown();
+            rb.free();
+        }
+    }
+
+    @Test
+    public void testMultiProducer() throws Exception {
+        final int producers = 4;
+        final OffHeapLongRingBuffer rb = OffHeapLongRingBuffer.multiProducer(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            for (int p = 0; p < producers; p++) {
+                final long id = p;
+                executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        long[] batch = new long[10];
+                        int next = 0;
+                        while (next < COUNT / producers) {
+                            if (0 == next % 2) {
+                                if (rb.offer(id << 32 | next)) next += 1;
+                                else Thread.yield();
+                            } else {
+                                int len = Math.min(batch.length, COUNT / producers - next);
+                                for (int i = 0; i < len; i++) batch[i] = id << 32 | (next + i);
+                                int added = rb.offer(batch, 0, len);
+                                if (0 == added) Thread.yield();
+                                next += added;
+                            }
+                        }
+                    }
+                });
+            }
+            // per-producer order must be preserved
+            long[] expected = new long[producers];
+            long[] dest = new long[64];
+            int received = 0;
+            while (received < COUNT) {
+                int count = rb.drainTo(dest, 0, dest.length);
+                if (0 == count) Thread.yield();
+                for (int i = 0; i < count; i++) {
+                    int id = (int) (dest[i] >>> 32);
+                    assertEquals(expected[id]++, dest[i] & 0xffffffffL);
+                }
+                received += count;
+            }
+            for (int p = 0; p < producers; p++) {
+                assertEquals(COUNT / producers, expected[p]);
+            }
+            assertTrue(rb.isEmpty());
+        } finally {
+            executor.shutdown();
+            rb.free();
+        }
+    }
+}
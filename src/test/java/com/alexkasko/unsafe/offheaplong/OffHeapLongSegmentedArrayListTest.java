@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import org.junit.Test;
+
+import static com.alexkasko.unsafe.offheap.OffHeapUtils.free;
+import static junit.framework.Assert.assertEquals;
+
+public class OffHeapLongSegmentedArrayListTest {
+    @Test
+    public void test() {
+        OffHeapLongSegmentedArrayList list = null;
+        try {
+            list = new OffHeapLongSegmentedArrayList(3);
+            for (int i = 0; i < 1000; i++) {
+                list.add(i * 3);
+            }
+            list.add(1L << 42);
+            assertEquals("Size fail", 1001, list.size());
+            assertEquals("Capacity fail", 1008, list.capacity());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals("Contents fail", i * 3, list.get(i));
+            }
+            assertEquals("Contents fail", 1L << 42, list.get(1000));
+            list.set(7, 42);
+            list.set(8, 43);
+            assertEquals("Contents fail", 42, list.get(7));
+            assertEquals("Contents fail", 43, list.get(8));
+            long sum = 0;
+            for (long l : list) {
+                sum += l;
+            }
+            assertEquals("Iterator fail", 999 * 1000 / 2 * 3 - 21 - 24 + 42 + 43 + (1L << 42), sum);
+            list.reset();
+            assertEquals("Reset fail", 0, list.size());
+        } finally {
+            free(list);
+        }
+    }
+}
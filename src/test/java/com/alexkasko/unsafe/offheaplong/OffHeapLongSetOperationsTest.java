@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.alexkasko.unsafe.offheap.OffHeapUtils.freeAll;
+import static org.junit.Assert.assertEquals;
+
+public class OffHeapLongSetOperationsTest {
+
+    @Test
+    public void test() {
+        Random random = new Random(42);
+        // similar sizes
+        check(random, 10000, 10000, 20000);
+        // skewed sizes, galloping
+        check(random, 100, 100000, 200000);
+        check(random, 100000, 100, 200000);
+        // empty inputs
+        check(random, 0, 1000, 100);
+        check(random, 1000, 0, 100);
+    }
+
+    @Test
+    public void testParallel() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        OffHeapLongArray a = null;
+        OffHeapLongArray b = null;
+        OffHeapLongArrayList expected = null;
+        OffHeapLongArrayList actual = null;
+        try {
+            Random random = new Random(42);
+            a = gendata(random, 200000, 100000);
+            b = gendata(random, 100000, 100000);
+            expected = OffHeapLongSetOperations.union(a, b);
+            actual = OffHeapLongSetOperations.unionParallel(executor, 4, a, b);
+            assertListEquals(expected, actual);
+            freeAll(expected, actual);
+            expected = OffHeapLongSetOperations.intersection(a, b);
+            actual = OffHeapLongSetOperations.intersectionParallel(executor, 4, a, b);
+            assertListEquals(expected, actual);
+            freeAll(expected, actual);
+            expected = OffHeapLongSetOperations.difference(a, b);
+            actual = OffHeapLongSetOperations.differenceParallel(executor, 4, a, b);
+            assertListEquals(expected, actual);
+            freeAll(expected, actual);
+            expected = OffHeapLongSetOperations.symmetricDifference(a, b);
+            actual = OffHeapLongSetOperations.symmetricDifferenceParallel(executor, 4, a, b);
+            assertListEquals(expected, actual);
+        } finally {
+            executor.shutdown();
+            freeAll(a, b, expected, actual);
+        }
+    }
+
+    private static void check(Random random, int aLen, int bLen, int range) {
+        OffHeapLongArray a = null;
+        OffHeapLongArray b = null;
+        OffHeapLongArrayList res = null;
+        try {
+            a = gendata(random, aLen, range);
+            b = gendata(random, bLen, range);
+            TreeSet<Long> aSet = toSet(a);
+            TreeSet<Long> bSet = toSet(b);
+            TreeSet<Long> union = new TreeSet<Long>(aSet);
+            union.addAll(bSet);
+            res = OffHeapLongSetOperations.union(a, b);
+            assertSetEquals(union, res);
+            res.free();
+            TreeSet<Long> intersection = new TreeSet<Long>(aSet);
+            intersection.retainAll(bSet);
+            res = OffHeapLongSetOperations.intersection(a, b);
+            assertSetEquals(intersection, res);
+            res.free();
+            TreeSet<Long> difference = new TreeSet<Long>(aSet);
+            difference.removeAll(bSet);
+            res = OffHeapLongSetOperations.difference(a, b);
+            assertSetEquals(difference, res);
+            res.free();
+            TreeSet<Long> symmetric = new TreeSet<Long>(union);
+            symmetric.removeAll(intersection);
+            res = OffHeapLongSetOperations.symmetricDifference(a, b);
+            assertSetEquals(symmetric, res);
+        } finally {
+            freeAll(a, b, res);
+        }
+    }
+
+    private static OffHeapLongArray gendata(Random random, int len, int range) {
+        OffHeapLongArray res = new OffHeapLongArray(len);
+        for (int i = 0; i < len; i++) {
+            res.set(i, random.nextInt(range) - range / 2);
+        }
+        OffHeapLongSorter.sort(res);
+        return res;
+    }
+
+    private static TreeSet<Long> toSet(OffHeapLongAddressable col) {
+        TreeSet<Long> res = new TreeSet<Long>();
+        for (long i = 0; i < col.size(); i++) {
+            res.add(col.get(i));
+        }
+        return res;
+    }
+
+    private static void assertSetEquals(TreeSet<Long> expected, OffHeapLongArrayList actual) {
+        assertEquals(expected.size(), actual.size());
+        long i = 0;
+        for (Long val : expected) {
+            assertEquals(val.longValue(), actual.get(i++));
+        }
+    }
+
+    private static void assertListEquals(OffHeapLongArrayList expected, OffHeapLongArrayList actual) {
+        assertEquals(expected.size(), actual.size());
+        for (long i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+    }
+}
@@ -21,9 +21,18 @@ import org.junit.Test;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static com.alexkasko.unsafe.offheap.OffHeapUtils.free;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
 * User: alexkasko
@@ -87,6 +96,380 @@ public class OffHeapLongSorterTest {
         }
     }
 
+    @Test
+    public void testRadix() throws Exception {
+        OffHeapLongArray la = null;
+        try {
+            long[] heap = gendata();
+            long[] unsafe = heap.clone();
+            Arrays.sort(heap);
+            la = new OffHeapLongArray(THRESHOLD);
+            for (int i = 0; i < THRESHOLD; i++) {
+                la.set(i, unsafe[i]);
+            }
+            OffHeapLongSorter.radixSort(la);
+            for (int i = 0; i < THRESHOLD; i++) {
+                unsafe[i] = la.get(i);
+            }
+            assertArrayEquals(heap, unsafe);
+        } finally {
+            free(la);
+        }
+    }
+
+    @Test
+    public void testRadixConstantDigits() throws Exception {
+        // all the digits except one or two lowest are the same for all the values, so their passes are skipped
+        int[] bounds = {1000, 1 << 20};
+        for (int bound : bounds) {
+            OffHeapLongArray la = new OffHeapLongArray(THRESHOLD);
+            try {
+                Random random = new Random(42);
+                long[] heap = new long[THRESHOLD];
+                for (int i = 0; i < THRESHOLD; i++) {
+                    heap[i] = random.nextInt(bound);
+                    la.set(i, heap[i]);
+                }
+                Arrays.sort(heap);
+                OffHeapLongSorter.radixSort(la);
+                long[] unsafe = new long[THRESHOLD];
+                for (int i = 0; i < THRESHOLD; i++) {
+                    unsafe[i] = la.get(i);
+                }
+                assertArrayEquals(heap, unsafe);
+            } finally {
+                free(la);
+            }
+        }
+    }
+
+    @Test
+    public void testRadixUnsigned() throws Exception {
+        OffHeapLongArray la = null;
+        OffHeapLongArray buf = null;
+        try {
+            long[] heap = gendata();
+            long[] unsafe = heap.clone();
+            for (int i = 0; i < heap.length; i++) {
+                heap[i] ^= Long.MIN_VALUE;
+            }
+            Arrays.sort(heap);
+            for (int i = 0; i < heap.length; i++) {
+                heap[i] ^= Long.MIN_VALUE;
+            }
+            la = new OffHeapLongArray(THRESHOLD);
+            for (int i = 0; i < THRESHOLD; i++) {
+                la.set(i, unsafe[i]);
+            }
+            buf = new OffHeapLongArray(THRESHOLD);
+            OffHeapLongSorter.radixSortUnsigned(la, 0, THRESHOLD, buf);
+            for (int i = 0; i < THRESHOLD; i++) {
+                unsafe[i] = la.get(i);
+            }
+            assertArrayEquals(heap, unsafe);
+        } finally {
+            free(la);
+            free(buf);
+        }
+    }
+
+    @Test
+    public void testParallel() throws Exception {
+        OffHeapLongArray la = null;
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            int len = THRESHOLD * 4;
+            Random random = new Random(42);
+            long[] heap = new long[len];
+            for (int i = 0; i < len; i++) {
+                // many duplicates to check equal pivots
+                heap[i] = 0 == i % 3 ? random.nextInt(100) : random.nextLong();
+            }
+            long[] unsafe = heap.clone();
+            Arrays.sort(heap);
+            la = new OffHeapLongArray(len);
+            for (int i = 0; i < len; i++) {
+                la.set(i, unsafe[i]);
+            }
+            OffHeapLongSorter.sortParallel(executor, 4, la);
+            for (int i = 0; i < len; i++) {
+                unsafe[i] = la.get(i);
+            }
+            assertArrayEquals(heap, unsafe);
+        } finally {
+            executor.shutdown();
+            free(la);
+        }
+    }
+
+    @Test
+    public void testParallelComp() throws Exception {
+        OffHeapLongArray la = null;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            int len = THRESHOLD * 4;
+            Random random = new Random(42);
+            Long[] heapBoxed = new Long[len];
+            la = new OffHeapLongArray(len);
+            for (int i = 0; i < len; i++) {
+                long val = random.nextLong();
+                heapBoxed[i] = val;
+                la.set(i, val);
+            }
+            Arrays.sort(heapBoxed, new HeapReverseComp());
+            // more threads than executor has
+            OffHeapLongSorter.sortParallel(executor, 8, la, new OffHeapReverseComp());
+            for (int i = 0; i < len; i++) {
+                assertEquals(heapBoxed[i].longValue(), la.get(i));
+            }
+        } finally {
+            executor.shutdown();
+            free(la);
+        }
+    }
+
+    @Test
+    public void testParallelRejected() throws Exception {
+        OffHeapLongArray la = null;
+        // single pool thread, next workers are rejected while it is busy
+        ThreadPoolExecutor discarding = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new SynchronousQueue<Runnable>(), new ThreadPoolExecutor.DiscardPolicy());
+        ThreadPoolExecutor aborting = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new SynchronousQueue<Runnable>(), new ThreadPoolExecutor.AbortPolicy());
+        try {
+            int len = THRESHOLD * 4;
+            long[] heap = new long[len];
+            Random random = new Random(42);
+            la = new OffHeapLongArray(len);
+            for (int i = 0; i < len; i++) {
+                heap[i] = random.nextLong();
+                la.set(i, heap[i]);
+            }
+            // discarded workers don't block the sort
+            OffHeapLongSorter.sortParallel(discarding, 4, la);
+            long[] sorted = heap.clone();
+            Arrays.sort(sorted);
+            for (int i = 0; i < len; i++) {
+                assertEquals(sorted[i], la.get(i));
+            }
+            for (int i = 0; i < len; i++) {
+                la.set(i, heap[i]);
+            }
+            try {
+                OffHeapLongSorter.sortParallel(aborting, 4, la);
+                fail();
+            } catch (RuntimeException e) {
+                assertTrue(e.getCause() instanceof RejectedExecutionException);
+            }
+            // submitted worker has drained the queue and is finished
+            aborting.shutdown();
+            assertTrue(aborting.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            discarding.shutdown();
+            aborting.shutdown();
+            free(la);
+        }
+    }
+
+    @Test
+    public void testSelect() throws Exception {
+        OffHeapLongArray la = null;
+        try {
+            long[] heap = gendata();
+            la = new OffHeapLongArray(THRESHOLD);
+            for (int i = 0; i < THRESHOLD; i++) {
+                // duplicates
+                heap[i] = heap[i] % 1000;
+                la.set(i, heap[i]);
+            }
+            Arrays.sort(heap);
+            int[] positions = {0, 1, THRESHOLD / 2, THRESHOLD * 99 / 100, THRESHOLD - 1};
+            for (int k : positions) {
+                assertEquals(heap[k], OffHeapLongSorter.select(la, k));
+                for (int i = 0; i < k; i++) {
+                    assertTrue(la.get(i) <= heap[k]);
+                }
+                for (int i = k + 1; i < THRESHOLD; i++) {
+                    assertTrue(la.get(i) >= heap[k]);
+                }
+            }
+        } finally {
+            free(la);
+        }
+    }
+
+    @Test
+    public void testPartialSort() throws Exception {
+        OffHeapLongArray la = null;
+        try {
+            long[] heap = gendata();
+            la = new OffHeapLongArray(THRESHOLD);
+            for (int i = 0; i < THRESHOLD; i++) {
+                la.set(i, heap[i]);
+            }
+            Arrays.sort(heap);
+            int k = 1000;
+            OffHeapLongSorter.partialSort(la, 42, THRESHOLD, k);
+            long[] expected = new long[THRESHOLD - 42];
+            for (int i = 42; i < THRESHOLD; i++) {
+                expected[i - 42] = la.get(i);
+            }
+            Arrays.sort(expected);
+            for (int i = 0; i < k; i++) {
+                assertEquals(expected[i], la.get(42 + i));
+            }
+        } finally {
+            free(la);
+        }
+    }
+
+    @Test
+    public void testTopK() throws Exception {
+        OffHeapLongArray la = null;
+        OffHeapLongArray top = null;
+        OffHeapLongArray empty = null;
+        try {
+            long[] heap = gendata();
+            la = new OffHeapLongArray(THRESHOLD);
+            for (int i = 0; i < THRESHOLD; i++) {
+                la.set(i, heap[i]);
+            }
+            Arrays.sort(heap);
+            int k = 100;
+            top = OffHeapLongSorter.topK(la, k);
+            assertEquals(k, top.size());
+            for (int i = 0; i < k; i++) {
+                assertEquals(heap[THRESHOLD - 1 - i], top.get(i));
+            }
+            empty = OffHeapLongSorter.topK(la, 0);
+            assertEquals(0, empty.size());
+        } finally {
+            free(la);
+            free(top);
+            free(empty);
+        }
+    }
+
+    @Test
+    public void testCoSort() throws Exception {
+        OffHeapLongArray keys = null;
+        OffHeapLongArray ids = null;
+        OffHeapLongArray doubled = null;
+        try {
+            long[] heap = gendata();
+            keys = new OffHeapLongArray(THRESHOLD);
+            ids = new OffHeapLongArray(THRESHOLD);
+            doubled = new OffHeapLongArray(THRESHOLD);
+            for (int i = 0; i < THRESHOLD; i++) {
+                // duplicates and sorted runs
+                heap[i] = i < THRESHOLD / 2 ? heap[i] % 100 : i;
+                keys.set(i, heap[i]);
+                ids.set(i, i);
+                doubled.set(i, heap[i] * 2);
+            }
+            OffHeapLongSorter.sort(keys, 42, THRESHOLD, ids, doubled);
+            for (int i = 0; i < 42; i++) {
+                assertEquals(heap[i], keys.get(i));
+                assertEquals(i, ids.get(i));
+            }
+            for (int i = 42; i < THRESHOLD; i++) {
+                if (i > 42) assertTrue(keys.get(i - 1) <= keys.get(i));
+                assertEquals(heap[(int) ids.get(i)], keys.get(i));
+                assertEquals(keys.get(i) * 2, doubled.get(i));
+            }
+            long[] sorted = heap.clone();
+            Arrays.sort(sorted, 42, THRESHOLD);
+            for (int i = 0; i < THRESHOLD; i++) {
+                assertEquals(sorted[i], keys.get(i));
+            }
+        } finally {
+            free(keys);
+            free(ids);
+            free(doubled);
+        }
+    }
+
+    @Test
+    public void testArgsort() throws Exception {
+        OffHeapLongArray la = null;
+        OffHeapLongArray payload = null;
+        OffHeapLongArray perm = null;
+        try {
+            long[] heap = gendata();
+            la = new OffHeapLongArray(THRESHOLD);
+            payload = new OffHeapLongArray(THRESHOLD);
+            for (int i = 0; i < THRESHOLD; i++) {
+                // duplicates to check stability
+                heap[i] = heap[i] % 1000;
+                la.set(i, heap[i]);
+                payload.set(i, -i);
+            }
+            perm = OffHeapLongSorter.argsort(la, 42, THRESHOLD);
+            assertEquals(THRESHOLD - 42, perm.size());
+            // source is not changed
+            for (int i = 0; i < THRESHOLD; i++) {
+                assertEquals(heap[i], la.get(i));
+            }
+            for (int i = 1; i < perm.size(); i++) {
+                long prev = heap[(int) perm.get(i - 1)];
+                long cur = heap[(int) perm.get(i)];
+                assertTrue(prev <= cur);
+                if (prev == cur) assertTrue(perm.get(i - 1) < perm.get(i));
+            }
+            OffHeapLongSorter.applyPermutation(la, 42, perm);
+            OffHeapLongSorter.applyPermutation(payload, 42, perm);
+            long[] sorted = heap.clone();
+            Arrays.sort(sorted, 42, THRESHOLD);
+            for (int i = 0; i < THRESHOLD; i++) {
+                assertEquals(sorted[i], la.get(i));
+            }
+            for (int i = 42; i < THRESHOLD; i++) {
+                // permutation is restored after apply
+                assertEquals(-perm.get(i - 42), payload.get(i));
+            }
+            for (int i = 0; i < 42; i++) {
+                assertEquals(-i, payload.get(i));
+            }
+        } finally {
+            free(la);
+            free(payload);
+            free(perm);
+        }
+    }
+
+    @Test
+    public void testApplyInvalidPermutation() {
+        OffHeapLongArray la = new OffHeapLongArray(4);
+        OffHeapLongArray perm = new OffHeapLongArray(3);
+        try {
+            for (int i = 0; i < 4; i++) {
+                la.set(i, i);
+            }
+            // out of range and duplicate values
+            long[][] invalid = {{0, 2, 3}, {1, 2, 4}, {1, 1, 2}, {3, 2, 2}};
+            for (long[] values : invalid) {
+                for (int i = 0; i < values.length; i++) {
+                    perm.set(i, values[i]);
+                }
+                try {
+                    OffHeapLongSorter.applyPermutation(la, 1, perm);
+                    fail();
+                } catch (IllegalArgumentException e) {
+                    // expected
+                }
+                for (int i = 0; i < 4; i++) {
+                    assertEquals(i, la.get(i));
+                }
+                for (int i = 0; i < values.length; i++) {
+                    assertEquals(values[i], perm.get(i));
+                }
+            }
+        } finally {
+            free(la);
+            free(perm);
+        }
+    }
+
     private static long[] gendata() throws Exception {
         Random random = new Random(42);
         long[] res = new long[THRESHOLD];
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheaplong;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.alexkasko.unsafe.offheap.OffHeapUtils.free;
+import static org.junit.Assert.assertEquals;
+
+public class OffHeapPackedLongArrayTest {
+    private static final int LENGTH = 1000;
+
+    @Test
+    public void test() {
+        Random random = new Random(42);
+        for (int bits = 1; bits <= 64; bits++) {
+            long base = random.nextInt(1000) - 500;
+            OffHeapPackedLongArray arr = null;
+            try {
+                arr = new OffHeapPackedLongArray(LENGTH, bits, base);
+                assertEquals(base, arr.get(LENGTH - 1));
+                long[] expected = new long[LENGTH];
+                for (int i = 0; i < LENGTH; i++) {
+                    expected[i] = base + (random.nextLong() >>> (64 - bits));
+                    arr.set(i, expected[i]);
+                }
+                // overwrite to check neighbours are kept
+                for (int i = 0; i < LENGTH; i += 3) {
+                    expected[i] = base + (random.nextLong() >>> (64 - bits));
+                    arr.set(i, expected[i]);
+                }
+                for (int i = 0; i < LENGTH; i++) {
+                    assertEquals(expected[i], arr.get(i));
+                }
+                long[] block = new long[LENGTH];
+                arr.get(7, block, 3, LENGTH - 7);
+                for (int i = 7; i < LENGTH; i++) {
+                    assertEquals(expected[i], block[i - 4]);
+                }
+                for (int i = 0; i < LENGTH; i++) {
+                    block[i] = base + (random.nextLong() >>> (64 - bits));
+                }
+                arr.set(11, block, 5, 100);
+                for (int i = 0; i < LENGTH; i++) {
+                    long exp = i >= 11 && i < 111 ? block[i - 6] : expected[i];
+                    assertEquals(exp, arr.get(i));
+                }
+            } finally {
+                free(arr);
+            }
+        }
+    }
+
+    @Test
+    public void testBitsRequired() {
+        assertEquals(1, OffHeapPackedLongArray.bitsRequired(42, 42));
+        assertEquals(20, OffHeapPackedLongArray.bitsRequired(0, (1 << 20) - 1));
+        assertEquals(64, OffHeapPackedLongArray.bitsRequired(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+}
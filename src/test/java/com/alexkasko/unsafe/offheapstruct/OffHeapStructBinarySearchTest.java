@@ -187,4 +187,43 @@ public class OffHeapStructBinarySearchTest {
             OffHeapUtils.free(oha);
         }
     }
+
+    @Test
+    public void testBatch() {
+        ByteArrayTool bat = ByteArrayTool.get();
+        byte[] buf = new byte[12];
+        OffHeapStructArray oha = null;
+        try {
+            oha = new OffHeapStructArray(LENGTH, 12);
+            Random random = new Random(42);
+            long[] arr = new long[LENGTH];
+            for (int i = 0; i < LENGTH; i++) {
+                // same sorted value in both keys
+                int ra = random.nextInt(LENGTH) * 2;
+                arr[i] = ra;
+                bat.putLong(buf, 0, ra);
+                bat.putInt(buf, 8, ra);
+                oha.set(i, buf);
+            }
+            Arrays.sort(arr);
+            OffHeapStructSorter.sortByLongKey(oha, 0);
+            long[] values = new long[1001];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(LENGTH * 2 + 4) - 2;
+            }
+            long[] longResults = new long[values.length];
+            long[] intResults = new long[values.length];
+            OffHeapStructBinarySearch.binarySearchBatchByLongKey(oha, values, 0, longResults);
+            OffHeapStructBinarySearch.binarySearchBatchByIntKey(oha, values, 8, intResults);
+            for (int i = 0; i < values.length; i++) {
+                int lb = 0;
+                while (lb < LENGTH && arr[lb] < values[i]) lb++;
+                long expected = lb < LENGTH && arr[lb] == values[i] ? lb : -lb - 1;
+                assertEquals(expected, longResults[i]);
+                assertEquals(expected, intResults[i]);
+            }
+        } finally {
+            OffHeapUtils.free(oha);
+        }
+    }
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheapstruct;
+
+import com.alexkasko.unsafe.bytearray.ByteArrayTool;
+import com.alexkasko.unsafe.offheap.OffHeapDisposableIterator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static com.alexkasko.unsafe.offheap.OffHeapUtils.free;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapStructExternalSorterTest {
+    private static final ByteArrayTool bt = ByteArrayTool.get();
+    private static final int LENGTH = 10000;
+    private static final int STRUCT_LENGTH = 16;
+
+    private File dir;
+
+    @Before
+    public void createDir() throws IOException {
+        dir = File.createTempFile("OffHeapStructExternalSorterTest", "");
+        assertTrue(dir.delete());
+        assertTrue(dir.mkdir());
+    }
+
+    @After
+    public void deleteDir() {
+        File[] files = dir.listFiles();
+        if (null != files) {
+            for (File fi : files) {
+                fi.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void testLongKey() throws IOException {
+        OffHeapStructArray arr = null;
+        OffHeapDisposableIterator<byte[]> sorted = null;
+        try {
+            arr = gendata();
+            // 100 structs in memory, 100 runs, 2 merge passes
+            OffHeapStructExternalSorter sorter = OffHeapStructExternalSorter.byLongKey(dir, 100 * STRUCT_LENGTH,
+                    STRUCT_LENGTH, 8).withMergeFanIn(8);
+            sorted = sorter.sort(arr);
+            assertEquals(LENGTH, sorted.size());
+            long[] expected = column(arr, 8);
+            Arrays.sort(expected);
+            long payloadSum = 0;
+            for (int i = 0; i < LENGTH; i++) {
+                byte[] st = sorted.next();
+                assertEquals(expected[i], bt.getLong(st, 8));
+                // payload is the negated key
+                assertEquals(-bt.getLong(st, 8), bt.getLong(st, 0));
+                payloadSum += bt.getLong(st, 0);
+            }
+            assertFalse(sorted.hasNext());
+            long expectedSum = 0;
+            for (long l : expected) expectedSum -= l;
+            assertEquals(expectedSum, payloadSum);
+        } finally {
+            free(arr);
+            free(sorted);
+        }
+        assertEquals(0, dir.listFiles().length);
+    }
+
+    @Test
+    public void testInMemoryParts() throws IOException {
+        int len = 100000;
+        OffHeapStructArray arr = new OffHeapStructArray(len, STRUCT_LENGTH);
+        OffHeapDisposableIterator<byte[]> sorted = null;
+        try {
+            Random random = new Random(42);
+            long[] expected = new long[len];
+            for (int i = 0; i < len; i++) {
+                expected[i] = random.nextLong();
+                arr.putLong(i, 8, expected[i]);
+            }
+            // chunk is allocated in 3 parts, limit is not exceeded
+            OffHeapStructExternalSorter sorter = OffHeapStructExternalSorter.byLongKey(dir, len * STRUCT_LENGTH,
+                    STRUCT_LENGTH, 8);
+            sorted = sorter.sort(arr);
+            assertEquals(0, dir.listFiles().length);
+            assertEquals(len, sorted.size());
+            Arrays.sort(expected);
+            for (int i = 0; i < len; i++) {
+                assertEquals(expected[i], bt.getLong(sorted.next(), 8));
+            }
+            assertFalse(sorted.hasNext());
+        } finally {
+            free(arr);
+            free(sorted);
+        }
+    }
+
+    @Test
+    public void testHugeLimit() throws IOException {
+        OffHeapStructArray arr = gendata();
+        OffHeapDisposableIterator<byte[]> sorted = null;
+        try {
+            // limit is not allocated up front
+            OffHeapStructExternalSorter sorter = OffHeapStructExternalSorter.byLongKey(dir, 1L << 50,
+                    STRUCT_LENGTH, 8);
+            sorted = sorter.sort(arr);
+            long[] expected = column(arr, 8);
+            Arrays.sort(expected);
+            for (int i = 0; i < LENGTH; i++) {
+                assertEquals(expected[i], bt.getLong(sorted.next(), 8));
+            }
+            assertFalse(sorted.hasNext());
+        } finally {
+            free(arr);
+            free(sorted);
+        }
+    }
+
+    @Test
+    public void testUnsignedIntKey() throws IOException {
+        OffHeapStructArray arr = null;
+        OffHeapDisposableIterator<byte[]> sorted = null;
+        try {
+            arr = gendata();
+            OffHeapStructExternalSorter sorter = OffHeapStructExternalSorter.byUnsignedIntKey(dir, 1000 * STRUCT_LENGTH,
+                    STRUCT_LENGTH, 8);
+            sorted = sorter.sort(arr);
+            long prev = -1;
+            int count = 0;
+            while (sorted.hasNext()) {
+                long key = bt.getUnsignedInt(sorted.next(), 8);
+                assertTrue(key >= prev);
+                prev = key;
+                count += 1;
+            }
+            assertEquals(LENGTH, count);
+            // source collection is not changed
+            assertEquals(LENGTH, arr.size());
+        } finally {
+            free(arr);
+            free(sorted);
+        }
+    }
+
+    @Test
+    public void testComparatorFiles() throws IOException {
+        OffHeapStructArray arr = null;
+        try {
+            arr = gendata();
+            File input = new File(dir, "input");
+            File output = new File(dir, "output");
+            FileOutputStream os = new FileOutputStream(input);
+            try {
+                byte[] buf = new byte[STRUCT_LENGTH];
+                for (int i = 0; i < LENGTH; i++) {
+                    arr.get(i, buf);
+                    os.write(buf);
+                }
+            } finally {
+                os.close();
+            }
+            OffHeapStructExternalSorter sorter = OffHeapStructExternalSorter.withComparator(dir, 300 * STRUCT_LENGTH,
+                    STRUCT_LENGTH, new ReverseComp()).withMergeFanIn(3);
+            sorter.sort(input, output);
+            assertEquals(2, dir.listFiles().length);
+            assertEquals(LENGTH * STRUCT_LENGTH, output.length());
+            long[] expected = column(arr, 8);
+            Arrays.sort(expected);
+            FileInputStream is = new FileInputStream(output);
+            try {
+                byte[] buf = new byte[STRUCT_LENGTH];
+                for (int i = LENGTH - 1; i >= 0; i--) {
+                    assertEquals(STRUCT_LENGTH, is.read(buf));
+                    assertEquals(expected[i], bt.getLong(buf, 8));
+                }
+            } finally {
+                is.close();
+            }
+        } finally {
+            free(arr);
+        }
+    }
+
+    private static OffHeapStructArray gendata() {
+        Random random = new Random(42);
+        OffHeapStructArray arr = new OffHeapStructArray(LENGTH, STRUCT_LENGTH);
+        for (int i = 0; i < LENGTH; i++) {
+            // duplicates
+            long key = 0 == i % 3 ? random.nextInt(100) : random.nextLong();
+            arr.putLong(i, 0, -key);
+            arr.putLong(i, 8, key);
+        }
+        return arr;
+    }
+
+    private static long[] column(OffHeapStructArray arr, int offset) {
+        long[] res = new long[(int) arr.size()];
+        for (int i = 0; i < res.length; i++) {
+            res[i] = arr.getLong(i, offset);
+        }
+        return res;
+    }
+
+    private static class ReverseComp implements Comparator<OffHeapStructAccessor> {
+        @Override
+        public int compare(OffHeapStructAccessor o1, OffHeapStructAccessor o2) {
+            long l1 = o1.getLong(8);
+            long l2 = o2.getLong(8);
+            if (l1 > l2) return -1;
+            if (l1 < l2) return 1;
+            return 0;
+        }
+    }
+}
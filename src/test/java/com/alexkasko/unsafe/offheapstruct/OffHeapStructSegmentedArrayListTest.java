@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 unsafe-tools contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alexkasko.unsafe.offheapstruct;
+
+import com.alexkasko.unsafe.bytearray.ByteArrayTool;
+import org.junit.Test;
+
+import static com.alexkasko.unsafe.offheap.OffHeapUtils.free;
+import static junit.framework.Assert.assertEquals;
+
+public class OffHeapStructSegmentedArrayListTest {
+    private static final ByteArrayTool BT = ByteArrayTool.get();
+
+    @Test
+    public void test() {
+        OffHeapStructSegmentedArrayList list = null;
+        try {
+            list = new OffHeapStructSegmentedArrayList(4, 12);
+            byte[] buf = new byte[12];
+            for (int i = 0; i < 1000; i++) {
+                BT.putLong(buf, 0, i);
+                BT.putInt(buf, 8, -i);
+                list.add(buf);
+            }
+            assertEquals("Size fail", 1000, list.size());
+            assertEquals("Capacity fail", 1008, list.capacity());
+            for (int i = 0; i < 1000; i++) {
+                list.get(i, buf);
+                assertEquals("Payload fail", i, BT.getLong(buf, 0));
+                assertEquals("Payload fail", -i, BT.getInt(buf, 8));
+                assertEquals("Accessor fail", i, list.getLong(i, 0));
+                assertEquals("Accessor fail", -i, list.getInt(i, 8));
+            }
+            // segment boundary
+            list.putLong(15, 0, 42);
+            list.putLong(16, 0, 43);
+            assertEquals("Accessor fail", 42, list.getLong(15, 0));
+            assertEquals("Accessor fail", 43, list.getLong(16, 0));
+            assertEquals("Accessor fail", -15, list.getInt(15, 8));
+            long count = 0;
+            for (byte[] st : list) {
+                count += 1;
+                assertEquals("Iterator fail", 12, st.length);
+            }
+            assertEquals("Iterator fail", 1000, count);
+        } finally {
+            free(list);
+        }
+    }
+}
@@ -17,10 +17,18 @@
 package com.alexkasko.unsafe.offheapstruct;
 
 import com.alexkasko.unsafe.bytearray.ByteArrayTool;
+import com.alexkasko.unsafe.offheap.OffHeapDisposableIterable;
+import com.alexkasko.unsafe.offheap.OffHeapDisposableIterator;
+import com.alexkasko.unsafe.offheaplong.OffHeapLongArray;
 import org.junit.Test;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static com.alexkasko.unsafe.offheap.OffHeapUtils.free;
 import static org.junit.Assert.*;
@@ -503,6 +511,416 @@ public class OffHeapStructSorterTest {
         }
     }
 
+    @Test
+    public void testRadixLongKey() {
+        OffHeapStructArray arr = null;
+        try {
+            Random random = new Random(42);
+            arr = new OffHeapStructArray(LENGTH, 16);
+            for (int i = 0; i < LENGTH; i++) {
+                // duplicates with both signs to check stability and sign handling
+                arr.putLong(i, 0, 0 == i % 3 ? random.nextInt(100) - 50 : random.nextLong());
+                arr.putLong(i, 8, i);
+            }
+            long[] expected = new long[LENGTH];
+            for (int i = 0; i < LENGTH; i++) {
+                expected[i] = arr.getLong(i, 0);
+            }
+            Arrays.sort(expected);
+            OffHeapStructSorter.radixSortByLongKey(arr, 0);
+            for (int i = 0; i < LENGTH; i++) {
+                assertEquals(expected[i], arr.getLong(i, 0));
+                if (i > 0 && arr.getLong(i - 1, 0) == arr.getLong(i, 0)) {
+                    assertTrue(arr.getLong(i - 1, 8) < arr.getLong(i, 8));
+                }
+            }
+        } finally {
+            free(arr);
+        }
+    }
+
+    @Test
+    public void testRadixUnsignedLongKey() {
+        OffHeapStructArray arr = null;
+        OffHeapStructArray buffer = null;
+        try {
+            Random random = new Random(42);
+            arr = new OffHeapStructArray(LENGTH + 42, 16);
+            for (int i = 0; i < LENGTH + 42; i++) {
+                arr.putLong(i, 0, random.nextLong());
+                arr.putLong(i, 8, i);
+            }
+            buffer = new OffHeapStructArray(LENGTH, 16);
+            OffHeapStructSorter.radixSortByUnsignedLongKey(arr, 42, LENGTH + 42, 0, buffer);
+            for (int i = 0; i < 42; i++) {
+                assertEquals(i, arr.getLong(i, 8));
+            }
+            for (int i = 43; i < LENGTH + 42; i++) {
+                long prev = arr.getLong(i - 1, 0) ^ Long.MIN_VALUE;
+                long cur = arr.getLong(i, 0) ^ Long.MIN_VALUE;
+                assertTrue(prev <= cur);
+            }
+        } finally {
+            free(arr);
+            free(buffer);
+        }
+    }
+
+    @Test
+    public void testRadixIntKeys() {
+        OffHeapStructArray signed = null;
+        OffHeapStructArray unsigned = null;
+        try {
+            Random random = new Random(42);
+            signed = new OffHeapStructArray(LENGTH, 12);
+            unsigned = new OffHeapStructArray(LENGTH, 12);
+            for (int i = 0; i < LENGTH; i++) {
+                int key = random.nextInt();
+                signed.putInt(i, 8, key);
+                signed.putLong(i, 0, key);
+                unsigned.putInt(i, 8, key);
+                unsigned.putLong(i, 0, key);
+            }
+            OffHeapStructSorter.radixSortByIntKey(signed, 8);
+            OffHeapStructSorter.radixSortByUnsignedIntKey(unsigned, 8);
+            for (int i = 1; i < LENGTH; i++) {
+                assertTrue(signed.getInt(i - 1, 8) <= signed.getInt(i, 8));
+                assertEquals(signed.getInt(i, 8), signed.getLong(i, 0));
+                assertTrue(unsigned.getUnsignedInt(i - 1, 8) <= unsigned.getUnsignedInt(i, 8));
+                assertEquals(unsigned.getInt(i, 8), unsigned.getLong(i, 0));
+            }
+        } finally {
+            free(signed);
+            free(unsigned);
+        }
+    }
+
+    @Test
+    public void testRadixConstantDigits() {
+        // high half of the key is constant: 1 or 2 radix passes are done, others are skipped,
+        // short collection is sorted without radix passes
+        int[] keyBits = {11, 20, 20};
+        int[] lengths = {LENGTH, LENGTH, 1000};
+        for (int t = 0; t < keyBits.length; t++) {
+            OffHeapStructArray arr = new OffHeapStructArray(lengths[t], 16);
+            try {
+                Random random = new Random(42);
+                for (int i = 0; i < lengths[t]; i++) {
+                    arr.putLong(i, 0, random.nextInt(1 << keyBits[t]) & ~0x3ff);
+                    arr.putLong(i, 8, i);
+                }
+                OffHeapStructSorter.radixSortByLongKey(arr, 0);
+                for (int i = 1; i < lengths[t]; i++) {
+                    long prev = arr.getLong(i - 1, 0);
+                    long cur = arr.getLong(i, 0);
+                    assertTrue(prev <= cur);
+                    if (prev == cur) assertTrue(arr.getLong(i - 1, 8) < arr.getLong(i, 8));
+                }
+            } finally {
+                free(arr);
+            }
+        }
+    }
+
+    @Test
+    public void testKeyIndexSort() {
+        OffHeapStructArray longs = null;
+        OffHeapStructArray ints = null;
+        OffHeapStructArray copy = null;
+        try {
+            Random random = new Random(42);
+            longs = new OffHeapStructArray(LENGTH, 256);
+            ints = new OffHeapStructArray(LENGTH, 256);
+            for (int i = 0; i < LENGTH; i++) {
+                long key = random.nextInt(1000) - 500;
+                longs.putLong(i, 0, i);
+                longs.putLong(i, 8, key << 32);
+                longs.putLong(i, 248, key);
+                ints.putLong(i, 0, i);
+                ints.putInt(i, 8, (int) key);
+            }
+            copy = OffHeapStructSorter.sortedCopyByIntKey(ints, 100, LENGTH, 8);
+            assertEquals(LENGTH - 100, copy.size());
+            OffHeapStructSorter.keyIndexSortByLongKey(longs, 8);
+            OffHeapStructSorter.keyIndexSortByIntKey(ints, 100, LENGTH, 8);
+            for (int i = 1; i < LENGTH; i++) {
+                assertTrue(longs.getLong(i - 1, 8) <= longs.getLong(i, 8));
+                assertEquals(longs.getLong(i, 8) >> 32, longs.getLong(i, 248));
+                if (longs.getLong(i - 1, 8) == longs.getLong(i, 8)) {
+                    assertTrue(longs.getLong(i - 1, 0) < longs.getLong(i, 0));
+                }
+            }
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, ints.getLong(i, 0));
+            }
+            for (int i = 101; i < LENGTH; i++) {
+                assertTrue(ints.getInt(i - 1, 8) <= ints.getInt(i, 8));
+                if (ints.getInt(i - 1, 8) == ints.getInt(i, 8)) {
+                    assertTrue(ints.getLong(i - 1, 0) < ints.getLong(i, 0));
+                }
+            }
+            for (int i = 0; i < copy.size(); i++) {
+                assertEquals(ints.getLong(i + 100, 0), copy.getLong(i, 0));
+            }
+        } finally {
+            free(longs);
+            free(ints);
+            free(copy);
+        }
+    }
+
+    @Test
+    public void testSortByRef() {
+        OffHeapStructArray arr = null;
+        OffHeapLongArray indices = null;
+        try {
+            Random random = new Random(42);
+            arr = new OffHeapStructArray(LENGTH, 64);
+            for (int i = 0; i < LENGTH; i++) {
+                long key = random.nextLong();
+                arr.putLong(i, 0, i);
+                arr.putLong(i, 8, key);
+                arr.putLong(i, 56, -key);
+            }
+            indices = OffHeapStructSorter.sortedByRefIndices(arr, 100, LENGTH, new LongComp());
+            assertEquals(LENGTH - 100, indices.size());
+            for (int i = 1; i < indices.size(); i++) {
+                assertTrue(indices.get(i) >= 100);
+                assertTrue(arr.getLong(indices.get(i - 1), 8) <= arr.getLong(indices.get(i), 8));
+            }
+            OffHeapStructSorter.applyPermutation(arr, 100, indices);
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, arr.getLong(i, 0));
+            }
+            for (int i = 100; i < LENGTH; i++) {
+                assertEquals(indices.get(i - 100), arr.getLong(i, 0));
+                assertEquals(arr.getLong(i, 8), -arr.getLong(i, 56));
+            }
+            OffHeapStructSorter.sortByRef(arr, new LongComp());
+            for (int i = 1; i < LENGTH; i++) {
+                assertTrue(arr.getLong(i - 1, 8) <= arr.getLong(i, 8));
+                assertEquals(arr.getLong(i, 8), -arr.getLong(i, 56));
+            }
+        } finally {
+            free(arr);
+            free(indices);
+        }
+    }
+
+    @Test
+    public void testApplyInvalidPermutation() {
+        OffHeapStructArray arr = new OffHeapStructArray(4, 8);
+        OffHeapLongArray perm = new OffHeapLongArray(3);
+        try {
+            for (int i = 0; i < 4; i++) {
+                arr.putLong(i, 0, i);
+            }
+            long[][] invalid = {{0, 2, 3}, {1, 2, 4}, {1, 1, 2}, {3, 2, 2}};
+            for (long[] values : invalid) {
+                for (int i = 0; i < values.length; i++) {
+                    perm.set(i, values[i]);
+                }
+                try {
+                    OffHeapStructSorter.applyPermutation(arr, 1, perm);
+                    fail();
+                } catch (IllegalArgumentException e) {
+                    // expected
+                }
+                for (int i = 0; i < 4; i++) {
+                    assertEquals(i, arr.getLong(i, 0));
+                }
+                for (int i = 0; i < values.length; i++) {
+                    assertEquals(values[i], perm.get(i));
+                }
+            }
+        } finally {
+            free(arr);
+            free(perm);
+        }
+    }
+
+    @Test
+    public void testSortByRefKeys() {
+        OffHeapStructArray arr = null;
+        OffHeapLongArray indices = null;
+        try {
+            Random random = new Random(42);
+            arr = new OffHeapStructArray(LENGTH, 16);
+            for (int i = 0; i < LENGTH; i++) {
+                arr.putLong(i, 0, random.nextLong());
+                arr.putInt(i, 8, random.nextInt());
+                arr.putInt(i, 12, i);
+            }
+            long prev = Long.MIN_VALUE;
+            OffHeapDisposableIterable<byte[]> iter = OffHeapStructSorter.sortedByRefIterableByLongKey(arr, 0);
+            for (byte[] struct : iter) {
+                long cur = bt.getLong(struct, 0);
+                assertTrue(prev <= cur);
+                prev = cur;
+            }
+            long prevUnsigned = 0;
+            int count = 0;
+            iter = OffHeapStructSorter.sortedByRefIterableByUnsignedIntKey(arr, 10, LENGTH, 8);
+            for (byte[] struct : iter) {
+                long cur = bt.getUnsignedInt(struct, 8);
+                assertTrue(prevUnsigned <= cur);
+                assertTrue(bt.getInt(struct, 12) >= 10);
+                prevUnsigned = cur;
+                count += 1;
+            }
+            assertEquals(LENGTH - 10, count);
+            indices = OffHeapStructSorter.sortedByRefIndicesByIntKey(arr, 0, LENGTH, 8);
+            for (int i = 1; i < LENGTH; i++) {
+                assertTrue(arr.getInt(indices.get(i - 1), 8) <= arr.getInt(indices.get(i), 8));
+            }
+            for (int i = 0; i < LENGTH; i++) {
+                assertEquals(i, arr.getInt(i, 12));
+            }
+        } finally {
+            free(arr);
+            free(indices);
+        }
+    }
+
+    @Test
+    public void testSortParallel() {
+        int length = 100000;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        OffHeapStructArray longs = null;
+        OffHeapStructArray ints = null;
+        OffHeapStructArray comp = null;
+        try {
+            Random random = new Random(42);
+            longs = new OffHeapStructArray(length, 16);
+            ints = new OffHeapStructArray(length, 16);
+            comp = new OffHeapStructArray(length, 16);
+            long sum = 0;
+            for (int i = 0; i < length; i++) {
+                long key = random.nextInt(1000) - 500;
+                longs.putLong(i, 8, key);
+                longs.putLong(i, 0, -key);
+                ints.putInt(i, 8, random.nextInt());
+                comp.putLong(i, 8, random.nextLong());
+                sum += key;
+            }
+            OffHeapStructSorter.sortByLongKeyParallel(executor, 4, longs, 8);
+            OffHeapStructSorter.sortByUnsignedIntKeyParallel(executor, 4, ints, 8);
+            OffHeapStructSorter.sortParallel(executor, 4, comp, 100, length, new LongComp());
+            long sorted = longs.getLong(0, 8);
+            for (int i = 1; i < length; i++) {
+                assertTrue(longs.getLong(i - 1, 8) <= longs.getLong(i, 8));
+                assertEquals(longs.getLong(i, 8), -longs.getLong(i, 0));
+                assertTrue(ints.getUnsignedInt(i - 1, 8) <= ints.getUnsignedInt(i, 8));
+                if (i > 100) assertTrue(comp.getLong(i - 1, 8) <= comp.getLong(i, 8));
+                sorted += longs.getLong(i, 8);
+            }
+            assertEquals(sum, sorted);
+        } finally {
+            executor.shutdown();
+            free(longs);
+            free(ints);
+            free(comp);
+        }
+    }
+
+    @Test
+    public void testSortParallelRejected() throws Exception {
+        int length = 100000;
+        // single pool thread, next workers are rejected while it is busy
+        ThreadPoolExecutor discarding = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new SynchronousQueue<Runnable>(), new ThreadPoolExecutor.DiscardPolicy());
+        ThreadPoolExecutor aborting = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new SynchronousQueue<Runnable>(), new ThreadPoolExecutor.AbortPolicy());
+        OffHeapStructArray arr = null;
+        try {
+            Random random = new Random(42);
+            arr = new OffHeapStructArray(length, 16);
+            for (int i = 0; i < length; i++) {
+                arr.putLong(i, 8, random.nextLong());
+            }
+            // discarded workers don't block the sort
+            OffHeapStructSorter.sortByLongKeyParallel(discarding, 4, arr, 8);
+            for (int i = 1; i < length; i++) {
+                assertTrue(arr.getLong(i - 1, 8) <= arr.getLong(i, 8));
+            }
+            try {
+                OffHeapStructSorter.sortParallel(aborting, 4, arr, 0, length, new LongComp());
+                fail();
+            } catch (RuntimeException e) {
+                assertTrue(e.getCause() instanceof RejectedExecutionException);
+            }
+            // submitted worker has drained the queue and is finished
+            aborting.shutdown();
+            assertTrue(aborting.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            discarding.shutdown();
+            aborting.shutdown();
+            free(arr);
+        }
+    }
+
+    @Test
+    public void testSortedIteratorRange() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        OffHeapStructArray longs = null;
+        OffHeapStructArray comp = null;
+        try {
+            Random random = new Random(42);
+            longs = new OffHeapStructArray(LENGTH, 16);
+            comp = new OffHeapStructArray(LENGTH, 16);
+            for (int i = 0; i < LENGTH; i++) {
+                long key = random.nextInt(100);
+                longs.putLong(i, 8, key);
+                comp.putLong(i, 8, key);
+            }
+            OffHeapDisposableIterator<byte[]> iter = OffHeapStructSorter.sortedIteratorByLongKey(executor, 16, longs, 8, 100, LENGTH);
+            assertEquals(LENGTH - 100, iter.size());
+            long prev = Long.MIN_VALUE;
+            int count = 0;
+            while (iter.hasNext()) {
+                long cur = bt.getLong(iter.next(), 8);
+                assertTrue(prev <= cur);
+                prev = cur;
+                count += 1;
+            }
+            assertEquals(LENGTH - 100, count);
+            iter = OffHeapStructSorter.sortedIterator(executor, 16, comp, new LongComp(), 100, LENGTH);
+            prev = Long.MIN_VALUE;
+            count = 0;
+            while (iter.hasNext()) {
+                long cur = bt.getLong(iter.next(), 8);
+                assertTrue(prev <= cur);
+                prev = cur;
+                count += 1;
+            }
+            assertEquals(LENGTH - 100, count);
+            // range shorter than threads count is sorted in the calling thread
+            iter = OffHeapStructSorter.sortedIteratorByLongKey(executor, 16, longs, 8, 200, 210);
+            assertEquals(10, iter.size());
+            prev = Long.MIN_VALUE;
+            count = 0;
+            while (iter.hasNext()) {
+                long cur = bt.getLong(iter.next(), 8);
+                assertTrue(prev <= cur);
+                prev = cur;
+                count += 1;
+            }
+            assertEquals(10, count);
+            iter = OffHeapStructSorter.sortedIterator(executor, 16, comp, new LongComp(), 200, 210);
+            assertEquals(10, iter.size());
+            count = 0;
+            while (iter.hasNext()) {
+                iter.next();
+                count += 1;
+            }
+            assertEquals(10, count);
+        } finally {
+            executor.shutdown();
+            free(longs);
+            free(comp);
+        }
+    }
+
     private static List<Long> toLongList(OffHeapStructArray arr) {
         List<Long> res = new ArrayList<Long>((int) arr.size());
         for (int i = 0; i < arr.size(); i++) {